@@ -0,0 +1,89 @@
+package com.example.housemanager.database;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.migration.Migration;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Cada migración desde la 9 contra los esquemas exportados en app/schemas: runMigrationsAndValidate
+ * compara el resultado con el JSON de la versión siguiente (tablas, columnas, índices, FTS).
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+    private static final String TEST_DB = "migration-test";
+
+    private static final Migration[] MIGRATIONS = {
+            HouseManagerDatabase.MIGRATION_9_10, HouseManagerDatabase.MIGRATION_10_11,
+            HouseManagerDatabase.MIGRATION_11_12, HouseManagerDatabase.MIGRATION_12_13,
+            HouseManagerDatabase.MIGRATION_13_14, HouseManagerDatabase.MIGRATION_14_15,
+            HouseManagerDatabase.MIGRATION_15_16, HouseManagerDatabase.MIGRATION_16_17,
+            HouseManagerDatabase.MIGRATION_17_18, HouseManagerDatabase.MIGRATION_18_19,
+            HouseManagerDatabase.MIGRATION_19_20
+    };
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), HouseManagerDatabase.class);
+
+    @Test
+    public void eachMigration_matchesExportedSchema() throws IOException {
+        for (Migration m : MIGRATIONS) {
+            String name = TEST_DB + "-" + m.startVersion;
+            helper.createDatabase(name, m.startVersion).close();
+            helper.runMigrationsAndValidate(name, m.endVersion, true, m).close();
+        }
+    }
+
+    @Test
+    public void migrate9ToLatest_opensWithRoom() throws IOException {
+        helper.createDatabase(TEST_DB, 9).close();
+
+        HouseManagerDatabase db = Room.databaseBuilder(
+                        InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                        HouseManagerDatabase.class, TEST_DB)
+                .addMigrations(MIGRATIONS)
+                .build();
+        // Abrir la base valida el esquema final contra el de las entidades
+        db.getOpenHelper().getWritableDatabase();
+        helper.closeWhenFinished(db);
+    }
+
+    @Test
+    public void migrate19To20_foldsExistingPlayersIntoSearchText() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 19)) {
+            db.execSQL("INSERT INTO players (playerId, name, teamId, teamName, nationality, position, currentPrice, " +
+                    "totalPoints, available, updatedAt) VALUES (7853, 'Alexander Sørloth', 78, 'Atlético de Madrid', " +
+                    "'Norway', 'Delantero', 12000000, 0, 1, 0)");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, 20, true,
+                HouseManagerDatabase.MIGRATION_19_20)) {
+            try (Cursor c = db.query("SELECT searchText FROM players WHERE playerId = 7853")) {
+                assertTrue(c.moveToFirst());
+                assertEquals("alexander sorloth atletico de madrid", c.getString(0));
+            }
+            // El índice se reconstruye al migrar y los triggers lo mantienen después
+            try (Cursor c = db.query("SELECT rowid FROM players_fts WHERE players_fts MATCH 'sorloth*'")) {
+                assertEquals(1, c.getCount());
+            }
+            db.execSQL("UPDATE players SET name = 'Ødegaard', searchText = 'odegaard atletico de madrid' WHERE playerId = 7853");
+            try (Cursor c = db.query("SELECT rowid FROM players_fts WHERE players_fts MATCH 'odegaard*'")) {
+                assertEquals(1, c.getCount());
+            }
+        }
+    }
+}
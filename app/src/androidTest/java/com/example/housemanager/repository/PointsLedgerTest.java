@@ -0,0 +1,185 @@
+package com.example.housemanager.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.housemanager.database.HouseManagerDatabase;
+import com.example.housemanager.database.entities.LineupEntryEntity;
+import com.example.housemanager.database.entities.MatchEntity;
+import com.example.housemanager.database.entities.MatchEventEntity;
+import com.example.housemanager.database.entities.PlayerEntity;
+import com.example.housemanager.model.mappers.JsonStreamMapper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * players.totalPoints tiene un solo dueño: tras ingerir el detalle de un partido (historial incluido) y
+ * recalcular, el total de cada jugador es la suma de sus PlayerMatchPoints.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PointsLedgerTest {
+    private static final String PREFS = "points-ledger-test";
+
+    private HouseManagerDatabase db;
+    private SharedPreferences prefs;
+    private MatchDetailIngestor ingestor;
+    private PointsHistoryWriter history;
+    private PointsEngine engine;
+    private MatchEntity match;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, HouseManagerDatabase.class).allowMainThreadQueries().build();
+        prefs = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        prefs.edit().clear().commit();
+        PointsCalculator calculator = new PointsCalculator();
+        ingestor = new MatchDetailIngestor(db);
+        history = new PointsHistoryWriter(db, calculator);
+        engine = new PointsEngine(db, calculator, prefs, new MatchCache(db));
+
+        List<PlayerEntity> players = new ArrayList<>();
+        players.add(player(3236, 78, "Portero"));
+        players.add(player(7853, 78, "Delantero"));
+        players.add(player(3300, 78, "Centrocampista"));
+        players.add(player(5001, 285, "Delantero"));
+        db.playerDao().insertPlayers(players);
+
+        match = new MatchEntity();
+        match.setMatchId(497410L);
+        match.setHomeTeamId(78L);
+        match.setAwayTeamId(285L);
+        match.setStatus("FINISHED");
+        match.setMatchday(1);
+        match.setHomeScore(2);
+        match.setAwayScore(1);
+        db.matchDao().insertAll(Collections.singletonList(match));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        prefs.edit().clear().commit();
+    }
+
+    @Test
+    public void detailIngestThenRecalc_totalEqualsMatchPoints() {
+        // Primera puntuación, sin detalle: fallback por marcador
+        engine.recalcFinished(false);
+        assertLedger();
+
+        // Llega el detalle (como en syncDetailsFor): ingesta, historial y recálculo incremental
+        JsonStreamMapper.MatchDetailEntities d = detail();
+        ingestor.write(match, d);
+        history.write(match, null);
+        engine.recalcFinished(false);
+        assertLedger();
+        assertTrue(totalOf(7853) > 0);
+
+        // El detalle cambia (una tarjeta más): el partido se vuelve a puntuar una sola vez
+        d.events.add(event(3300, 78, "CARD_YELLOW"));
+        ingestor.write(match, d);
+        history.write(match, null);
+        engine.recalcFinished(false);
+        assertLedger();
+    }
+
+    @Test
+    public void historyWriter_doesNotTouchTotals() {
+        engine.recalcFinished(false);
+        int before = totalOf(7853);
+
+        ingestor.write(match, detail());
+        history.write(match, null);
+
+        assertEquals(before, totalOf(7853));
+    }
+
+    @Test
+    public void emptyScoringStateAfterMigration_rebuildsInsteadOfAdding() {
+        ingestor.write(match, detail());
+        engine.recalcFinished(false);
+        int before = totalOf(7853);
+        assertTrue(before > 0);
+
+        // Lo que deja MIGRATION_12_13: totales guardados, sin puntos base ni huellas
+        db.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM PlayerMatchPoints");
+        db.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM match_scoring_state");
+        engine.recalcFinished(false);
+
+        assertLedger();
+        assertEquals(before, totalOf(7853));
+    }
+
+    private JsonStreamMapper.MatchDetailEntities detail() {
+        JsonStreamMapper.MatchDetailEntities d = new JsonStreamMapper.MatchDetailEntities();
+        d.lineup.add(lineup(3236, 78, "STARTER"));
+        d.lineup.add(lineup(7853, 78, "STARTER"));
+        d.lineup.add(lineup(3300, 78, "SUB"));
+        d.lineup.add(lineup(5001, 285, "STARTER"));
+        d.events.add(event(7853, 78, "GOAL_REGULAR"));
+        d.events.add(event(3300, 78, "ASSIST"));
+        d.events.add(event(7853, 78, "GOAL_REGULAR"));
+        d.events.add(event(5001, 285, "GOAL_PENALTY"));
+        return d;
+    }
+
+    private void assertLedger() {
+        try (Cursor c = db.getOpenHelper().getReadableDatabase().query(
+                "SELECT p.playerId, p.totalPoints, COALESCE((SELECT SUM(pmp.points) FROM PlayerMatchPoints pmp " +
+                "WHERE pmp.playerId = p.playerId), 0) FROM players p")) {
+            assertTrue(c.getCount() > 0);
+            while (c.moveToNext()) {
+                assertEquals("jugador " + c.getInt(0), c.getInt(2), c.getInt(1));
+            }
+        }
+    }
+
+    private int totalOf(int playerId) {
+        return db.playerDao().getByIdsSync(Collections.singletonList(playerId)).get(0).getTotalPoints();
+    }
+
+    private static PlayerEntity player(int id, int teamId, String position) {
+        PlayerEntity p = new PlayerEntity();
+        p.setPlayerId(id);
+        p.setName("Jugador " + id);
+        p.setTeamId(teamId);
+        p.setTeamName("Equipo " + teamId);
+        p.setNationality("");
+        p.setPosition(position);
+        return p;
+    }
+
+    private LineupEntryEntity lineup(int playerId, int teamId, String role) {
+        LineupEntryEntity e = new LineupEntryEntity();
+        e.setMatchId(match.getMatchId());
+        e.setPlayerId(playerId);
+        e.setTeamId(teamId);
+        e.setRole(role);
+        return e;
+    }
+
+    private MatchEventEntity event(int playerId, int teamId, String type) {
+        MatchEventEntity e = new MatchEventEntity();
+        e.setMatchId(match.getMatchId());
+        e.setPlayerId(playerId);
+        e.setTeamId(teamId);
+        e.setType(type);
+        return e;
+    }
+}
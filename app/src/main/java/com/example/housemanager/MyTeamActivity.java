@@ -35,7 +35,7 @@ public class MyTeamActivity extends AppCompatActivity {
     private android.os.Handler clauseHandler;
     private final Runnable clauseTick = new Runnable() {
         @Override public void run() {
-            if (adapter != null) adapter.notifyDataSetChanged();
+            if (adapter != null) adapter.refreshClauseCountdown();
             if (clauseHandler != null) clauseHandler.postDelayed(this, 60_000L); // cada minuto
         }
     };
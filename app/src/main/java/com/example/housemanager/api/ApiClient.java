@@ -1,8 +1,14 @@
 package com.example.housemanager.api;
 
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+
 import com.example.housemanager.BuildConfig;
+import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
+import okhttp3.Cache;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -10,18 +16,31 @@ import okhttp3.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
-/** Retrofit y cabecera de autenticación. */
+/** Retrofit, cabecera de autenticación y caché HTTP en disco. */
 public final class ApiClient {
 
+    /** Cupo del plan gratuito de football-data.org. */
+    private static final int REQUESTS_PER_MINUTE = 10;
+
+    /** Tamaño máximo de la caché HTTP (respuestas JSON de la API). */
+    private static final long HTTP_CACHE_BYTES = 10L * 1024L * 1024L;
+
     private static volatile Retrofit retrofit;
 
     private ApiClient() { }
 
+    /** Cliente sin caché en disco (solo si aún no se ha creado con contexto). */
     public static Retrofit getClient() {
+        return getClient(null);
+    }
+
+    /** Cliente con caché HTTP en el directorio de caché de la app. */
+    public static Retrofit getClient(@Nullable Context context) {
         if (retrofit == null) {
             synchronized (ApiClient.class) {
                 if (retrofit == null) {
-                    OkHttpClient client = new OkHttpClient.Builder()
+                    RateLimitInterceptor rateLimiter = new RateLimitInterceptor(REQUESTS_PER_MINUTE);
+                    OkHttpClient.Builder builder = new OkHttpClient.Builder()
                             .addInterceptor(new Interceptor() {
                                 @Override
                                 public Response intercept(Chain chain) throws IOException {
@@ -32,13 +51,20 @@ public final class ApiClient {
                                     return chain.proceed(request);
                                 }
                             })
+                            // De aplicación: espera cupo (y reintenta los 429) antes de tomar conexión
+                            .addInterceptor(rateLimiter)
+                            // De red: fija la frescura de lo que se guarda en la caché
+                            .addNetworkInterceptor(new CachePolicyInterceptor())
                             .connectTimeout(20, TimeUnit.SECONDS)
-                            .readTimeout(20, TimeUnit.SECONDS)
-                            .build();
+                            .readTimeout(20, TimeUnit.SECONDS);
+                    if (context != null) {
+                        File dir = new File(context.getApplicationContext().getCacheDir(), "http");
+                        builder.cache(new Cache(dir, HTTP_CACHE_BYTES));
+                    }
 
                     retrofit = new Retrofit.Builder()
                             .baseUrl(BuildConfig.FOOTBALL_API_BASE_URL)
-                            .client(client)
+                            .client(builder.build())
                             .addConverterFactory(GsonConverterFactory.create())
                             .build();
                 }
@@ -0,0 +1,82 @@
+package com.example.housemanager.api;
+
+import com.example.housemanager.model.mappers.ApiToEntityMapper;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Interceptor de red que fija la frescura de cada respuesta antes de guardarla en la caché HTTP:
+ * - Plantillas y lista de equipos: un día.
+ * - Detalle de partido FINISHED pasado DETAIL_SETTLE_MILLIS desde el inicio: para siempre (no cambia).
+ * - Partidos por jornada/fechas, detalle de partidos no terminados y de los terminados que aún pueden
+ *   recibir correcciones de alineación/eventos: poco tiempo.
+ * Se conservan ETag/Last-Modified, así que al caducar OkHttp revalida con petición condicional (304).
+ */
+public final class CachePolicyInterceptor implements Interceptor {
+
+    /** Margen tras el inicio de un partido en el que la API aún puede corregir alineaciones/eventos. */
+    public static final long DETAIL_SETTLE_MILLIS = 24L * 60L * 60L * 1000L;
+
+    private static final int ONE_DAY_SECONDS = 24 * 60 * 60;
+    private static final int ONE_HOUR_SECONDS = 60 * 60;
+    private static final int SHORT_SECONDS = 60;
+    private static final int FOREVER_SECONDS = 365 * ONE_DAY_SECONDS;
+
+    private static final Pattern TEAM_DETAIL = Pattern.compile("^/(v4/)?teams/\\d+$");
+    private static final Pattern MATCH_DETAIL = Pattern.compile("^/(v4/)?matches/\\d+$");
+    private static final Pattern FINISHED_STATUS = Pattern.compile("\"status\"\\s*:\\s*\"FINISHED\"");
+    private static final Pattern UTC_DATE = Pattern.compile("\"utcDate\"\\s*:\\s*\"([^\"]+)\"");
+
+    /** Bytes que se miran del cuerpo para saber si un partido está terminado (el estado va al principio). */
+    private static final long STATUS_PEEK_BYTES = 4096L;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if (!"GET".equals(request.method()) || !response.isSuccessful()) return response;
+
+        int maxAge = maxAgeFor(request, response);
+        if (maxAge <= 0) return response;
+        String cacheControl = maxAge >= FOREVER_SECONDS
+                ? "public, max-age=" + maxAge + ", immutable"
+                : "public, max-age=" + maxAge;
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", cacheControl)
+                .build();
+    }
+
+    private int maxAgeFor(Request request, Response response) throws IOException {
+        String path = request.url().encodedPath();
+        if (TEAM_DETAIL.matcher(path).matches() || path.endsWith("/competitions/PD/teams")) {
+            return ONE_DAY_SECONDS;
+        }
+        if (MATCH_DETAIL.matcher(path).matches()) {
+            String head = response.peekBody(STATUS_PEEK_BYTES).string();
+            return isSettled(head, System.currentTimeMillis()) ? FOREVER_SECONDS : SHORT_SECONDS;
+        }
+        if (path.endsWith("/competitions/PD/matches")) {
+            return SHORT_SECONDS;
+        }
+        if (path.endsWith("/competitions/PD")) {
+            return ONE_HOUR_SECONDS;
+        }
+        return 0;
+    }
+
+    /** Terminado y con el margen de correcciones ya pasado (sin fecha de inicio legible: no cerrado). */
+    static boolean isSettled(String head, long nowMillis) {
+        if (!FINISHED_STATUS.matcher(head).find()) return false;
+        Matcher utc = UTC_DATE.matcher(head);
+        if (!utc.find()) return false;
+        long kickoff = ApiToEntityMapper.parseIsoToMillis(utc.group(1));
+        return kickoff > 0L && nowMillis >= kickoff + DETAIL_SETTLE_MILLIS;
+    }
+}
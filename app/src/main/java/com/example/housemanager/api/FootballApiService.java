@@ -7,10 +7,12 @@ import com.example.housemanager.api.models.MatchesResponse;
 import com.example.housemanager.api.models.TeamAPI;
 import com.example.housemanager.api.models.TeamsResponse;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 /** Endpoints para consultar equipos, plantillas y partidos sin rodeos. */
 public interface FootballApiService {
@@ -45,4 +47,29 @@ public interface FootballApiService {
     /** Detalle de un partido */
     @GET("matches/{matchId}")
     Call<MatchDetailResponse> getMatchDetail(@Path("matchId") long matchId);
+
+    // Variantes sin convertir: el cuerpo se lee en streaming con JsonStreamMapper
+
+    /** Plantilla de un equipo en crudo. */
+    @Streaming
+    @GET("teams/{id}")
+    Call<ResponseBody> getTeamDetailsRaw(@Path("id") int teamId);
+
+    /** Partidos entre dos fechas en crudo. */
+    @Streaming
+    @GET("competitions/PD/matches")
+    Call<ResponseBody> getMatchesRaw(
+            @Query("dateFrom") String dateFromIso,
+            @Query("dateTo") String dateToIso
+    );
+
+    /** Partidos de una jornada en crudo. */
+    @Streaming
+    @GET("competitions/PD/matches")
+    Call<ResponseBody> getMatchesByMatchdayRaw(@Query("matchday") Integer matchday);
+
+    /** Detalle de un partido en crudo. */
+    @Streaming
+    @GET("matches/{matchId}")
+    Call<ResponseBody> getMatchDetailRaw(@Path("matchId") long matchId);
 }
@@ -0,0 +1,145 @@
+package com.example.housemanager.api;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Planificador de peticiones (token bucket por ventana de un minuto) para football-data.org.
+ * Se instala como interceptor de aplicación: la espera por cupo ocurre antes de abrir conexión, no con
+ * una conexión ya tomada que el servidor podría cerrar. Las respuestas servidas desde la caché HTTP no
+ * gastan cupo (si no hay cupo se prueba antes solo con la caché, y si la caché la sirve se devuelve el
+ * cupo). El cupo se ajusta con las cabeceras X-Requests-Available-Minute / X-RequestCounter-Reset y un
+ * 429 lo vacía hasta el reinicio; esa petición se reintenta cuando vuelve a haber cupo.
+ */
+public final class RateLimitInterceptor implements Interceptor {
+
+    private static final String TAG = "RateLimit";
+    private static final String HEADER_AVAILABLE = "X-Requests-Available-Minute";
+    private static final String HEADER_RESET = "X-RequestCounter-Reset";
+    private static final long WINDOW_MILLIS = 60_000L;
+    private static final long BASE_BACKOFF_MILLIS = 5_000L;
+    private static final int MAX_RETRIES = 3;
+    private static final CacheControl ONLY_IF_CACHED = new CacheControl.Builder().onlyIfCached().build();
+
+    private final int capacity;
+    private int tokens;
+    private long windowResetAtMillis;
+    private int consecutive429;
+
+    public RateLimitInterceptor(int requestsPerMinute) {
+        this.capacity = Math.max(1, requestsPerMinute);
+        this.tokens = this.capacity;
+        this.windowResetAtMillis = System.currentTimeMillis() + WINDOW_MILLIS;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        for (int attempt = 0; ; attempt++) {
+            if (!tryAcquire()) {
+                // Sin cupo: si la caché tiene una respuesta vigente, servirla sin esperar
+                if (!request.cacheControl().noCache()) {
+                    Response cached = chain.proceed(request.newBuilder().cacheControl(ONLY_IF_CACHED).build());
+                    if (cached.code() != 504) return cached;
+                    cached.close();
+                }
+                acquire();
+            }
+            Response response = chain.proceed(request);
+            Response network = response.networkResponse();
+            if (network == null) {
+                // La sirvió la caché: no ha salido ninguna petición
+                release();
+                return response;
+            }
+            if (response.code() != 429) {
+                onResponse(network);
+                return response;
+            }
+            // Demasiadas peticiones: vaciar el cupo hasta el reinicio indicado (o backoff exponencial)
+            long waitMillis = penalize(parseResetMillis(response));
+            Log.w(TAG, "429 en " + request.url().encodedPath() + ", sin cupo durante " + waitMillis + " ms");
+            if (attempt >= MAX_RETRIES) return response;
+            Log.w(TAG, "Reintento " + (attempt + 1) + " de " + request.url().encodedPath());
+            response.close();
+        }
+    }
+
+    /** Consume cupo si lo hay en la ventana actual, sin esperar. */
+    private synchronized boolean tryAcquire() {
+        long now = System.currentTimeMillis();
+        if (now >= windowResetAtMillis) {
+            tokens = capacity;
+            windowResetAtMillis = now + WINDOW_MILLIS;
+        }
+        if (tokens > 0) {
+            tokens--;
+            return true;
+        }
+        return false;
+    }
+
+    /** Devuelve el cupo de una petición que no llegó a salir. */
+    private synchronized void release() {
+        tokens = Math.min(capacity, tokens + 1);
+        notifyAll();
+    }
+
+    /** Bloquea hasta que haya cupo en la ventana actual y lo consume. */
+    private synchronized void acquire() throws IOException {
+        while (!tryAcquire()) {
+            long now = System.currentTimeMillis();
+            try {
+                wait(Math.max(1L, windowResetAtMillis - now));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Esperando cupo de la API");
+            }
+        }
+    }
+
+    /** Ajusta el cupo con lo que informa la API (nunca al alza: hay peticiones en vuelo que aún no cuenta). */
+    private synchronized void onResponse(Response response) {
+        consecutive429 = 0;
+        String available = response.header(HEADER_AVAILABLE);
+        if (available != null) {
+            try {
+                tokens = Math.min(tokens, Math.max(0, Integer.parseInt(available.trim())));
+            } catch (NumberFormatException ignored) { }
+        }
+        long resetMillis = parseResetMillis(response);
+        if (resetMillis > 0) {
+            windowResetAtMillis = System.currentTimeMillis() + resetMillis;
+        }
+        notifyAll();
+    }
+
+    /** Vacía el cupo tras un 429 y devuelve cuánto habrá que esperar. */
+    private synchronized long penalize(long resetMillis) {
+        long waitMillis = resetMillis > 0 ? resetMillis : (BASE_BACKOFF_MILLIS << Math.min(consecutive429, 4));
+        consecutive429++;
+        tokens = 0;
+        long resumeAt = System.currentTimeMillis() + waitMillis;
+        // Con X-RequestCounter-Reset manda la API; con backoff no se adelanta la ventana en curso
+        windowResetAtMillis = resetMillis > 0 ? resumeAt : Math.max(windowResetAtMillis, resumeAt);
+        notifyAll();
+        return waitMillis;
+    }
+
+    private static long parseResetMillis(Response response) {
+        String reset = response.header(HEADER_RESET);
+        if (reset == null) return 0L;
+        try {
+            return Math.max(0L, Long.parseLong(reset.trim()) * 1000L);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -17,8 +17,8 @@ import com.example.housemanager.database.entities.PlayerEntity;
 import com.example.housemanager.database.entities.TeamEntity;
 
 @Database(
-        entities = {TeamEntity.class, PlayerEntity.class, com.example.housemanager.database.entities.LeagueEntity.class, com.example.housemanager.database.entities.LineupEntity.class, com.example.housemanager.database.entities.MatchEntity.class, com.example.housemanager.database.entities.LeaguePlayerOwnership.class, com.example.housemanager.database.entities.MarketListing.class, com.example.housemanager.database.entities.MarketState.class, com.example.housemanager.database.entities.Captain.class, com.example.housemanager.database.entities.PlayerMatchPoints.class, com.example.housemanager.database.entities.MatchEventEntity.class, com.example.housemanager.database.entities.LineupEntryEntity.class, com.example.housemanager.database.entities.PlayerPointsHistoryEntity.class},
-        version = 9,
+        entities = {TeamEntity.class, PlayerEntity.class, com.example.housemanager.database.entities.LeagueEntity.class, com.example.housemanager.database.entities.LineupEntity.class, com.example.housemanager.database.entities.MatchEntity.class, com.example.housemanager.database.entities.LeaguePlayerOwnership.class, com.example.housemanager.database.entities.MarketListing.class, com.example.housemanager.database.entities.MarketState.class, com.example.housemanager.database.entities.Captain.class, com.example.housemanager.database.entities.PlayerMatchPoints.class, com.example.housemanager.database.entities.MatchEventEntity.class, com.example.housemanager.database.entities.LineupEntryEntity.class, com.example.housemanager.database.entities.PlayerPointsHistoryEntity.class, com.example.housemanager.database.entities.MatchScoringState.class, com.example.housemanager.database.entities.MatchSyncState.class, com.example.housemanager.database.entities.LeaguePlayerMatchPoints.class, com.example.housemanager.database.entities.LeagueStanding.class, com.example.housemanager.database.entities.LeagueStandingSnapshot.class, com.example.housemanager.database.entities.PlayerFts.class},
+        version = 20,
         exportSchema = true
 )
 public abstract class HouseManagerDatabase extends RoomDatabase {
@@ -39,8 +39,13 @@ public abstract class HouseManagerDatabase extends RoomDatabase {
     public abstract com.example.housemanager.database.dao.MatchEventDao matchEventDao();
     public abstract com.example.housemanager.database.dao.LineupEntryDao lineupEntryDao();
     public abstract com.example.housemanager.database.dao.PlayerPointsHistoryDao playerPointsHistoryDao();
+    public abstract com.example.housemanager.database.dao.MatchScoringStateDao matchScoringStateDao();
+    public abstract com.example.housemanager.database.dao.MatchSyncStateDao matchSyncStateDao();
+    public abstract com.example.housemanager.database.dao.LeaguePlayerMatchPointsDao leaguePlayerMatchPointsDao();
+    public abstract com.example.housemanager.database.dao.LeagueStandingDao leagueStandingDao();
+    public abstract com.example.housemanager.database.dao.LeagueStandingSnapshotDao leagueStandingSnapshotDao();
 
-    private static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
         @Override
         public void migrate(@NonNull SupportSQLiteDatabase db) {
 
@@ -49,6 +54,146 @@ public abstract class HouseManagerDatabase extends RoomDatabase {
         }
     };
 
+    static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `match_scoring_state` (`matchId` INTEGER NOT NULL, `fingerprint` INTEGER NOT NULL, `scoredAtMillis` INTEGER NOT NULL, PRIMARY KEY(`matchId`))");
+            Log.d(TAG, "MIGRATION_9_10 ejecutada correctamente: añadida tabla match_scoring_state");
+        }
+    };
+
+    static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `match_sync_state` (`matchId` INTEGER NOT NULL, `status` TEXT, `detailFetchedAtMillis` INTEGER NOT NULL, `contentHash` INTEGER NOT NULL, `complete` INTEGER NOT NULL, PRIMARY KEY(`matchId`))");
+            Log.d(TAG, "MIGRATION_10_11 ejecutada correctamente: añadida tabla match_sync_state");
+        }
+    };
+
+    static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE matches ADD COLUMN matchday INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_matches_matchday` ON `matches` (`matchday`)");
+            Log.d(TAG, "MIGRATION_11_12 ejecutada correctamente: añadida columna matches.matchday");
+        }
+    };
+
+    static final Migration MIGRATION_12_13 = new Migration(12, 13) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `league_player_match_points` (`leagueId` INTEGER NOT NULL, `matchId` INTEGER NOT NULL, `playerId` INTEGER NOT NULL, `ownerUserId` INTEGER NOT NULL, `matchday` INTEGER NOT NULL, `points` INTEGER NOT NULL, PRIMARY KEY(`leagueId`, `matchId`, `playerId`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_league_player_match_points_leagueId_matchday_ownerUserId_points` ON `league_player_match_points` (`leagueId`, `matchday`, `ownerUserId`, `points`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_league_player_match_points_leagueId_playerId_points` ON `league_player_match_points` (`leagueId`, `playerId`, `points`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_league_player_match_points_matchId` ON `league_player_match_points` (`matchId`)");
+            // PlayerMatchPoints pasa a guardar solo puntos base: sin huellas, el siguiente recálculo lo reconstruye
+            // todo, totalPoints incluido (PointsEngine.needsFullRebuild)
+            db.execSQL("DELETE FROM PlayerMatchPoints");
+            db.execSQL("DELETE FROM match_scoring_state");
+            Log.d(TAG, "MIGRATION_12_13 ejecutada correctamente: añadida tabla league_player_match_points");
+        }
+    };
+
+    static final Migration MIGRATION_13_14 = new Migration(13, 14) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `league_standings` (`leagueId` INTEGER NOT NULL, `userId` INTEGER NOT NULL, `seasonPoints` INTEGER NOT NULL, `matchday` INTEGER NOT NULL, `matchdayPoints` INTEGER NOT NULL, `rank` INTEGER NOT NULL, PRIMARY KEY(`leagueId`, `userId`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_league_standings_leagueId_rank` ON `league_standings` (`leagueId`, `rank`)");
+            // Rellenar desde los puntos por liga ya guardados (mismas sentencias que LeagueStandingDao)
+            db.execSQL("INSERT OR REPLACE INTO league_standings (leagueId, userId, seasonPoints, matchday, matchdayPoints, `rank`) " +
+                    "SELECT o.leagueId, o.ownerUserId, COALESCE((SELECT SUM(l.points) FROM league_player_match_points l WHERE l.leagueId = o.leagueId AND l.ownerUserId = o.ownerUserId), 0), 0, 0, 0 " +
+                    "FROM (SELECT DISTINCT leagueId, ownerUserId FROM LeaguePlayerOwnership) o");
+            db.execSQL("UPDATE league_standings SET matchday = COALESCE((SELECT MAX(l.matchday) FROM league_player_match_points l WHERE l.leagueId = league_standings.leagueId), 0)");
+            db.execSQL("UPDATE league_standings SET matchdayPoints = COALESCE((SELECT SUM(l.points) FROM league_player_match_points l " +
+                    "WHERE l.leagueId = league_standings.leagueId AND l.matchday = league_standings.matchday AND l.ownerUserId = league_standings.userId), 0)");
+            db.execSQL("UPDATE league_standings SET `rank` = 1 + (SELECT COUNT(*) FROM league_standings s " +
+                    "WHERE s.leagueId = league_standings.leagueId AND s.seasonPoints > league_standings.seasonPoints)");
+            Log.d(TAG, "MIGRATION_13_14 ejecutada correctamente: añadida tabla league_standings");
+        }
+    };
+
+    static final Migration MIGRATION_14_15 = new Migration(14, 15) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `league_standing_snapshots` (`leagueId` INTEGER NOT NULL, `matchday` INTEGER NOT NULL, `userId` INTEGER NOT NULL, `points` INTEGER NOT NULL, `seasonPoints` INTEGER NOT NULL, `rank` INTEGER NOT NULL, PRIMARY KEY(`leagueId`, `matchday`, `userId`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_league_standing_snapshots_leagueId_userId_matchday` ON `league_standing_snapshots` (`leagueId`, `userId`, `matchday`)");
+            Log.d(TAG, "MIGRATION_14_15 ejecutada correctamente: añadida tabla league_standing_snapshots");
+        }
+    };
+
+    static final Migration MIGRATION_15_16 = new Migration(15, 16) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE MarketListing ADD COLUMN name TEXT NOT NULL DEFAULT ''");
+            db.execSQL("ALTER TABLE MarketListing ADD COLUMN position TEXT NOT NULL DEFAULT ''");
+            db.execSQL("ALTER TABLE MarketListing ADD COLUMN teamId INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE MarketListing ADD COLUMN teamDisplay TEXT NOT NULL DEFAULT ''");
+            db.execSQL("ALTER TABLE MarketListing ADD COLUMN price INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE MarketListing ADD COLUMN displayPoints INTEGER NOT NULL DEFAULT 0");
+            // Rellenar la copia de los listados existentes (misma sentencia que MarketDao.refreshActiveSnapshots)
+            db.execSQL(com.example.housemanager.database.dao.MarketDao.REFRESH_SNAPSHOT + "WHERE isSold = 0");
+            Log.d(TAG, "MIGRATION_15_16 ejecutada correctamente: añadida copia de datos en MarketListing");
+        }
+    };
+
+    static final Migration MIGRATION_16_17 = new Migration(16, 17) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE MarketListing ADD COLUMN staged INTEGER NOT NULL DEFAULT 0");
+            Log.d(TAG, "MIGRATION_16_17 ejecutada correctamente: añadida columna MarketListing.staged");
+        }
+    };
+
+    static final Migration MIGRATION_17_18 = new Migration(17, 18) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `players_fts` USING FTS4(`name` TEXT NOT NULL, `teamName` TEXT NOT NULL, tokenize=unicode61 `remove_diacritics=1`, content=`players`)");
+            // Mismos triggers que crea Room para una tabla FTS de contenido externo
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_players_fts_BEFORE_UPDATE BEFORE UPDATE ON `players` BEGIN DELETE FROM `players_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_players_fts_BEFORE_DELETE BEFORE DELETE ON `players` BEGIN DELETE FROM `players_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_players_fts_AFTER_UPDATE AFTER UPDATE ON `players` BEGIN INSERT INTO `players_fts`(`docid`, `name`, `teamName`) VALUES (NEW.`rowid`, NEW.`name`, NEW.`teamName`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_players_fts_AFTER_INSERT AFTER INSERT ON `players` BEGIN INSERT INTO `players_fts`(`docid`, `name`, `teamName`) VALUES (NEW.`rowid`, NEW.`name`, NEW.`teamName`); END");
+            db.execSQL("INSERT INTO `players_fts`(`players_fts`) VALUES ('rebuild')");
+            Log.d(TAG, "MIGRATION_17_18 ejecutada correctamente: añadido índice de texto players_fts");
+        }
+    };
+
+    static final Migration MIGRATION_18_19 = new Migration(18, 19) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_players_name` ON `players` (`name`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_players_position_totalPoints` ON `players` (`position`, `totalPoints`)");
+            Log.d(TAG, "MIGRATION_18_19 ejecutada correctamente: índices de players para el catálogo paginado");
+        }
+    };
+
+    static final Migration MIGRATION_19_20 = new Migration(19, 20) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // players_fts pasa a indexar players.searchText: fuera los triggers y la tabla de la versión 18
+            for (String op : new String[]{"BEFORE_UPDATE", "BEFORE_DELETE", "AFTER_UPDATE", "AFTER_INSERT"}) {
+                db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_players_fts_" + op);
+            }
+            db.execSQL("DROP TABLE IF EXISTS `players_fts`");
+            db.execSQL("ALTER TABLE players ADD COLUMN searchText TEXT NOT NULL DEFAULT ''");
+            // La normalización (ø -> o, æ -> ae...) es de PlayerSearch: se rellena desde Java
+            try (android.database.Cursor c = db.query("SELECT playerId, name, teamName FROM players")) {
+                while (c.moveToNext()) {
+                    db.execSQL("UPDATE players SET searchText = ? WHERE playerId = ?", new Object[]{
+                            com.example.housemanager.util.PlayerSearch.fold(c.getString(1) + " " + c.getString(2)), c.getInt(0)});
+                }
+            }
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `players_fts` USING FTS4(`searchText` TEXT NOT NULL, tokenize=unicode61 `remove_diacritics=1`, content=`players`)");
+            // Mismos triggers que crea Room para una tabla FTS de contenido externo
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_players_fts_BEFORE_UPDATE BEFORE UPDATE ON `players` BEGIN DELETE FROM `players_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_players_fts_BEFORE_DELETE BEFORE DELETE ON `players` BEGIN DELETE FROM `players_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_players_fts_AFTER_UPDATE AFTER UPDATE ON `players` BEGIN INSERT INTO `players_fts`(`docid`, `searchText`) VALUES (NEW.`rowid`, NEW.`searchText`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_players_fts_AFTER_INSERT AFTER INSERT ON `players` BEGIN INSERT INTO `players_fts`(`docid`, `searchText`) VALUES (NEW.`rowid`, NEW.`searchText`); END");
+            db.execSQL("INSERT INTO `players_fts`(`players_fts`) VALUES ('rebuild')");
+            Log.d(TAG, "MIGRATION_19_20 ejecutada correctamente: players_fts sobre players.searchText");
+        }
+    };
+
     private static volatile HouseManagerDatabase INSTANCE;
 
     public static HouseManagerDatabase getInstance(Context context) {
@@ -59,7 +204,7 @@ public abstract class HouseManagerDatabase extends RoomDatabase {
                             context.getApplicationContext(),
                             HouseManagerDatabase.class,
                             "house_manager.db"
-                    ).addMigrations(MIGRATION_8_9);
+                    ).addMigrations(MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11, MIGRATION_11_12, MIGRATION_12_13, MIGRATION_13_14, MIGRATION_14_15, MIGRATION_15_16, MIGRATION_16_17, MIGRATION_17_18, MIGRATION_18_19, MIGRATION_19_20);
 
                     // En debug permitimos migración destructiva para no bloquear desarrollo.
                     if (BuildConfig.DEBUG) {
@@ -20,6 +20,19 @@ public interface CaptainDao {
     @Query("SELECT * FROM Captains WHERE leagueId = :leagueId AND ownerUserId = :ownerUserId LIMIT 1")
     Captain getCaptainSync(long leagueId, long ownerUserId);
 
+    /**
+     * Capitanes efectivos (el capitán pertenece a su propietario) en forma de cadena estable.
+     * Si cambia, los puntos por partido ya guardados dejan de ser válidos.
+     */
+    @Query("SELECT COALESCE(group_concat(x, ','), '') FROM (" +
+           "SELECT c.leagueId || ':' || c.ownerUserId || ':' || c.captainPlayerId AS x FROM Captains c " +
+           "WHERE EXISTS (SELECT 1 FROM LeaguePlayerOwnership o WHERE o.leagueId = c.leagueId AND o.ownerUserId = c.ownerUserId AND o.playerId = c.captainPlayerId) " +
+           "ORDER BY x)")
+    String getScoringContextSync();
+
     @Query("DELETE FROM Captains WHERE leagueId = :leagueId")
     void deleteCaptainByLeague(long leagueId);
+
+    @Query("DELETE FROM Captains WHERE leagueId = :leagueId AND ownerUserId = :ownerUserId")
+    void deleteCaptain(long leagueId, long ownerUserId);
 }
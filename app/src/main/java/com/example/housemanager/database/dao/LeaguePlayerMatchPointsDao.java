@@ -0,0 +1,67 @@
+package com.example.housemanager.database.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.housemanager.database.pojo.ManagerScoreRow;
+
+import java.util.List;
+
+/**
+ * Acceso a league_player_match_points. Las filas se derivan de PlayerMatchPoints (puntos base) con la
+ * propiedad y el capitán actuales de cada liga, así que nunca se pisan entre ligas.
+ */
+@Dao
+public interface LeaguePlayerMatchPointsDao {
+
+    /**
+     * Columnas e INSERT comunes; cada consulta añade su filtro. El capitán sale de Captains, que se escribe
+     * al elegirlo en la pantalla de equipo (uno por liga y usuario).
+     */
+    String INSERT_FROM_BASE = "INSERT OR REPLACE INTO league_player_match_points (leagueId, matchId, playerId, ownerUserId, matchday, points) " +
+            "SELECT o.leagueId, pmp.matchId, pmp.playerId, o.ownerUserId, pmp.matchday, " +
+            "       CASE WHEN pmp.playerId = (SELECT c.captainPlayerId FROM Captains c WHERE c.leagueId = o.leagueId AND c.ownerUserId = o.ownerUserId ORDER BY c.id ASC LIMIT 1) " +
+            "            THEN pmp.points * 2 ELSE pmp.points END " +
+            "FROM PlayerMatchPoints pmp JOIN LeaguePlayerOwnership o ON o.playerId = pmp.playerId ";
+
+    /** Filas de un partido en todas las ligas (tras puntuarlo). */
+    @Query(INSERT_FROM_BASE + "WHERE pmp.matchId = :matchId")
+    void insertForMatch(long matchId);
+
+    /** Filas de un jugador en una liga (tras cambiar su propiedad). */
+    @Query(INSERT_FROM_BASE + "WHERE o.leagueId = :leagueId AND o.playerId = :playerId")
+    void insertForLeaguePlayer(long leagueId, long playerId);
+
+    /** Filas de todos los jugadores poseídos en una liga. */
+    @Query(INSERT_FROM_BASE + "WHERE o.leagueId = :leagueId")
+    void insertForLeague(long leagueId);
+
+    /** Todas las filas (reconstrucción completa o cambio de capitanes). */
+    @Query(INSERT_FROM_BASE)
+    void insertAll();
+
+    @Query("DELETE FROM league_player_match_points WHERE matchId = :matchId")
+    void deleteByMatch(long matchId);
+
+    @Query("DELETE FROM league_player_match_points WHERE leagueId = :leagueId AND playerId = :playerId")
+    void deleteByLeaguePlayer(long leagueId, long playerId);
+
+    @Query("DELETE FROM league_player_match_points WHERE leagueId = :leagueId")
+    void deleteByLeague(long leagueId);
+
+    @Query("DELETE FROM league_player_match_points")
+    void clearAll();
+
+    /** Clasificación de una jornada: agregado sobre el índice (leagueId, matchday, ownerUserId, points). */
+    @Query("SELECT ownerUserId AS userId, SUM(points) AS totalPoints " +
+           "FROM league_player_match_points " +
+           "WHERE leagueId = :leagueId AND matchday = :matchday " +
+           "GROUP BY ownerUserId " +
+           "ORDER BY totalPoints DESC")
+    LiveData<List<ManagerScoreRow>> getLeagueClassificationThisMatchday(long leagueId, int matchday);
+
+    /** Puntos de un jugador en la temporada dentro de una liga (índice (leagueId, playerId, points)). */
+    @Query("SELECT COALESCE(SUM(points), 0) FROM league_player_match_points WHERE leagueId = :leagueId AND playerId = :playerId")
+    int getSeasonPointsInLeagueSync(long leagueId, long playerId);
+}
@@ -0,0 +1,64 @@
+package com.example.housemanager.database.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.housemanager.database.entities.LeagueStanding;
+
+import java.util.List;
+
+/**
+ * Acceso a league_standings. Las filas se crean desde LeaguePlayerOwnership y los puntos salen de
+ * league_player_match_points; las pantallas solo leen esta tabla.
+ */
+@Dao
+public interface LeagueStandingDao {
+
+    /** Clasificación de una liga ordenada por posición (una fila por manager). */
+    @Query("SELECT * FROM league_standings WHERE leagueId = :leagueId ORDER BY `rank` ASC, userId ASC")
+    LiveData<List<LeagueStanding>> getByLeagueLive(long leagueId);
+
+    /** Una fila por manager de la liga con sus puntos de temporada (jornada y posición se rellenan después). */
+    @Query("INSERT OR REPLACE INTO league_standings (leagueId, userId, seasonPoints, matchday, matchdayPoints, `rank`) " +
+           "SELECT o.leagueId, o.ownerUserId, " +
+           "       COALESCE((SELECT SUM(l.points) FROM league_player_match_points l WHERE l.leagueId = o.leagueId AND l.ownerUserId = o.ownerUserId), 0), 0, 0, 0 " +
+           "FROM (SELECT DISTINCT leagueId, ownerUserId FROM LeaguePlayerOwnership WHERE leagueId = :leagueId) o")
+    void insertForLeague(long leagueId);
+
+    /** Igual que insertForLeague para todas las ligas. */
+    @Query("INSERT OR REPLACE INTO league_standings (leagueId, userId, seasonPoints, matchday, matchdayPoints, `rank`) " +
+           "SELECT o.leagueId, o.ownerUserId, " +
+           "       COALESCE((SELECT SUM(l.points) FROM league_player_match_points l WHERE l.leagueId = o.leagueId AND l.ownerUserId = o.ownerUserId), 0), 0, 0, 0 " +
+           "FROM (SELECT DISTINCT leagueId, ownerUserId FROM LeaguePlayerOwnership) o")
+    void insertAll();
+
+    /**
+     * Suma (sign = 1) o resta (sign = -1) a la temporada los puntos que tiene ahora un partido en cada liga.
+     * Se llama con -1 antes de rehacer las filas del partido y con 1 después.
+     */
+    @Query("UPDATE league_standings SET seasonPoints = seasonPoints + :sign * COALESCE((SELECT SUM(l.points) FROM league_player_match_points l " +
+           "WHERE l.matchId = :matchId AND l.leagueId = league_standings.leagueId AND l.ownerUserId = league_standings.userId), 0) " +
+           "WHERE leagueId IN (SELECT DISTINCT leagueId FROM league_player_match_points WHERE matchId = :matchId)")
+    void applyMatchPoints(long matchId, int sign);
+
+    /** Fija en cada liga la última jornada con puntos (índice (leagueId, matchday, ...)). */
+    @Query("UPDATE league_standings SET matchday = COALESCE((SELECT MAX(l.matchday) FROM league_player_match_points l WHERE l.leagueId = league_standings.leagueId), 0)")
+    void refreshMatchday();
+
+    /** Puntos de cada manager en la jornada fijada: rango de índice acotado a esa jornada. */
+    @Query("UPDATE league_standings SET matchdayPoints = COALESCE((SELECT SUM(l.points) FROM league_player_match_points l " +
+           "WHERE l.leagueId = league_standings.leagueId AND l.matchday = league_standings.matchday AND l.ownerUserId = league_standings.userId), 0)")
+    void refreshMatchdayPoints();
+
+    /** Posición por puntos de temporada (sin funciones de ventana: no están en el SQLite de minSdk 21). */
+    @Query("UPDATE league_standings SET `rank` = 1 + (SELECT COUNT(*) FROM league_standings s " +
+           "WHERE s.leagueId = league_standings.leagueId AND s.seasonPoints > league_standings.seasonPoints)")
+    void refreshRanks();
+
+    @Query("DELETE FROM league_standings WHERE leagueId = :leagueId")
+    void deleteByLeague(long leagueId);
+
+    @Query("DELETE FROM league_standings")
+    void clearAll();
+}
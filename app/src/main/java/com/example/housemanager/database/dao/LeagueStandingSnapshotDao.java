@@ -0,0 +1,58 @@
+package com.example.housemanager.database.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.housemanager.database.entities.LeagueStandingSnapshot;
+
+import java.util.List;
+
+/**
+ * Acceso a league_standing_snapshots. Cada jornada completa se añade una vez a partir de
+ * league_player_match_points y de la foto anterior; las ya guardadas no se tocan.
+ */
+@Dao
+public interface LeagueStandingSnapshotDao {
+
+    /**
+     * Jornadas con todos sus partidos FINISHED (al menos uno por pareja de equipos de la liga)
+     * que aún no tienen foto, en orden ascendente.
+     */
+    @Query("SELECT m.matchday FROM matches m WHERE m.matchday > 0 " +
+           "AND m.matchday NOT IN (SELECT DISTINCT matchday FROM league_standing_snapshots) " +
+           "GROUP BY m.matchday " +
+           "HAVING SUM(CASE WHEN UPPER(m.status) = 'FINISHED' THEN 0 ELSE 1 END) = 0 " +
+           "AND COUNT(*) >= MAX(1, (SELECT COUNT(*) FROM teams) / 2) " +
+           "ORDER BY m.matchday ASC")
+    List<Integer> getPendingMatchdaysSync();
+
+    /**
+     * Añade la foto de una jornada para todos los managers de cada liga: puntos de la jornada por el
+     * índice (leagueId, matchday, ...) y acumulado = foto anterior + jornada. Sin foto anterior (liga
+     * nueva o primera jornada) el acumulado sale de las jornadas previas una sola vez.
+     */
+    @Query("INSERT OR IGNORE INTO league_standing_snapshots (leagueId, matchday, userId, points, seasonPoints, `rank`) " +
+           "SELECT s.leagueId, :matchday, s.userId, s.points, " +
+           "       s.points + COALESCE((SELECT p.seasonPoints FROM league_standing_snapshots p WHERE p.leagueId = s.leagueId AND p.userId = s.userId AND p.matchday < :matchday ORDER BY p.matchday DESC LIMIT 1), " +
+           "                           (SELECT SUM(l.points) FROM league_player_match_points l WHERE l.leagueId = s.leagueId AND l.ownerUserId = s.userId AND l.matchday > 0 AND l.matchday < :matchday), 0), " +
+           "       0 " +
+           "FROM (SELECT st.leagueId AS leagueId, st.userId AS userId, " +
+           "             COALESCE((SELECT SUM(l.points) FROM league_player_match_points l WHERE l.leagueId = st.leagueId AND l.matchday = :matchday AND l.ownerUserId = st.userId), 0) AS points " +
+           "      FROM league_standings st) s")
+    void appendMatchday(int matchday);
+
+    /** Posiciones de la foto de una jornada por acumulado. */
+    @Query("UPDATE league_standing_snapshots SET `rank` = 1 + (SELECT COUNT(*) FROM league_standing_snapshots o " +
+           "WHERE o.leagueId = league_standing_snapshots.leagueId AND o.matchday = league_standing_snapshots.matchday " +
+           "AND o.seasonPoints > league_standing_snapshots.seasonPoints) " +
+           "WHERE matchday = :matchday")
+    void rankMatchday(int matchday);
+
+    /** Serie completa de una liga (para la evolución de posiciones), por jornada y manager. */
+    @Query("SELECT * FROM league_standing_snapshots WHERE leagueId = :leagueId ORDER BY matchday ASC, `rank` ASC")
+    LiveData<List<LeagueStandingSnapshot>> getByLeagueLive(long leagueId);
+
+    @Query("DELETE FROM league_standing_snapshots WHERE leagueId = :leagueId")
+    void deleteByLeague(long leagueId);
+}
@@ -19,25 +19,58 @@ public interface MarketDao {
     @Query("DELETE FROM MarketListing WHERE leagueId = :leagueId")
     void clearLeagueMarket(long leagueId);
 
-    @Query("SELECT * FROM MarketListing WHERE leagueId = :leagueId AND isSold = 0 ORDER BY listedAtMillis ASC")
+    @Query("SELECT * FROM MarketListing WHERE leagueId = :leagueId AND isSold = 0 AND staged = 0 ORDER BY listedAtMillis ASC")
     LiveData<List<MarketListing>> getLiveListings(long leagueId);
 
-    @Query("UPDATE MarketListing SET isSold = 1 WHERE leagueId = :leagueId AND playerId = :playerId AND isSold = 0")
+    @Query("UPDATE MarketListing SET isSold = 1 WHERE leagueId = :leagueId AND playerId = :playerId AND isSold = 0 AND staged = 0")
     void markSold(long leagueId, long playerId);
 
-    @Query("SELECT COUNT(*) FROM MarketListing WHERE leagueId = :leagueId AND isSold = 0")
+    @Query("SELECT COUNT(*) FROM MarketListing WHERE leagueId = :leagueId AND isSold = 0 AND staged = 0")
     int getActiveListingsCountSync(long leagueId);
 
-    // Proyección para el listado del mercado con puntos acumulados y nombre de equipo
-    @Query("SELECT p.playerId AS playerId, p.name AS name, p.position AS position, p.teamId AS teamId, p.currentPrice AS price, " +
-           "       COALESCE(t.name, p.teamName, '') AS teamDisplay, " +
-           "       COALESCE(SUM(h.points), p.totalPoints, 0) AS displayPoints " +
-           "FROM MarketListing ml " +
-           "JOIN players p ON p.playerId = ml.playerId " +
-           "LEFT JOIN teams t ON t.teamId = p.teamId " +
-           "LEFT JOIN PlayerMatchPoints h ON h.playerId = p.playerId " +
-           "WHERE ml.leagueId = :leagueId AND ml.isSold = 0 " +
-           "GROUP BY p.playerId " +
-           "ORDER BY p.currentPrice DESC")
+    /** Borra el mercado en curso de una liga (no el siguiente ya sorteado). */
+    @Query("DELETE FROM MarketListing WHERE leagueId = :leagueId AND staged = 0")
+    void clearCurrentMarket(long leagueId);
+
+    /** Ids del mercado en curso de una liga (para no repetirlos en el siguiente). */
+    @Query("SELECT playerId FROM MarketListing WHERE leagueId = :leagueId AND staged = 0")
+    List<Long> getCurrentPlayerIdsSync(long leagueId);
+
+    /** Caducidad del mercado siguiente ya sorteado de una liga (null si no hay). */
+    @Query("SELECT MAX(expiresAtMillis) FROM MarketListing WHERE leagueId = :leagueId AND staged = 1")
+    Long getStagedExpiresAtSync(long leagueId);
+
+    /** Quita del mercado siguiente los jugadores que se han comprado desde que se sorteó. */
+    @Query("DELETE FROM MarketListing WHERE leagueId = :leagueId AND staged = 1 " +
+           "AND playerId IN (SELECT playerId FROM LeaguePlayerOwnership WHERE leagueId = :leagueId)")
+    void dropOwnedStaged(long leagueId);
+
+    /** Activa el mercado siguiente de una liga. */
+    @Query("UPDATE MarketListing SET staged = 0 WHERE leagueId = :leagueId AND staged = 1")
+    void promoteStaged(long leagueId);
+
+    /** Copia en el listado los datos del jugador que pinta el mercado (un jugador sin fila conserva la anterior). */
+    String REFRESH_SNAPSHOT = "UPDATE MarketListing SET " +
+            "name = COALESCE((SELECT p.name FROM players p WHERE p.playerId = MarketListing.playerId), name), " +
+            "position = COALESCE((SELECT p.position FROM players p WHERE p.playerId = MarketListing.playerId), position), " +
+            "teamId = COALESCE((SELECT p.teamId FROM players p WHERE p.playerId = MarketListing.playerId), teamId), " +
+            "teamDisplay = COALESCE((SELECT COALESCE(t.name, p.teamName, '') FROM players p LEFT JOIN teams t ON t.teamId = p.teamId WHERE p.playerId = MarketListing.playerId), teamDisplay), " +
+            "price = COALESCE((SELECT p.currentPrice FROM players p WHERE p.playerId = MarketListing.playerId), price), " +
+            "displayPoints = COALESCE((SELECT SUM(h.points) FROM PlayerMatchPoints h WHERE h.playerId = MarketListing.playerId), " +
+            "                         (SELECT p.totalPoints FROM players p WHERE p.playerId = MarketListing.playerId), displayPoints) ";
+
+    /** Refresca la copia de los listados activos de una liga (al generar su mercado). */
+    @Query(REFRESH_SNAPSHOT + "WHERE leagueId = :leagueId AND isSold = 0")
+    void refreshSnapshot(long leagueId);
+
+    /** Refresca la copia de todos los listados activos o sorteados (tras sincronizar jugadores o recalcular puntos). */
+    @Query(REFRESH_SNAPSHOT + "WHERE isSold = 0")
+    void refreshActiveSnapshots();
+
+    // Listado del mercado: solo lee la copia guardada en MarketListing (sin joins ni GROUP BY)
+    @Query("SELECT playerId, name, position, teamId, price, teamDisplay, displayPoints " +
+           "FROM MarketListing " +
+           "WHERE leagueId = :leagueId AND isSold = 0 AND staged = 0 " +
+           "ORDER BY price DESC")
     LiveData<java.util.List<com.example.housemanager.database.pojo.MarketPlayerRow>> getMarketRows(long leagueId);
 }
@@ -18,10 +18,6 @@ public interface MatchDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insertAll(List<MatchEntity> matches);
 
-    /** Borra todos los partidos. */
-    @Query("DELETE FROM matches")
-    void deleteAll();
-
     /** Devuelve partidos en un rango de tiempo, orden ascendente por fecha. */
     @Query("SELECT * FROM matches WHERE utcDateMillis >= :fromMillis AND utcDateMillis <= :toMillis ORDER BY utcDateMillis ASC")
     LiveData<List<MatchEntity>> getMatchesInRange(long fromMillis, long toMillis);
@@ -46,6 +42,45 @@ public interface MatchDao {
     @Query("SELECT * FROM matches")
     List<MatchEntity> getAllSync();
 
+    /** Partido por id (clave primaria). */
+    @Query("SELECT * FROM matches WHERE matchId = :matchId LIMIT 1")
+    MatchEntity getByIdSync(long matchId);
+
+    /** Partidos por ids (máximo 999 por llamada). */
+    @Query("SELECT * FROM matches WHERE matchId IN (:matchIds)")
+    List<MatchEntity> getByIdsSync(List<Long> matchIds);
+
+    /** Partidos de una jornada (índice por matchday), orden ascendente por fecha. */
+    @Query("SELECT * FROM matches WHERE matchday = :matchday ORDER BY utcDateMillis ASC")
+    List<MatchEntity> getByMatchdaySync(int matchday);
+
+    /** true si queda algún partido FINISHED sin jornada (guardado antes de existir la columna). */
+    @Query("SELECT EXISTS(SELECT 1 FROM matches WHERE matchday = 0 AND UPPER(status) = 'FINISHED' LIMIT 1)")
+    boolean existsFinishedWithoutMatchday();
+
+    /** true si hay al menos un partido guardado. */
+    @Query("SELECT EXISTS(SELECT 1 FROM matches LIMIT 1)")
+    boolean existsAny();
+
+    /**
+     * Contenido relevante para puntuar cada partido FINISHED (estado, marcador, jornada, alineación y eventos,
+     * con la posición y el equipo de cada jugador; sin alineación, la plantilla de los dos equipos),
+     * ordenado de forma estable para poder calcular una huella y detectar cambios.
+     */
+    String FINISHED_FINGERPRINTS = "SELECT m.matchId AS matchId, " +
+            "       COALESCE(m.status, '') || '|' || COALESCE(m.homeScore, '') || '-' || COALESCE(m.awayScore, '') || '|' || m.matchday || '|' || m.homeTeamId || '-' || m.awayTeamId || '|' || " +
+            "       COALESCE((SELECT group_concat(x, ',') FROM (SELECT le.playerId || ':' || le.teamId || ':' || COALESCE(le.role, '') || ':' || COALESCE(p.position, '') || ':' || COALESCE(p.teamId, '') AS x " +
+            "                 FROM lineup_entries le LEFT JOIN players p ON p.playerId = le.playerId WHERE le.matchId = m.matchId ORDER BY x)), '') || '|' || " +
+            "       COALESCE((SELECT group_concat(y, ',') FROM (SELECT ev.playerId || ':' || COALESCE(ev.type, '') || ':' || COALESCE(p.position, '') || ':' || COALESCE(p.teamId, '') AS y " +
+            "                 FROM match_events ev LEFT JOIN players p ON p.playerId = ev.playerId WHERE ev.matchId = m.matchId ORDER BY y)), '') || '|' || " +
+            "       CASE WHEN EXISTS(SELECT 1 FROM lineup_entries le WHERE le.matchId = m.matchId) THEN '' " +
+            "            ELSE COALESCE((SELECT group_concat(z, ',') FROM (SELECT p.playerId || ':' || p.teamId AS z FROM players p " +
+            "                 WHERE p.teamId IN (m.homeTeamId, m.awayTeamId) ORDER BY z)), '') END AS content " +
+            "FROM matches m WHERE UPPER(m.status) = 'FINISHED'";
+
+    @Query(FINISHED_FINGERPRINTS)
+    List<com.example.housemanager.database.pojo.MatchFingerprintRow> getFinishedFingerprintsSync();
+
     /** Cuenta los partidos futuros (>= fromMillis) de forma síncrona. */
     @Query("SELECT COUNT(*) FROM matches WHERE utcDateMillis >= :fromMillis")
     int countUpcomingSync(long fromMillis);
@@ -0,0 +1,39 @@
+package com.example.housemanager.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.housemanager.database.entities.MatchScoringState;
+
+import java.util.List;
+
+/** Acceso a la tabla match_scoring_state (huellas de partidos ya puntuados). */
+@Dao
+public interface MatchScoringStateDao {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsert(MatchScoringState state);
+
+    @Query("SELECT * FROM match_scoring_state")
+    List<MatchScoringState> getAllSync();
+
+    @Query("SELECT COUNT(*) FROM match_scoring_state")
+    int countSync();
+
+    /** Partidos puntuados que siguen en matches pero ya no están FINISHED (sus puntos se retiran). */
+    @Query("SELECT s.matchId FROM match_scoring_state s JOIN matches m ON m.matchId = s.matchId " +
+           "WHERE COALESCE(UPPER(m.status), '') <> 'FINISHED'")
+    List<Long> getScoredNoLongerFinishedSync();
+
+    /** true si algún partido puntuado falta en matches (hay que volver a descargarlo). */
+    @Query("SELECT EXISTS(SELECT 1 FROM match_scoring_state s WHERE NOT EXISTS (SELECT 1 FROM matches m WHERE m.matchId = s.matchId) LIMIT 1)")
+    boolean existsScoredWithoutMatch();
+
+    @Query("DELETE FROM match_scoring_state WHERE matchId = :matchId")
+    void deleteByMatch(long matchId);
+
+    @Query("DELETE FROM match_scoring_state")
+    void clearAll();
+}
@@ -0,0 +1,27 @@
+package com.example.housemanager.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.housemanager.database.entities.MatchSyncState;
+
+import java.util.List;
+
+/** Acceso a la tabla match_sync_state (registro de descargas del detalle de partidos). */
+@Dao
+public interface MatchSyncStateDao {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsert(MatchSyncState state);
+
+    @Query("SELECT * FROM match_sync_state WHERE matchId = :matchId LIMIT 1")
+    MatchSyncState getSync(long matchId);
+
+    @Query("SELECT * FROM match_sync_state")
+    List<MatchSyncState> getAllSync();
+
+    @Query("DELETE FROM match_sync_state")
+    void clearAll();
+}
@@ -20,9 +20,12 @@ public interface OwnershipDao {
     @Query("SELECT playerId AS playerId, acquiredAtMillis AS acquiredAtMillis FROM LeaguePlayerOwnership WHERE leagueId = :leagueId AND ownerUserId = :userId")
     androidx.lifecycle.LiveData<java.util.List<com.example.housemanager.database.pojo.OwnershipTime>> getMyOwnershipTimes(long leagueId, long userId);
 
-    // Conteo por posición para una liga/usuario (sync)
-    @Query("SELECT p.position AS position, COUNT(*) AS count FROM players p JOIN LeaguePlayerOwnership o ON o.playerId = p.playerId WHERE o.leagueId = :leagueId AND o.ownerUserId = :userId GROUP BY p.position")
-    java.util.List<com.example.housemanager.database.pojo.PositionCount> getPositionCountsSync(long leagueId, long userId);
+    // Conteo por liga y posición de un usuario en una sola consulta (una fila con position null si no tiene jugadores)
+    @Query("SELECT l.id AS leagueId, p.position AS position, COUNT(p.playerId) AS count FROM leagues l " +
+           "LEFT JOIN LeaguePlayerOwnership o ON o.leagueId = l.id AND o.ownerUserId = :userId " +
+           "LEFT JOIN players p ON p.playerId = o.playerId " +
+           "GROUP BY l.id, p.position")
+    LiveData<List<com.example.housemanager.database.pojo.LeaguePositionCount>> getPositionCountsByLeagueLive(long userId);
 
     @Query("SELECT COUNT(*) FROM LeaguePlayerOwnership WHERE leagueId = :leagueId AND playerId = :playerId")
     int isOwnedInLeague(long leagueId, long playerId);
@@ -30,7 +33,7 @@ public interface OwnershipDao {
     @Query("SELECT playerId FROM LeaguePlayerOwnership WHERE leagueId = :leagueId AND ownerUserId = :ownerUserId")
     LiveData<List<Long>> getOwnedPlayerIdsLive(long leagueId, long ownerUserId);
 
-    // Lectura sincrónica: todas las propiedades para un jugador (para PlayerMatchPoints por liga)
+    // Lectura sincrónica: todas las propiedades para un jugador
     @Query("SELECT * FROM LeaguePlayerOwnership WHERE playerId = :playerId")
     List<LeaguePlayerOwnership> getOwnershipsForPlayerSync(int playerId);
 
@@ -46,34 +49,6 @@ public interface OwnershipDao {
     @Query("SELECT playerId FROM LeaguePlayerOwnership WHERE leagueId = :leagueId")
     List<Integer> getPlayerIdsOwnedByLeagueSync(long leagueId);
 
-    /**
-     * Clasificación por liga: suma de puntos de jugadores por propietario.
-     */
-    @Query("SELECT o.ownerUserId AS userId, SUM(p.totalPoints) AS totalPoints " +
-           "FROM LeaguePlayerOwnership o JOIN players p ON p.playerId = o.playerId " +
-           "WHERE o.leagueId = :leagueId " +
-           "GROUP BY o.ownerUserId " +
-           "ORDER BY totalPoints DESC")
-    LiveData<List<com.example.housemanager.database.pojo.ManagerScoreRow>> getLeagueClassification(long leagueId);
-
-    /** Clasificación esta jornada (aplica x2 al capitán). */
-    @Query("SELECT o.ownerUserId AS userId, SUM(CASE WHEN pmp.playerId = c.captainPlayerId THEN pmp.points * 2 ELSE pmp.points END) AS totalPoints " +
-           "FROM LeaguePlayerOwnership o " +
-           "JOIN PlayerMatchPoints pmp ON pmp.playerId = o.playerId " +
-           "LEFT JOIN Captains c ON c.leagueId = o.leagueId AND c.ownerUserId = o.ownerUserId " +
-           "WHERE o.leagueId = :leagueId AND pmp.matchday = :matchday " +
-           "GROUP BY o.ownerUserId " +
-           "ORDER BY totalPoints DESC")
-    LiveData<List<com.example.housemanager.database.pojo.ManagerScoreRow>> getLeagueClassificationThisMatchday(long leagueId, int matchday);
-
-    /** Clasificación temporada (aplica x2 al capitán sobre el total del capitán). */
-    @Query("SELECT o.ownerUserId AS userId, (SUM(p.totalPoints) + COALESCE((SELECT p2.totalPoints FROM players p2, Captains c2 WHERE c2.leagueId = :leagueId AND c2.ownerUserId = o.ownerUserId AND p2.playerId = c2.captainPlayerId LIMIT 1), 0)) AS totalPoints " +
-           "FROM LeaguePlayerOwnership o JOIN players p ON p.playerId = o.playerId " +
-           "WHERE o.leagueId = :leagueId " +
-           "GROUP BY o.ownerUserId " +
-           "ORDER BY totalPoints DESC")
-    LiveData<List<com.example.housemanager.database.pojo.ManagerScoreRow>> getLeagueClassificationSeason(long leagueId);
-
     @Query("DELETE FROM LeaguePlayerOwnership WHERE leagueId = :leagueId")
     void deleteByLeague(long leagueId);
 }
@@ -1,6 +1,7 @@
 package com.example.housemanager.database.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
@@ -28,8 +29,8 @@ public interface PlayerDao {
     long[] insertIgnore(List<PlayerEntity> players);
 
     /** Actualiza SOLO campos de ficha sin tocar totalPoints ni available. */
-    @Query("UPDATE players SET name=:name, teamId=:teamId, teamName=:teamName, position=:position, nationality=:nationality, currentPrice=:currentPrice, updatedAt=:updatedAt WHERE playerId=:playerId")
-    void updateFromApiWithoutPoints(long playerId, String name, int teamId, String teamName, String position, String nationality, int currentPrice, long updatedAt);
+    @Query("UPDATE players SET name=:name, teamId=:teamId, teamName=:teamName, searchText=:searchText, position=:position, nationality=:nationality, currentPrice=:currentPrice, updatedAt=:updatedAt WHERE playerId=:playerId")
+    void updateFromApiWithoutPoints(long playerId, String name, int teamId, String teamName, String searchText, String position, String nationality, int currentPrice, long updatedAt);
 
     /** Actualiza un jugador. */
     @Update
@@ -39,9 +40,13 @@ public interface PlayerDao {
     @Query("DELETE FROM players")
     void deleteAllPlayers();
 
-    /** Devuelve todos los jugadores para la UI. */
+    /** Catálogo completo por páginas (Paging 3), ordenado por nombre. */
     @Query("SELECT * FROM players ORDER BY name ASC")
-    LiveData<List<PlayerEntity>> getAllPlayerEntities();
+    PagingSource<Integer, PlayerEntity> pageAll();
+
+    /** Catálogo de una posición por páginas, ordenado por puntos. */
+    @Query("SELECT * FROM players WHERE position = :position ORDER BY totalPoints DESC, name ASC")
+    PagingSource<Integer, PlayerEntity> pageByPosition(String position);
 
     /** Devuelve la plantilla de un equipo. */
     @Query("SELECT * FROM players WHERE teamId = :teamId ORDER BY name ASC")
@@ -51,32 +56,17 @@ public interface PlayerDao {
     @Query("SELECT COUNT(*) FROM players WHERE available = 1")
     LiveData<Integer> getAvailablePlayersCount();
 
-    /** Búsqueda por nombre o equipo, solo disponibles. */
-    @Query("SELECT * FROM players WHERE " +
-            "available = 1 AND " +
-            "(name LIKE '%' || :searchTerm || '%' OR teamName LIKE '%' || :searchTerm || '%') " +
-            "ORDER BY name ASC")
-    LiveData<List<PlayerEntity>> searchAvailablePlayers(String searchTerm);
-
-    /** Filtro por posición y término, solo disponibles. */
-    @Query("SELECT * FROM players WHERE " +
-            "available = 1 AND position = :position AND " +
-            "(name LIKE '%' || :searchTerm || '%' OR teamName LIKE '%' || :searchTerm || '%') " +
-            "ORDER BY name ASC")
-    LiveData<List<PlayerEntity>> searchPlayersByPositionAndTerm(String position, String searchTerm);
-
-    /** Listados por posición, ordenados por puntos. */
-    @Query("SELECT * FROM players WHERE position = 'Portero' AND available = 1 ORDER BY totalPoints DESC")
-    LiveData<List<PlayerEntity>> getAvailablePorteros();
-
-    @Query("SELECT * FROM players WHERE position = 'Defensa' AND available = 1 ORDER BY totalPoints DESC")
-    LiveData<List<PlayerEntity>> getAvailableDefensas();
-
-    @Query("SELECT * FROM players WHERE position = 'Medio' AND available = 1 ORDER BY totalPoints DESC")
-    LiveData<List<PlayerEntity>> getAvailableMedios();
+    /** Búsqueda por nombre o equipo en players_fts, por páginas. ftsQuery viene de PlayerSearch.ftsQuery. */
+    @Query("SELECT p.* FROM players p JOIN players_fts ON players_fts.rowid = p.playerId " +
+            "WHERE players_fts MATCH :ftsQuery " +
+            "ORDER BY p.name ASC")
+    PagingSource<Integer, PlayerEntity> pageSearch(String ftsQuery);
 
-    @Query("SELECT * FROM players WHERE position = 'Delantero' AND available = 1 ORDER BY totalPoints DESC")
-    LiveData<List<PlayerEntity>> getAvailableDelanteros();
+    /** Búsqueda por término (players_fts) dentro de una posición, por páginas. */
+    @Query("SELECT p.* FROM players p JOIN players_fts ON players_fts.rowid = p.playerId " +
+            "WHERE players_fts MATCH :ftsQuery AND p.position = :position " +
+            "ORDER BY p.name ASC")
+    PagingSource<Integer, PlayerEntity> pageSearchByPosition(String position, String ftsQuery);
 
     /** Devuelve 10 jugadores aleatorios disponibles para el mercado (legacy). */
     @Query("SELECT * FROM players WHERE available = 1 ORDER BY RANDOM() LIMIT 10")
@@ -98,10 +88,6 @@ public interface PlayerDao {
     @Query("UPDATE players SET available = 1 WHERE playerId IN (:ids)")
     void markAvailableInIds(java.util.List<Integer> ids);
 
-    /** Obtener IDs aleatorios de jugadores (sync). */
-    @Query("SELECT playerId FROM players ORDER BY RANDOM() LIMIT :limit")
-    java.util.List<Integer> getRandomPlayerIdsSync(int limit);
-
     /** Mercado: 10 jugadores aleatorios disponibles (LiveData). */
     @Query("SELECT * FROM players WHERE available = 1 ORDER BY RANDOM() LIMIT 10")
     LiveData<List<PlayerEntity>> getMarketRandom10();
@@ -114,9 +100,9 @@ public interface PlayerDao {
     @Query("SELECT COUNT(*) FROM players")
     int getPlayersCountSync();
 
-    /** Jugadores no poseídos en una liga concreta (consulta síncrona). */
-    @Query("SELECT p.* FROM players p WHERE NOT EXISTS (SELECT 1 FROM LeaguePlayerOwnership o WHERE o.leagueId = :leagueId AND o.playerId = p.playerId)")
-    List<com.example.housemanager.database.entities.PlayerEntity> getAllNotOwnedSync(long leagueId);
+    /** Todos los ids de jugadores (para la caché de muestreo aleatorio del mercado). */
+    @Query("SELECT playerId FROM players")
+    java.util.List<Integer> getAllIdsSync();
 
     /** Marca un jugador como comprado (no disponible). */
     @Query("UPDATE players SET available = 0 WHERE playerId = :playerId")
@@ -134,6 +120,10 @@ public interface PlayerDao {
     @Query("SELECT * FROM players WHERE playerId IN (:ids)")
     java.util.List<PlayerEntity> getByIdsSync(java.util.List<Integer> ids);
 
+    /** De los ids dados, devuelve los que ya existen (sin cargar las filas). */
+    @Query("SELECT playerId FROM players WHERE playerId IN (:ids)")
+    java.util.List<Integer> getExistingIdsSync(java.util.List<Integer> ids);
+
     /** Obtiene jugadores de un equipo (sync). */
     @Query("SELECT * FROM players WHERE teamId = :teamId")
     java.util.List<PlayerEntity> getByTeamSync(int teamId);
@@ -150,6 +140,21 @@ public interface PlayerDao {
     @Query("UPDATE players SET totalPoints = :total WHERE playerId = :playerId")
     void updateTotalPoints(int playerId, int total);
 
+    /** UPDATE de rebuildTotalPointsFromMatchPoints (constante para poder probarlo fuera de Room). */
+    String REBUILD_TOTAL_POINTS = "UPDATE players SET totalPoints = " +
+            "COALESCE((SELECT SUM(pmp.points) FROM PlayerMatchPoints pmp WHERE pmp.playerId = players.playerId), 0)";
+
+    /**
+     * Reconstruye en una sola sentencia players.totalPoints = SUM(PlayerMatchPoints.points) para todos los
+     * jugadores; los que ya no tienen filas quedan a 0 (usa el índice de PlayerMatchPoints.playerId).
+     */
+    @Query(REBUILD_TOTAL_POINTS)
+    int rebuildTotalPointsFromMatchPoints();
+
+    /** Ajusta el total de puntos de un jugador sumando una diferencia (recálculo incremental). */
+    @Query("UPDATE players SET totalPoints = totalPoints + :delta WHERE playerId = :playerId")
+    void addToTotalPoints(int playerId, int delta);
+
     /** Overload por si se llama con long. */
     @Query("UPDATE players SET totalPoints = :total WHERE playerId = :playerId")
     void updateTotalPoints(long playerId, int total);
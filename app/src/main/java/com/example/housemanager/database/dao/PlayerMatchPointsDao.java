@@ -21,6 +21,9 @@ public interface PlayerMatchPointsDao {
     @Query("DELETE FROM PlayerMatchPoints")
     void clearAll();
 
+    @Query("DELETE FROM PlayerMatchPoints WHERE matchId = :matchId")
+    void deleteByMatch(long matchId);
+
     @Query("SELECT DISTINCT matchday FROM PlayerMatchPoints ORDER BY matchday ASC")
     List<Integer> getRecordedMatchdays();
 
@@ -6,12 +6,17 @@ import androidx.room.Query;
 
 import com.example.housemanager.database.entities.PlayerPointsHistoryEntity;
 
+import java.util.List;
+
 @Dao
 public interface PlayerPointsHistoryDao {
 
     @Insert
     void insert(PlayerPointsHistoryEntity e);
 
+    @Insert
+    void insertAll(List<PlayerPointsHistoryEntity> rows);
+
     @Query("DELETE FROM player_points_history WHERE matchId=:matchId")
     void clearByMatch(long matchId);
 
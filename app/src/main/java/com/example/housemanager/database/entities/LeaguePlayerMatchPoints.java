@@ -0,0 +1,58 @@
+package com.example.housemanager.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * Puntos de un jugador en un partido dentro de una liga, ya con el x2 del capitán de su propietario.
+ * PK compuesta: (leagueId, matchId, playerId). Los puntos base de cada jugador están en PlayerMatchPoints.
+ */
+@Entity(
+        tableName = "league_player_match_points",
+        primaryKeys = {"leagueId", "matchId", "playerId"},
+        indices = {
+                // Cubren la clasificación por jornada y el histórico de un jugador sin leer la tabla
+                @Index(value = {"leagueId", "matchday", "ownerUserId", "points"}),
+                @Index(value = {"leagueId", "playerId", "points"}),
+                @Index(value = {"matchId"})
+        }
+)
+public class LeaguePlayerMatchPoints {
+
+    @ColumnInfo(name = "leagueId")
+    private long leagueId;
+
+    @ColumnInfo(name = "matchId")
+    private long matchId;
+
+    @ColumnInfo(name = "playerId")
+    private int playerId;
+
+    @ColumnInfo(name = "ownerUserId")
+    private long ownerUserId;
+
+    @ColumnInfo(name = "matchday")
+    private int matchday;
+
+    @ColumnInfo(name = "points")
+    private int points;
+
+    public long getLeagueId() { return leagueId; }
+    public void setLeagueId(long leagueId) { this.leagueId = leagueId; }
+
+    public long getMatchId() { return matchId; }
+    public void setMatchId(long matchId) { this.matchId = matchId; }
+
+    public int getPlayerId() { return playerId; }
+    public void setPlayerId(int playerId) { this.playerId = playerId; }
+
+    public long getOwnerUserId() { return ownerUserId; }
+    public void setOwnerUserId(long ownerUserId) { this.ownerUserId = ownerUserId; }
+
+    public int getMatchday() { return matchday; }
+    public void setMatchday(int matchday) { this.matchday = matchday; }
+
+    public int getPoints() { return points; }
+    public void setPoints(int points) { this.points = points; }
+}
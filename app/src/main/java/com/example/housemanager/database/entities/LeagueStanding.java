@@ -0,0 +1,58 @@
+package com.example.housemanager.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * Clasificación materializada de una liga: una fila por manager con sus puntos de temporada y de la
+ * última jornada puntuada (con el capitán x2). Se mantiene al puntuar y al cambiar propiedad o capitán.
+ * PK compuesta: (leagueId, userId)
+ */
+@Entity(
+        tableName = "league_standings",
+        primaryKeys = {"leagueId", "userId"},
+        indices = {
+                @Index(value = {"leagueId", "rank"})
+        }
+)
+public class LeagueStanding {
+
+    @ColumnInfo(name = "leagueId")
+    private long leagueId;
+
+    @ColumnInfo(name = "userId")
+    private long userId;
+
+    @ColumnInfo(name = "seasonPoints")
+    private int seasonPoints;
+
+    // Última jornada con puntos en la liga (0 si aún no hay ninguna)
+    @ColumnInfo(name = "matchday")
+    private int matchday;
+
+    @ColumnInfo(name = "matchdayPoints")
+    private int matchdayPoints;
+
+    // Posición por puntos de temporada (1 = primero; empates comparten posición)
+    @ColumnInfo(name = "rank")
+    private int rank;
+
+    public long getLeagueId() { return leagueId; }
+    public void setLeagueId(long leagueId) { this.leagueId = leagueId; }
+
+    public long getUserId() { return userId; }
+    public void setUserId(long userId) { this.userId = userId; }
+
+    public int getSeasonPoints() { return seasonPoints; }
+    public void setSeasonPoints(int seasonPoints) { this.seasonPoints = seasonPoints; }
+
+    public int getMatchday() { return matchday; }
+    public void setMatchday(int matchday) { this.matchday = matchday; }
+
+    public int getMatchdayPoints() { return matchdayPoints; }
+    public void setMatchdayPoints(int matchdayPoints) { this.matchdayPoints = matchdayPoints; }
+
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+}
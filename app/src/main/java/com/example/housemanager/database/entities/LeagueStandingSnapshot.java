@@ -0,0 +1,57 @@
+package com.example.housemanager.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * Foto de la clasificación de una liga al completarse una jornada (solo se añaden, nunca se recalculan).
+ * PK compuesta: (leagueId, matchday, userId)
+ */
+@Entity(
+        tableName = "league_standing_snapshots",
+        primaryKeys = {"leagueId", "matchday", "userId"},
+        indices = {
+                @Index(value = {"leagueId", "userId", "matchday"})
+        }
+)
+public class LeagueStandingSnapshot {
+
+    @ColumnInfo(name = "leagueId")
+    private long leagueId;
+
+    @ColumnInfo(name = "matchday")
+    private int matchday;
+
+    @ColumnInfo(name = "userId")
+    private long userId;
+
+    // Puntos de la jornada
+    @ColumnInfo(name = "points")
+    private int points;
+
+    // Puntos acumulados hasta esta jornada (incluida)
+    @ColumnInfo(name = "seasonPoints")
+    private int seasonPoints;
+
+    @ColumnInfo(name = "rank")
+    private int rank;
+
+    public long getLeagueId() { return leagueId; }
+    public void setLeagueId(long leagueId) { this.leagueId = leagueId; }
+
+    public int getMatchday() { return matchday; }
+    public void setMatchday(int matchday) { this.matchday = matchday; }
+
+    public long getUserId() { return userId; }
+    public void setUserId(long userId) { this.userId = userId; }
+
+    public int getPoints() { return points; }
+    public void setPoints(int points) { this.points = points; }
+
+    public int getSeasonPoints() { return seasonPoints; }
+    public void setSeasonPoints(int seasonPoints) { this.seasonPoints = seasonPoints; }
+
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+}
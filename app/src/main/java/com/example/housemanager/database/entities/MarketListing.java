@@ -1,11 +1,13 @@
 package com.example.housemanager.database.entities;
 
+import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Index;
 
 /**
- * Listado de mercado por liga para un jugador.
+ * Listado de mercado por liga para un jugador, con una copia de lo que muestra la pantalla
+ * (nombre, equipo, precio y puntos) que refrescan el mercado, la sincronización y el recálculo.
  * PK compuesta: (leagueId, playerId)
  */
 @Entity(
@@ -33,6 +35,32 @@ public class MarketListing {
     @ColumnInfo(name = "isSold")
     private boolean isSold;
 
+    // Mercado siguiente ya sorteado que se activa al caducar el actual (no se muestra hasta entonces)
+    @ColumnInfo(name = "staged")
+    private boolean staged;
+
+    // Copia para pintar el mercado sin joins ni agregados
+    @NonNull
+    @ColumnInfo(name = "name")
+    private String name = "";
+
+    @NonNull
+    @ColumnInfo(name = "position")
+    private String position = "";
+
+    @ColumnInfo(name = "teamId")
+    private int teamId;
+
+    @NonNull
+    @ColumnInfo(name = "teamDisplay")
+    private String teamDisplay = "";
+
+    @ColumnInfo(name = "price")
+    private int price;
+
+    @ColumnInfo(name = "displayPoints")
+    private int displayPoints;
+
     public long getLeagueId() { return leagueId; }
     public void setLeagueId(long leagueId) { this.leagueId = leagueId; }
 
@@ -47,4 +75,28 @@ public class MarketListing {
 
     public boolean isSold() { return isSold; }
     public void setSold(boolean sold) { isSold = sold; }
+
+    public boolean isStaged() { return staged; }
+    public void setStaged(boolean staged) { this.staged = staged; }
+
+    @NonNull
+    public String getName() { return name; }
+    public void setName(@NonNull String name) { this.name = name; }
+
+    @NonNull
+    public String getPosition() { return position; }
+    public void setPosition(@NonNull String position) { this.position = position; }
+
+    public int getTeamId() { return teamId; }
+    public void setTeamId(int teamId) { this.teamId = teamId; }
+
+    @NonNull
+    public String getTeamDisplay() { return teamDisplay; }
+    public void setTeamDisplay(@NonNull String teamDisplay) { this.teamDisplay = teamDisplay; }
+
+    public int getPrice() { return price; }
+    public void setPrice(int price) { this.price = price; }
+
+    public int getDisplayPoints() { return displayPoints; }
+    public void setDisplayPoints(int displayPoints) { this.displayPoints = displayPoints; }
 }
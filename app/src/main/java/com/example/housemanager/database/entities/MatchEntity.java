@@ -13,7 +13,8 @@ import androidx.room.PrimaryKey;
         tableName = "matches",
         indices = {
                 @Index(value = {"utcDateMillis"}),
-                @Index(value = {"homeTeamId", "awayTeamId"})
+                @Index(value = {"homeTeamId", "awayTeamId"}),
+                @Index(value = {"matchday"})
         }
 )
 public class MatchEntity {
@@ -41,6 +42,10 @@ public class MatchEntity {
     @ColumnInfo(name = "status")
     private String status;
 
+    // Jornada de liga (0 si la API no la informa)
+    @ColumnInfo(name = "matchday")
+    private int matchday;
+
     // Nulos si no jugado
     @Nullable
     @ColumnInfo(name = "homeScore")
@@ -72,6 +77,9 @@ public class MatchEntity {
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
+    public int getMatchday() { return matchday; }
+    public void setMatchday(int matchday) { this.matchday = matchday; }
+
     @Nullable
     public Integer getHomeScore() { return homeScore; }
     public void setHomeScore(@Nullable Integer homeScore) { this.homeScore = homeScore; }
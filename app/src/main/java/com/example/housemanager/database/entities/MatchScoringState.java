@@ -0,0 +1,32 @@
+package com.example.housemanager.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Huella del contenido (marcador, estado, alineación y eventos) con la que se puntuó un partido.
+ * Permite recalcular solo los partidos cuyo contenido ha cambiado.
+ */
+@Entity(tableName = "match_scoring_state")
+public class MatchScoringState {
+
+    @PrimaryKey
+    @ColumnInfo(name = "matchId")
+    private long matchId;
+
+    @ColumnInfo(name = "fingerprint")
+    private long fingerprint;
+
+    @ColumnInfo(name = "scoredAtMillis")
+    private long scoredAtMillis;
+
+    public long getMatchId() { return matchId; }
+    public void setMatchId(long matchId) { this.matchId = matchId; }
+
+    public long getFingerprint() { return fingerprint; }
+    public void setFingerprint(long fingerprint) { this.fingerprint = fingerprint; }
+
+    public long getScoredAtMillis() { return scoredAtMillis; }
+    public void setScoredAtMillis(long scoredAtMillis) { this.scoredAtMillis = scoredAtMillis; }
+}
@@ -0,0 +1,49 @@
+package com.example.housemanager.database.entities;
+
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Registro de sincronización del detalle de un partido: estado con el que se descargó, cuándo y
+ * huella del contenido (alineaciones y eventos). Un partido FINISHED con detalle completo ya no
+ * se vuelve a pedir a la API.
+ */
+@Entity(tableName = "match_sync_state")
+public class MatchSyncState {
+
+    @PrimaryKey
+    @ColumnInfo(name = "matchId")
+    private long matchId;
+
+    @Nullable
+    @ColumnInfo(name = "status")
+    private String status;
+
+    @ColumnInfo(name = "detailFetchedAtMillis")
+    private long detailFetchedAtMillis;
+
+    @ColumnInfo(name = "contentHash")
+    private long contentHash;
+
+    /** true cuando el detalle es definitivo (partido terminado y pasado el margen de correcciones). */
+    @ColumnInfo(name = "complete")
+    private boolean complete;
+
+    public long getMatchId() { return matchId; }
+    public void setMatchId(long matchId) { this.matchId = matchId; }
+
+    @Nullable
+    public String getStatus() { return status; }
+    public void setStatus(@Nullable String status) { this.status = status; }
+
+    public long getDetailFetchedAtMillis() { return detailFetchedAtMillis; }
+    public void setDetailFetchedAtMillis(long detailFetchedAtMillis) { this.detailFetchedAtMillis = detailFetchedAtMillis; }
+
+    public long getContentHash() { return contentHash; }
+    public void setContentHash(long contentHash) { this.contentHash = contentHash; }
+
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+}
@@ -3,9 +3,19 @@ package com.example.housemanager.database.entities;
 import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "players")
+import com.example.housemanager.util.PlayerSearch;
+
+@Entity(
+        tableName = "players",
+        indices = {
+            // Orden del catálogo paginado y de las listas por posición (LIMIT/OFFSET sin ordenar toda la tabla)
+            @Index(value = {"name"}),
+            @Index(value = {"position", "totalPoints"})
+        }
+)
 public class PlayerEntity {
     // Nota: la propiedad de jugador no se determina por campos globales como 'available' o 'isOwned'.
     // En producción, la propiedad es por liga y se almacena en LeaguePlayerOwnership.
@@ -45,6 +55,11 @@ public class PlayerEntity {
     @ColumnInfo(name = "updatedAt")
     private long updatedAt;
 
+    // Nombre y equipo normalizados (PlayerSearch.fold): lo que indexa players_fts. Se calcula al leerlo
+    @NonNull
+    @ColumnInfo(name = "searchText")
+    private String searchText = "";
+
     public PlayerEntity() {
     }
 
@@ -59,16 +74,21 @@ public class PlayerEntity {
     public int getTotalPoints() { return totalPoints; }
     public boolean isAvailable() { return available; }
     public long getUpdatedAt() { return updatedAt; }
+    @NonNull public String getSearchText() {
+        if (searchText.isEmpty()) searchText = PlayerSearch.fold(name + " " + teamName);
+        return searchText;
+    }
 
     //  SETTERS
     public void setPlayerId(int playerId) { this.playerId = playerId; }
-    public void setName(@NonNull String name) { this.name = name; }
+    public void setName(@NonNull String name) { this.name = name; this.searchText = ""; }
     public void setTeamId(int teamId) { this.teamId = teamId; }
-    public void setTeamName(@NonNull String teamName) { this.teamName = teamName; }
+    public void setTeamName(@NonNull String teamName) { this.teamName = teamName; this.searchText = ""; }
     public void setNationality(@NonNull String nationality) { this.nationality = nationality; }
     public void setPosition(@NonNull String position) { this.position = position; }
     public void setCurrentPrice(int currentPrice) { this.currentPrice = currentPrice; }
     public void setTotalPoints(int totalPoints) { this.totalPoints = totalPoints; }
     public void setAvailable(boolean available) { this.available = available; }
     public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+    public void setSearchText(@NonNull String searchText) { this.searchText = searchText; }
 }
@@ -0,0 +1,26 @@
+package com.example.housemanager.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * Índice de texto completo (FTS4) sobre players.searchText (nombre y equipo ya normalizados por
+ * PlayerSearch.fold), para buscar por prefijo sin recorrer la tabla: "sorloth" encuentra "Sørloth".
+ * Tabla de contenido externo: Room la mantiene al día con triggers sobre players; rowid = playerId.
+ */
+@Fts4(contentEntity = PlayerEntity.class,
+        tokenizer = FtsOptions.TOKENIZER_UNICODE61,
+        tokenizerArgs = {"remove_diacritics=1"})
+@Entity(tableName = "players_fts")
+public class PlayerFts {
+
+    @NonNull
+    @ColumnInfo(name = "searchText")
+    private String searchText = "";
+
+    @NonNull public String getSearchText() { return searchText; }
+    public void setSearchText(@NonNull String searchText) { this.searchText = searchText; }
+}
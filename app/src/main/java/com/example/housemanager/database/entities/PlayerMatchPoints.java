@@ -4,7 +4,7 @@ import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Index;
 
-/** Puntos de un jugador en un partido concreto (por jornada). */
+/** Puntos base de un jugador en un partido concreto (por jornada, sin capitán ni liga). */
 @Entity(
         tableName = "PlayerMatchPoints",
         primaryKeys = {"matchId", "playerId"},
@@ -0,0 +1,10 @@
+package com.example.housemanager.database.pojo;
+
+/**
+ * Proyección de jugadores por liga y posición de un usuario (position null y count 0 si no tiene ninguno).
+ */
+public class LeaguePositionCount {
+    public long leagueId;
+    public String position;
+    public int count;
+}
@@ -0,0 +1,10 @@
+package com.example.housemanager.database.pojo;
+
+/**
+ * Proyección con el contenido relevante para puntuar un partido (marcador, estado,
+ * alineación, eventos y los datos de jugador que usa la puntuación) concatenado en una cadena estable.
+ */
+public class MatchFingerprintRow {
+    public long matchId;
+    public String content;
+}
@@ -1,9 +0,0 @@
-package com.example.housemanager.database.pojo;
-
-/**
- * Proyección simple para contar jugadores por posición en una liga/usuario.
- */
-public class PositionCount {
-    public String position;
-    public int count;
-}
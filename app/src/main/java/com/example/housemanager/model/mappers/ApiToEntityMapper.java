@@ -74,6 +74,7 @@ public final class ApiToEntityMapper {
                 }
                 e.setUtcDateMillis(millis);
                 e.setStatus(m.getStatus());
+                e.setMatchday(m.getMatchday() != null ? m.getMatchday() : 0);
                 Integer home = null;
                 Integer away = null;
                 ScoreAPI score = m.getScore();
@@ -0,0 +1,433 @@
+package com.example.housemanager.model.mappers;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.housemanager.database.entities.LineupEntryEntity;
+import com.example.housemanager.database.entities.MatchEntity;
+import com.example.housemanager.database.entities.MatchEventEntity;
+import com.example.housemanager.database.entities.PlayerEntity;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lectura en streaming (JsonReader) de las respuestas pesadas de la API directamente a entidades
+ * de Room, sin pasar por los DTO de api.models. Misma lógica de mapeo que ApiToEntityMapper y que
+ * la ingesta de detalles de FootballRepository.
+ */
+public final class JsonStreamMapper {
+    private static final String TAG = "JsonStreamMapper";
+
+    private JsonStreamMapper() {}
+
+    /** Recibe un lote de entidades. La lista se reutiliza entre lotes: no guardarla. */
+    public interface BatchSink<T> {
+        void accept(List<T> batch);
+    }
+
+    /** Alineaciones y eventos de un partido, más los nombres de jugadores que aparecen en goles/tarjetas. */
+    public static final class MatchDetailEntities {
+        public final List<LineupEntryEntity> lineup = new ArrayList<>();
+        public final List<MatchEventEntity> events = new ArrayList<>();
+        public final Map<Integer, String> eventPlayerNames = new LinkedHashMap<>();
+    }
+
+    /**
+     * Lee {"matches":[...]} y entrega los partidos en lotes de batchSize.
+     * Devuelve el número de partidos leídos.
+     */
+    public static int readMatches(Reader in, int batchSize, BatchSink<MatchEntity> sink) throws IOException {
+        List<MatchEntity> batch = new ArrayList<>(batchSize);
+        int count = 0;
+        try (JsonReader reader = new JsonReader(in)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"matches".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    MatchEntity m = readMatch(reader);
+                    if (m == null) continue;
+                    batch.add(m);
+                    count++;
+                    if (batch.size() >= batchSize) {
+                        sink.accept(batch);
+                        batch.clear();
+                    }
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+        if (!batch.isEmpty()) sink.accept(batch);
+        return count;
+    }
+
+    /** Lee la plantilla ({"squad":[...]}) de un equipo ya conocido. */
+    public static List<PlayerEntity> readSquad(Reader in, int teamId, @Nullable String teamName) throws IOException {
+        List<PlayerEntity> out = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        try (JsonReader reader = new JsonReader(in)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"squad".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    int id = 0;
+                    String name = null, position = null, nationality = null;
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        switch (reader.nextName()) {
+                            case "id": id = nextInt(reader, 0); break;
+                            case "name": name = nextString(reader); break;
+                            case "position": position = nextString(reader); break;
+                            case "nationality": nationality = nextString(reader); break;
+                            default: reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    if (id == 0) continue;
+
+                    PlayerEntity e = new PlayerEntity();
+                    e.setPlayerId(id);
+                    e.setName(name != null ? name : "Jugador");
+                    e.setTeamId(teamId);
+                    e.setTeamName(teamName != null ? teamName : "");
+                    e.setPosition(ApiToEntityMapper.translatePositionToSpanish(position));
+                    e.setNationality(nationality != null ? nationality : "España");
+                    e.setCurrentPrice(ApiToEntityMapper.calculatePlayerPrice(e.getPosition()));
+                    // No tocar totalPoints aquí: evitar sobrescribir puntos persistidos.
+                    e.setAvailable(true);
+                    e.setUpdatedAt(now);
+                    out.add(e);
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+        return out;
+    }
+
+    /**
+     * Lee el detalle de un partido (alineaciones, goals/bookings y, si faltan ambos, events[]).
+     * Los equipos de la alineación se toman del partido ya guardado.
+     */
+    public static MatchDetailEntities readMatchDetail(Reader in, MatchEntity m) throws IOException {
+        MatchDetailEntities out = new MatchDetailEntities();
+        List<MatchEventEntity> goals = new ArrayList<>();
+        List<MatchEventEntity> bookings = new ArrayList<>();
+        List<MatchEventEntity> generic = new ArrayList<>();
+        boolean anyGoal = false, anyBooking = false;
+        try (JsonReader reader = new JsonReader(in)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "homeTeamLineup":
+                        readLineup(reader, m.getMatchId(), (int) m.getHomeTeamId(), out.lineup);
+                        break;
+                    case "awayTeamLineup":
+                        readLineup(reader, m.getMatchId(), (int) m.getAwayTeamId(), out.lineup);
+                        break;
+                    case "goals":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            anyGoal = true;
+                            readGoal(reader, m.getMatchId(), goals, out.eventPlayerNames);
+                        }
+                        reader.endArray();
+                        break;
+                    case "bookings":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            anyBooking = true;
+                            readBooking(reader, m.getMatchId(), bookings, out.eventPlayerNames);
+                        }
+                        reader.endArray();
+                        break;
+                    case "events":
+                        reader.beginArray();
+                        while (reader.hasNext()) readGenericEvent(reader, m.getMatchId(), generic);
+                        reader.endArray();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        out.events.addAll(goals);
+        out.events.addAll(bookings);
+        // Fallback genérico si no tenemos arrays específicos
+        if (!anyGoal && !anyBooking) out.events.addAll(generic);
+        return out;
+    }
+
+    @Nullable
+    private static MatchEntity readMatch(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        MatchEntity e = new MatchEntity();
+        String utc = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id": e.setMatchId(reader.nextLong()); break;
+                case "utcDate": utc = reader.nextString(); break;
+                case "status": e.setStatus(reader.nextString()); break;
+                case "matchday": e.setMatchday(nextInt(reader, 0)); break;
+                case "homeTeam":
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String f = reader.nextName();
+                        if ("id".equals(f)) e.setHomeTeamId(nextLong(reader, 0L));
+                        else if ("name".equals(f)) e.setHomeTeamName(nextString(reader));
+                        else reader.skipValue();
+                    }
+                    reader.endObject();
+                    break;
+                case "awayTeam":
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String f = reader.nextName();
+                        if ("id".equals(f)) e.setAwayTeamId(nextLong(reader, 0L));
+                        else if ("name".equals(f)) e.setAwayTeamName(nextString(reader));
+                        else reader.skipValue();
+                    }
+                    reader.endObject();
+                    break;
+                case "score":
+                    readFullTime(reader, e);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        long millis = ApiToEntityMapper.parseIsoToMillis(utc);
+        if (utc != null && !utc.isEmpty() && millis <= 0L) {
+            Log.w(TAG, "utcDate inválido: " + utc);
+        }
+        e.setUtcDateMillis(Math.max(0L, millis));
+        return e;
+    }
+
+    /** score.fullTime.{home,away} */
+    private static void readFullTime(JsonReader reader, MatchEntity e) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"fullTime".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String f = reader.nextName();
+                if ("home".equals(f)) e.setHomeScore(nextInteger(reader));
+                else if ("away".equals(f)) e.setAwayScore(nextInteger(reader));
+                else reader.skipValue();
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+    }
+
+    /** {"startXI":[{"player":{...}}], "substitutes":[...]} */
+    private static void readLineup(JsonReader reader, long matchId, int teamId, List<LineupEntryEntity> out) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            String role = "startXI".equals(name) ? "STARTER" : ("substitutes".equals(name) ? "SUB" : null);
+            if (role == null || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                int pid = 0;
+                if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if ("player".equals(reader.nextName())) pid = readPlayerRef(reader, null);
+                        else reader.skipValue();
+                    }
+                    reader.endObject();
+                } else {
+                    reader.skipValue();
+                }
+                if (pid == 0) continue;
+                LineupEntryEntity e = new LineupEntryEntity();
+                e.setMatchId(matchId);
+                e.setPlayerId(pid);
+                e.setTeamId(teamId);
+                e.setRole(role);
+                out.add(e);
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+    }
+
+    private static void readGoal(JsonReader reader, long matchId, List<MatchEventEntity> out,
+                                 Map<Integer, String> names) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        String type = null;
+        int scorer = 0, assist = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "type": type = nextString(reader); break;
+                case "scorer": scorer = readPlayerRef(reader, names); break;
+                case "assist": assist = readPlayerRef(reader, names); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (scorer == 0) return;
+
+        String t = type != null ? type.toUpperCase(Locale.ROOT) : "REGULAR";
+        String mapped = t.equals("PENALTY") ? "GOAL_PENALTY" : (t.equals("OWN") ? "GOAL_OWN" : "GOAL_REGULAR");
+        out.add(newEvent(matchId, scorer, mapped));
+        if (assist != 0) out.add(newEvent(matchId, assist, "ASSIST"));
+    }
+
+    private static void readBooking(JsonReader reader, long matchId, List<MatchEventEntity> out,
+                                    Map<Integer, String> names) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        String card = null;
+        int pid = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "card": card = nextString(reader); break;
+                case "player": pid = readPlayerRef(reader, names); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (pid == 0) return;
+
+        String c = card != null ? card.toUpperCase(Locale.ROOT) : "YELLOW";
+        String mapped = c.equals("RED") ? "CARD_RED" : (c.equals("YELLOW_RED") ? "CARD_SECOND_YELLOW" : "CARD_YELLOW");
+        out.add(newEvent(matchId, pid, mapped));
+    }
+
+    private static void readGenericEvent(JsonReader reader, long matchId, List<MatchEventEntity> out) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        String type = null;
+        int pid = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "type": type = nextString(reader); break;
+                case "player": pid = readPlayerRef(reader, null); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (pid == 0) return;
+
+        String t = type != null ? type.toUpperCase(Locale.ROOT) : "";
+        String mapped;
+        if (t.contains("GOAL")) mapped = "GOAL_REGULAR";
+        else if (t.contains("YELLOW")) mapped = t.contains("SECOND") ? "CARD_SECOND_YELLOW" : "CARD_YELLOW";
+        else if (t.contains("RED")) mapped = "CARD_RED";
+        else return;
+        out.add(newEvent(matchId, pid, mapped));
+    }
+
+    /** Lee {"id":..,"name":..}; guarda el nombre si se pide. Devuelve 0 si no hay jugador. */
+    private static int readPlayerRef(JsonReader reader, @Nullable Map<Integer, String> names) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return 0;
+        }
+        int id = 0;
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String f = reader.nextName();
+            if ("id".equals(f)) id = nextInt(reader, 0);
+            else if ("name".equals(f)) name = nextString(reader);
+            else reader.skipValue();
+        }
+        reader.endObject();
+        if (id != 0 && names != null && !names.containsKey(id)) names.put(id, name);
+        return id;
+    }
+
+    private static MatchEventEntity newEvent(long matchId, int playerId, String type) {
+        MatchEventEntity e = new MatchEventEntity();
+        e.setMatchId(matchId);
+        e.setPlayerId(playerId);
+        e.setType(type);
+        e.setMinute(null);
+        return e;
+    }
+
+    @Nullable
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    @Nullable
+    private static Integer nextInteger(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextInt();
+    }
+
+    private static int nextInt(JsonReader reader, int fallback) throws IOException {
+        Integer v = nextInteger(reader);
+        return v != null ? v : fallback;
+    }
+
+    private static long nextLong(JsonReader reader, long fallback) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return fallback;
+        }
+        return reader.nextLong();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.housemanager.repository;
+
+import android.os.Process;
+
+import androidx.arch.core.util.Function;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Como Transformations.map, pero la conversión entidad → modelo de UI se hace en un hilo de fondo
+ * y solo se publica el resultado. Si llega un valor nuevo antes de convertir el anterior, el anterior
+ * se descarta (durante una sincronización Room puede emitir muchas veces seguidas).
+ */
+final class BackgroundMapper {
+
+    private static final ExecutorService MAPPER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            r.run();
+        }, "hm-map");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private BackgroundMapper() { }
+
+    /** Hilo de conversión, para quien convierte por su cuenta (p. ej. páginas de Paging). */
+    static Executor executor() {
+        return MAPPER;
+    }
+
+    static <X, Y> LiveData<Y> map(LiveData<X> source, Function<X, Y> mapper) {
+        MediatorLiveData<Y> result = new MediatorLiveData<>();
+        AtomicLong latest = new AtomicLong();
+        result.addSource(source, value -> {
+            long version = latest.incrementAndGet();
+            MAPPER.execute(() -> {
+                if (version != latest.get()) return;
+                Y mapped = mapper.apply(value);
+                if (version == latest.get()) result.postValue(mapped);
+            });
+        });
+        return result;
+    }
+}
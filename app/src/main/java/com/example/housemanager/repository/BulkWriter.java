@@ -0,0 +1,42 @@
+package com.example.housemanager.repository;
+
+import com.example.housemanager.database.HouseManagerDatabase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modo de escritura en bloque: se encolan las escrituras de una operación larga (cálculo y lecturas
+ * previas fuera) y se aplican todas en una única transacción. Room solo avisa a sus observadores al
+ * cerrar la transacción más externa, así que las pantallas ven un único cambio ya consistente en
+ * lugar de una consulta por cada paso intermedio. Las transacciones anidadas dentro de una escritura
+ * encolada se unen a la externa.
+ */
+final class BulkWriter {
+
+    private final HouseManagerDatabase db;
+    private final List<Runnable> pending = new ArrayList<>();
+
+    BulkWriter(HouseManagerDatabase db) {
+        this.db = db;
+    }
+
+    /** Encola una escritura; se ejecuta en commit(), en orden, dentro de la transacción común. */
+    void add(Runnable write) {
+        pending.add(write);
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /** Aplica todo lo encolado en una transacción (si algo falla no se aplica nada) y vacía la cola. */
+    void commit() {
+        if (pending.isEmpty()) return;
+        List<Runnable> writes = new ArrayList<>(pending);
+        pending.clear();
+        db.runInTransaction(() -> {
+            for (Runnable w : writes) w.run();
+        });
+    }
+}
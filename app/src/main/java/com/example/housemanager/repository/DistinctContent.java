@@ -0,0 +1,78 @@
+package com.example.housemanager.repository;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import java.util.List;
+
+/**
+ * distinctUntilChanged por contenido para los LiveData de Room. Room vuelve a emitir la misma lista
+ * cada vez que se escribe en cualquiera de las tablas de la consulta (p. ej. players tras un recálculo);
+ * las entidades no tienen equals, así que se compara una huella de los campos que se proyectan.
+ * Si la huella no cambia, no se emite: ni se vuelve a convertir la lista ni el adapter repinta.
+ */
+final class DistinctContent {
+
+    /** Añade a la huella los campos de un elemento que llegan a la pantalla. */
+    interface Hasher<T> {
+        void hash(T item, Hash h);
+    }
+
+    /** Huella de 64 bits que se va acumulando campo a campo. */
+    static final class Hash {
+        private long value = 1125899906842597L;
+
+        Hash add(long v) {
+            value = 31 * value + v;
+            return this;
+        }
+
+        Hash add(@Nullable Object o) {
+            return add(o != null ? o.hashCode() : 0);
+        }
+    }
+
+    private DistinctContent() { }
+
+    /** Solo emite cuando cambia el valor (por huella); null también cuenta como valor. */
+    static <T> LiveData<T> value(LiveData<T> source, Hasher<T> hasher) {
+        return distinct(source, v -> {
+            Hash h = new Hash();
+            if (v != null) hasher.hash(v, h.add(1)); else h.add(0);
+            return h.value;
+        });
+    }
+
+    /** Solo emite cuando cambia la lista: mismo tamaño, orden y huella de cada fila = misma lista. */
+    static <T> LiveData<List<T>> list(LiveData<List<T>> source, Hasher<T> rowHasher) {
+        return distinct(source, list -> {
+            Hash h = new Hash();
+            if (list == null) return h.add(-1).value;
+            h.add(list.size());
+            for (T row : list) {
+                if (row != null) rowHasher.hash(row, h.add(1)); else h.add(0);
+            }
+            return h.value;
+        });
+    }
+
+    private interface Fingerprint<T> {
+        long of(@Nullable T value);
+    }
+
+    private static <T> LiveData<T> distinct(LiveData<T> source, Fingerprint<T> fingerprint) {
+        MediatorLiveData<T> result = new MediatorLiveData<>();
+        boolean[] first = {true};
+        long[] last = new long[1];
+        result.addSource(source, value -> {
+            long fp = fingerprint.of(value);
+            if (first[0] || fp != last[0]) {
+                first[0] = false;
+                last[0] = fp;
+                result.setValue(value);
+            }
+        });
+        return result;
+    }
+}
@@ -38,7 +38,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -81,18 +80,63 @@ public class FootballRepository {
     private final com.example.housemanager.database.dao.MarketStateDao marketStateDao;
     private final com.example.housemanager.database.dao.CaptainDao captainDao;
     private final com.example.housemanager.database.dao.PlayerMatchPointsDao playerMatchPointsDao;
+    // Puntos por liga (con capitán), derivados de PlayerMatchPoints
+    private final com.example.housemanager.database.dao.LeaguePlayerMatchPointsDao leaguePointsDao;
+    // Clasificación materializada por liga
+    private final com.example.housemanager.database.dao.LeagueStandingDao standingDao;
+    // Fotos de la clasificación por jornada (evolución de posiciones)
+    private final com.example.housemanager.database.dao.LeagueStandingSnapshotDao snapshotDao;
     // DAOs adicionales para cálculo detallado de puntos por partido
     private final com.example.housemanager.database.dao.MatchEventDao matchEventDao;
     private final com.example.housemanager.database.dao.LineupEntryDao lineupEntryDao;
-    private final com.example.housemanager.database.dao.PlayerPointsHistoryDao playerPointsHistoryDao;
+    // Registro de descargas del detalle de partidos (evita volver a pedir los ya cerrados)
+    private final com.example.housemanager.database.dao.MatchSyncStateDao matchSyncStateDao;
+    // Huellas de los partidos ya puntuados (las escribe PointsEngine)
+    private final com.example.housemanager.database.dao.MatchScoringStateDao matchScoringStateDao;
     // Calculadora de puntos (por partido)
     private final PointsCalculator pointsCalculator = new PointsCalculator();
+    // Recálculo incremental de PlayerMatchPoints (solo partidos con cambios)
+    private final PointsEngine pointsEngine;
+    // Escritura del detalle de partidos (alineaciones, eventos y jugadores que falten)
+    private final MatchDetailIngestor matchDetailIngestor;
+    // Historial de puntos por partido (no toca players.totalPoints, que es de pointsEngine)
+    private final PointsHistoryWriter pointsHistoryWriter;
+    // Sorteo de jugadores para mercado y plantilla inicial (ids en memoria)
+    private final PlayerSampler playerSampler;
+    // Partidos por id (se vacía con el InvalidationTracker de Room)
+    private final MatchCache matchCache;
 
     private final FootballApiService apiService;
+    // Carril de acciones del usuario; las sincronizaciones van por orchestrator
     private final ExecutorService executor;
+    private final SyncOrchestrator orchestrator;
     private final SharedPreferences syncPrefs;
     // Preferencias para selección diaria del mercado (por jugadores.available)
     private static final String PREF_MARKET_DAY = "market_day";
+    // Margen tras el inicio de un partido en el que la API aún puede corregir alineaciones/eventos
+    private static final long DETAIL_SETTLE_MILLIS = com.example.housemanager.api.CachePolicyInterceptor.DETAIL_SETTLE_MILLIS;
+    // Marca de la última sincronización de partidos completada (millis) y solape al reanudar desde ella
+    private static final String PREF_MATCHES_SYNCED_AT = "matches_synced_at";
+    private static final long DELTA_SYNC_OVERLAP_MILLIS = 2L * 24L * 60L * 60L * 1000L;
+    // Rango máximo de fechas que se pide en una sola llamada a /matches
+    private static final int DATE_RANGE_MAX_DAYS = 10;
+    // Partidos por lote al volcar en Room una lista leída en streaming
+    private static final int MATCH_BATCH_SIZE = 50;
+    // Jugadores que se leen por tanda al sortear la plantilla inicial
+    private static final int SQUAD_SAMPLE_BATCH = 32;
+    // Catálogo paginado: filas por página y máximo que se mantiene cargado (el resto se suelta)
+    private static final int PLAYER_PAGE_SIZE = 30;
+    private static final int PLAYER_PAGE_MAX_ITEMS = PLAYER_PAGE_SIZE * 6;
+    // Jugadores por mercado de liga
+    private static final int MARKET_SIZE = 10;
+    // Candidatos que se sortean una vez y comparten todas las ligas al rotar los mercados
+    private static final int MARKET_POOL_SIZE = 200;
+    // Antelación con la que MarketRolloverWorker sortea el mercado siguiente (mayor que su periodo)
+    private static final long MARKET_LOOKAHEAD_MILLIS = 2L * 60L * 60L * 1000L;
+    // Claves de las sincronizaciones deduplicadas por SyncOrchestrator
+    private static final String KEY_TEAMS_SYNC = "teams";
+    private static final String KEY_SEASON_REPLAY = "matches:season";
+    private static final String KEY_MATCH_DELTA = "matches:delta";
 
     // Reglas de liga simples (globales por ahora) para cláusulas
     private static final String PREF_RULES = "league_rules_prefs";
@@ -114,21 +158,30 @@ public class FootballRepository {
         marketStateDao = db.marketStateDao();
         captainDao = db.captainDao();
         playerMatchPointsDao = db.playerMatchPointsDao();
+        leaguePointsDao = db.leaguePlayerMatchPointsDao();
+        standingDao = db.leagueStandingDao();
+        snapshotDao = db.leagueStandingSnapshotDao();
         matchEventDao = db.matchEventDao();
         lineupEntryDao = db.lineupEntryDao();
-        playerPointsHistoryDao = db.playerPointsHistoryDao();
-        apiService = ApiClient.getClient().create(FootballApiService.class);
-        executor = Executors.newFixedThreadPool(3);
+        matchSyncStateDao = db.matchSyncStateDao();
+        matchScoringStateDao = db.matchScoringStateDao();
+        apiService = ApiClient.getClient(context).create(FootballApiService.class);
+        orchestrator = new SyncOrchestrator();
+        executor = orchestrator.userExecutor();
         syncPrefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        matchCache = new MatchCache(db);
+        playerSampler = new PlayerSampler(db);
+        pointsEngine = new PointsEngine(db, pointsCalculator, syncPrefs, matchCache);
+        matchDetailIngestor = new MatchDetailIngestor(db);
+        pointsHistoryWriter = new PointsHistoryWriter(db, pointsCalculator);
 
         // Asegurar partidos próximos persistidos en primer arranque (sin tocar UI)
-        executor.execute(() -> {
+        orchestrator.io(SyncOrchestrator.Priority.LOW, () -> {
             try {
                 // Si no hay partidos, o no hay próximos a partir de 'ahora', refrescar desde API
-                java.util.List<com.example.housemanager.database.entities.MatchEntity> existing = matchDao.getAllSync();
                 long now = System.currentTimeMillis();
                 int upcoming = matchDao.countUpcomingSync(now);
-                if (existing == null || existing.isEmpty() || upcoming == 0) {
+                if (matchCache.isEmpty() || upcoming == 0) {
                     syncUpcomingMatches(null);
                 }
             } catch (Exception ignored) { }
@@ -153,60 +206,37 @@ public class FootballRepository {
     }
 
     /**
-     * Cuenta cuántas ligas del usuario NO pueden formar una alineación válida de 11
-     * cumpliendo las reglas: 1 GK, DEF >=3, MID [2..5], FWD [1..3].
-     * No se usa observeForever ni esquemas de lineups por jornada.
+     * Cuenta cuántas ligas del usuario NO pueden formar una alineación válida de 11 (LineupValidator).
+     * Una sola consulta agrupada por liga y posición que Room ejecuta fuera del hilo principal y repite
+     * cuando cambian ligas, propiedades o jugadores; aquí solo se suman los conteos.
      */
     public LiveData<Integer> getIncompleteLineupsLeaguesCount(long userId) {
-        return Transformations.map(leagueDao.getAllLeagues(), leagues -> {
+        LiveData<List<com.example.housemanager.database.pojo.LeaguePositionCount>> positionCounts = DistinctContent.list(
+                ownershipDao.getPositionCountsByLeagueLive(userId),
+                (r, h) -> h.add(r.leagueId).add(r.position).add(r.count));
+        return Transformations.map(positionCounts, rows -> {
+            if (rows == null || rows.isEmpty()) return 0;
+            java.util.Map<Long, int[]> byLeague = new java.util.HashMap<>();
+            for (com.example.housemanager.database.pojo.LeaguePositionCount r : rows) {
+                int[] counts = byLeague.get(r.leagueId);
+                if (counts == null) {
+                    counts = new int[4];
+                    byLeague.put(r.leagueId, counts);
+                }
+                int line = com.example.housemanager.util.LineupValidator.lineOf(r.position);
+                if (line >= 0) counts[line] += r.count;
+            }
             int incomplete = 0;
-            if (leagues == null || leagues.isEmpty()) return 0;
-            for (com.example.housemanager.database.entities.LeagueEntity lg : leagues) {
-                if (lg == null) continue;
-                long lid = lg.getId();
-                int gk = 0, def = 0, mid = 0, fwd = 0;
-                try {
-                    java.util.List<com.example.housemanager.database.pojo.PositionCount> pcs = ownershipDao.getPositionCountsSync(lid, userId);
-                    if (pcs != null) {
-                        for (com.example.housemanager.database.pojo.PositionCount pc : pcs) {
-                            if (pc == null || pc.position == null) continue;
-                            String p = pc.position;
-                            if ("Portero".equalsIgnoreCase(p) || "GK".equalsIgnoreCase(p)) gk = pc.count;
-                            else if ("Defensa".equalsIgnoreCase(p) || "DEF".equalsIgnoreCase(p)) def = pc.count;
-                            else if ("Medio".equalsIgnoreCase(p) || "Centrocampista".equalsIgnoreCase(p) || "MID".equalsIgnoreCase(p)) mid = pc.count;
-                            else if ("Delantero".equalsIgnoreCase(p) || "FWD".equalsIgnoreCase(p)) fwd = pc.count;
-                        }
-                    }
-                } catch (Exception ignored) { }
-                if (!canFormValid11(gk, def, mid, fwd)) incomplete++;
+            for (int[] counts : byLeague.values()) {
+                if (!com.example.housemanager.util.LineupValidator.canFormValid11(counts)) incomplete++;
             }
             return incomplete;
         });
     }
 
-    private boolean canFormValid11(int gk, int def, int mid, int fwd) {
-        if (gk < 1) return false;
-
-        int gkUse = 1;
-
-        int minDef = 3;
-        int minMid = 2; int maxMid = 5;
-        int minFwd = 1; int maxFwd = 3;
-        for (int d = Math.max(minDef, 0); d <= def; d++) {
-            for (int m = Math.max(minMid, 0); m <= Math.min(maxMid, mid); m++) {
-                int f = 11 - (gkUse + d + m);
-                if (f < minFwd || f > maxFwd) continue;
-                if (f <= fwd) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
     /** Equipos listos para UI. */
     public LiveData<List<Team>> getAllTeams() {
-        return Transformations.map(
+        return BackgroundMapper.map(
                 teamDao.getAllTeamEntities(),
                 this::convertTeamEntitiesToMarketTeams
         );
@@ -248,12 +278,12 @@ public class FootballRepository {
         syncMatchday(matchday, new SyncCallback() {
             @Override
             public void onSuccess() {
-                executor.execute(() -> {
+                orchestrator.db(SyncOrchestrator.Priority.NORMAL, () -> {
                     try {
                         // Reiniciar puntos a 0 para mantener coherencia con la jornada actual
                         playerDao.resetAllPoints();
 
-                        List<MatchEntity> matches = matchDao.getAllSync();
+                        List<MatchEntity> matches = matchDao.getByMatchdaySync(matchday);
                         // Limpiar puntos por-partido de la jornada
                         playerMatchPointsDao.deleteByMatchday(matchday);
                         for (MatchEntity m : matches) {
@@ -290,35 +320,45 @@ public class FootballRepository {
 
     /** Estado del mercado por liga (para countdown en UI). */
     public LiveData<com.example.housemanager.database.entities.MarketState> getMarketStateLive(long leagueId) {
-        return marketStateDao.getLive(leagueId);
+        return DistinctContent.value(marketStateDao.getLive(leagueId),
+                (s, h) -> h.add(s.getLeagueId()).add(s.getLastGeneratedAtMillis()).add(s.getMarketExpiresAtMillis()));
+    }
+
+    /** Evolución de la clasificación: una foto por jornada completada y manager, ordenada por jornada. */
+    public LiveData<List<com.example.housemanager.database.entities.LeagueStandingSnapshot>> getStandingsHistoryLive(long leagueId) {
+        return DistinctContent.list(snapshotDao.getByLeagueLive(leagueId),
+                (r, h) -> h.add(r.getMatchday()).add(r.getUserId()).add(r.getPoints()).add(r.getSeasonPoints()).add(r.getRank()));
     }
 
-    /** Clasificación por liga (LiveData) sumando puntos de jugadores por propietario. */
+    /** Clasificación por liga (LiveData): la de temporada. */
     public LiveData<List<ManagerScore>> getLeagueClassification(long leagueId) {
-        LiveData<List<ManagerScoreRow>> rows = ownershipDao.getLeagueClassification(leagueId);
-        return Transformations.map(rows, list -> {
-            List<ManagerScore> out = new ArrayList<>();
-            if (list == null) return out;
-            for (ManagerScoreRow r : list) {
-                out.add(new ManagerScore(r.getUserId(), r.getTotalPoints()));
-            }
-            return out;
-        });
+        return getLeagueClassificationSeason(leagueId);
+    }
+
+    /**
+     * Clasificación materializada de una liga (temporada, última jornada y posición por manager).
+     * Solo se invalida cuando cambia league_standings, no con cada escritura de puntos o jugadores.
+     */
+    public LiveData<List<com.example.housemanager.database.entities.LeagueStanding>> getLeagueStandingsLive(long leagueId) {
+        return DistinctContent.list(standingDao.getByLeagueLive(leagueId),
+                (r, h) -> h.add(r.getUserId()).add(r.getSeasonPoints()).add(r.getMatchday()).add(r.getMatchdayPoints()).add(r.getRank()));
     }
 
     /** Valor de mi plantilla por liga/usuario (suma de precios). */
     public LiveData<Integer> getMySquadValueLive(long leagueId, long userId) {
-        return ownershipDao.getMySquadValueLive(leagueId, userId);
+        return Transformations.distinctUntilChanged(ownershipDao.getMySquadValueLive(leagueId, userId));
     }
 
     /** Presupuesto de la liga (LiveData). */
     public LiveData<Integer> getLeagueBudgetLive(long leagueId) {
-        return leagueDao.getBudgetLive(leagueId);
+        return Transformations.distinctUntilChanged(leagueDao.getBudgetLive(leagueId));
     }
 
-    /** Clasificación de la jornada actual (aplica capitán x2 sobre puntos de ese partido). */
+    /** Clasificación de una jornada (puntos de la liga, ya con el capitán x2). */
     public LiveData<List<ManagerScore>> getLeagueClassificationThisMatchday(long leagueId, int matchday) {
-        LiveData<List<ManagerScoreRow>> rows = ownershipDao.getLeagueClassificationThisMatchday(leagueId, matchday);
+        LiveData<List<ManagerScoreRow>> rows = DistinctContent.list(
+                leaguePointsDao.getLeagueClassificationThisMatchday(leagueId, matchday),
+                (r, h) -> h.add(r.getUserId()).add(r.getTotalPoints()));
         return Transformations.map(rows, list -> {
             List<ManagerScore> out = new ArrayList<>();
             if (list == null) return out;
@@ -329,14 +369,16 @@ public class FootballRepository {
         });
     }
 
-    /** Clasificación de la temporada (suma totalPoints + bonus capitán sobre su total). */
+    /** Clasificación de la temporada (league_standings, ya con el capitán x2). */
     public LiveData<List<ManagerScore>> getLeagueClassificationSeason(long leagueId) {
-        LiveData<List<ManagerScoreRow>> rows = ownershipDao.getLeagueClassificationSeason(leagueId);
+        // Solo importan usuario y puntos de temporada: cambios de rango o de jornada no re-emiten
+        LiveData<List<com.example.housemanager.database.entities.LeagueStanding>> rows = DistinctContent.list(standingDao.getByLeagueLive(leagueId),
+                (r, h) -> h.add(r.getUserId()).add(r.getSeasonPoints()));
         return Transformations.map(rows, list -> {
             List<ManagerScore> out = new ArrayList<>();
             if (list == null) return out;
-            for (ManagerScoreRow r : list) {
-                out.add(new ManagerScore(r.getUserId(), r.getTotalPoints()));
+            for (com.example.housemanager.database.entities.LeagueStanding r : list) {
+                out.add(new ManagerScore(r.getUserId(), r.getSeasonPoints()));
             }
             return out;
         });
@@ -368,15 +410,21 @@ public class FootballRepository {
                     return;
                 }
 
+                // Si MarketRolloverWorker ya sorteó el mercado siguiente, basta con activarlo
+                Long stagedExpiresAt = marketDao.getStagedExpiresAtSync(leagueId);
+                if (stagedExpiresAt != null && stagedExpiresAt > now) {
+                    db.runInTransaction(() -> promoteStagedMarket(leagueId, stagedExpiresAt, now));
+                    Log.d("[Market]", "ensureDailyMarket league=" + leagueId + " promoted staged market");
+                    if (callback != null) runOnMainThread(callback::onSuccess);
+                    return;
+                }
+
                 // Expirado o inexistente → regenerar
                 marketDao.clearLeagueMarket(leagueId);
 
-                // Obtener todos los jugadores no poseídos
-                List<Integer> ownedIds = ownershipDao.getPlayerIdsOwnedByLeagueSync(leagueId);
-                int excludedOwned = (ownedIds != null) ? ownedIds.size() : 0;
-                List<PlayerEntity> candidates = playerDao.getAllNotOwnedSync(leagueId);
-                java.util.Collections.shuffle(candidates);
-                int count = Math.min(10, candidates.size());
+                // Sortear MARKET_SIZE jugadores no poseídos (solo se leen esas filas)
+                List<PlayerEntity> candidates = playerSampler.sampleNotOwned(leagueId, MARKET_SIZE);
+                int count = candidates.size();
                 List<com.example.housemanager.database.entities.MarketListing> listings = new ArrayList<>();
                 long listedAt = now;
                 // Calcular expiración según la configuración de la liga (HH:mm); fallback a fin de día
@@ -384,7 +432,7 @@ public class FootballRepository {
                 try {
                     com.example.housemanager.database.entities.LeagueEntity league = leagueDao.getByIdSync(leagueId);
                     if (league != null && league.getMarketHour() != null) {
-                        expiresAt = nextMarketResetMillis(league.getMarketHour());
+                        expiresAt = nextMarketResetMillis(league.getMarketHour(), now);
                     } else {
                         expiresAt = endOfTodayMillis();
                     }
@@ -402,7 +450,10 @@ public class FootballRepository {
                     listings.add(ml);
                 }
                 if (!listings.isEmpty()) {
-                    marketDao.insertAll(listings);
+                    db.runInTransaction(() -> {
+                        marketDao.insertAll(listings);
+                        marketDao.refreshSnapshot(leagueId);
+                    });
 
                     // Actualizar estado del mercado sólo si hay listados
                     com.example.housemanager.database.entities.MarketState newState = new com.example.housemanager.database.entities.MarketState();
@@ -410,7 +461,7 @@ public class FootballRepository {
                     newState.setLastGeneratedAtMillis(now);
                     newState.setMarketExpiresAtMillis(expiresAt);
                     marketStateDao.upsert(newState);
-                    Log.d("[Market]", "ensureDailyMarket league=" + leagueId + " picked=" + listings.size() + " excludedOwned=" + excludedOwned);
+                    Log.d("[Market]", "ensureDailyMarket league=" + leagueId + " picked=" + listings.size());
                 }
 
                 if (callback != null) runOnMainThread(callback::onSuccess);
@@ -420,10 +471,127 @@ public class FootballRepository {
         });
     }
 
-    /** Devuelve jugadores del mercado actual de una liga, usando proyección con puntos acumulados. */
+    /**
+     * Rota el mercado de todas las ligas (lo llama MarketRolloverWorker cada hora, en segundo plano):
+     * - Si el de una liga ya ha caducado, activa el siguiente ya sorteado o, si no lo hay, genera uno.
+     * - Si caduca en menos de MARKET_LOOKAHEAD_MILLIS, sortea ya el siguiente (staged), que se muestra
+     *   a la hora de reseteo sin que la pantalla tenga que generar nada.
+     * Todas las ligas sacan candidatos de una misma bolsa y se escribe todo en una única transacción.
+     */
+    public void rolloverMarketsSync() {
+        List<com.example.housemanager.database.entities.LeagueEntity> leagues = leagueDao.getAllLeaguesSync();
+        if (leagues == null || leagues.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        List<Integer> pool = playerSampler.drawAll().nextIds(MARKET_POOL_SIZE);
+        int[] generated = new int[2];
+
+        db.runInTransaction(() -> {
+            for (com.example.housemanager.database.entities.LeagueEntity league : leagues) {
+                long leagueId = league.getId();
+                com.example.housemanager.database.entities.MarketState state = marketStateDao.getSync(leagueId);
+                long expiresAt = state != null ? state.getMarketExpiresAtMillis() : 0L;
+                Long stagedExpiresAt = marketDao.getStagedExpiresAtSync(leagueId);
+
+                if (expiresAt <= now) {
+                    if (stagedExpiresAt != null && stagedExpiresAt > now) {
+                        promoteStagedMarket(leagueId, stagedExpiresAt, now);
+                        expiresAt = stagedExpiresAt;
+                    } else {
+                        marketDao.clearLeagueMarket(leagueId);
+                        expiresAt = nextMarketResetMillis(league.getMarketHour(), now);
+                        List<com.example.housemanager.database.entities.MarketListing> listings =
+                                pickListings(leagueId, pool, now, expiresAt, false);
+                        if (listings.isEmpty()) continue;
+                        marketDao.insertAll(listings);
+                        upsertMarketState(leagueId, now, expiresAt);
+                        generated[0]++;
+                    }
+                    stagedExpiresAt = null;
+                }
+
+                if (stagedExpiresAt == null && expiresAt - now <= MARKET_LOOKAHEAD_MILLIS) {
+                    long nextExpiresAt = nextMarketResetMillis(league.getMarketHour(), expiresAt);
+                    List<com.example.housemanager.database.entities.MarketListing> listings =
+                            pickListings(leagueId, pool, expiresAt, nextExpiresAt, true);
+                    if (!listings.isEmpty()) {
+                        marketDao.insertAll(listings);
+                        generated[1]++;
+                    }
+                }
+            }
+            marketDao.refreshActiveSnapshots();
+        });
+        Log.d("[Market]", "rollover leagues=" + leagues.size() + " generated=" + generated[0] + " staged=" + generated[1]);
+    }
+
+    /** Activa el mercado siguiente de una liga en lugar del actual (dentro de una transacción). */
+    private void promoteStagedMarket(long leagueId, long expiresAt, long now) {
+        marketDao.clearCurrentMarket(leagueId);
+        marketDao.dropOwnedStaged(leagueId);
+        marketDao.promoteStaged(leagueId);
+        upsertMarketState(leagueId, now, expiresAt);
+    }
+
+    private void upsertMarketState(long leagueId, long generatedAt, long expiresAt) {
+        com.example.housemanager.database.entities.MarketState state = new com.example.housemanager.database.entities.MarketState();
+        state.setLeagueId(leagueId);
+        state.setLastGeneratedAtMillis(generatedAt);
+        state.setMarketExpiresAtMillis(expiresAt);
+        marketStateDao.upsert(state);
+    }
+
+    /**
+     * MARKET_SIZE listados para la liga sacados de la bolsa común (en un orden propio de la liga),
+     * sin jugadores en propiedad ni en su mercado actual; si la bolsa no llega, se completa con el muestreo normal.
+     */
+    private List<com.example.housemanager.database.entities.MarketListing> pickListings(
+            long leagueId, List<Integer> pool, long listedAt, long expiresAt, boolean staged) {
+        java.util.Set<Long> excluded = new java.util.HashSet<>();
+        List<Integer> owned = ownershipDao.getPlayerIdsOwnedByLeagueSync(leagueId);
+        if (owned != null) for (Integer id : owned) excluded.add((long) id);
+        List<Long> current = marketDao.getCurrentPlayerIdsSync(leagueId);
+        if (current != null) excluded.addAll(current);
+
+        List<Integer> order = new ArrayList<>(pool);
+        java.util.Collections.shuffle(order);
+        List<Long> picked = new ArrayList<>(MARKET_SIZE);
+        for (Integer id : order) {
+            if (picked.size() >= MARKET_SIZE) break;
+            if (excluded.add((long) id)) picked.add((long) id);
+        }
+        if (picked.size() < MARKET_SIZE) {
+            PlayerSampler.Draw draw = playerSampler.drawNotOwned(leagueId);
+            List<Integer> more;
+            while (picked.size() < MARKET_SIZE && !(more = draw.nextIds(MARKET_SIZE)).isEmpty()) {
+                for (Integer id : more) {
+                    if (picked.size() < MARKET_SIZE && excluded.add((long) id)) picked.add((long) id);
+                }
+            }
+        }
+
+        List<com.example.housemanager.database.entities.MarketListing> listings = new ArrayList<>(picked.size());
+        for (Long playerId : picked) {
+            com.example.housemanager.database.entities.MarketListing ml = new com.example.housemanager.database.entities.MarketListing();
+            ml.setLeagueId(leagueId);
+            ml.setPlayerId(playerId);
+            ml.setListedAtMillis(listedAt);
+            ml.setExpiresAtMillis(expiresAt);
+            ml.setSold(false);
+            ml.setStaged(staged);
+            listings.add(ml);
+        }
+        return listings;
+    }
+
+    /**
+     * Devuelve jugadores del mercado actual de una liga a partir de la copia guardada en MarketListing;
+     * solo se vuelve a consultar cuando cambian los listados, no con cada escritura de puntos o jugadores.
+     */
     public LiveData<List<Player>> getLeagueMarketPlayers(long leagueId) {
-        return Transformations.map(
-                marketDao.getMarketRows(leagueId),
+        return BackgroundMapper.map(
+                DistinctContent.list(marketDao.getMarketRows(leagueId),
+                        (r, h) -> h.add(r.playerId).add(r.name).add(r.position).add(r.teamId)
+                                .add(r.price).add(r.teamDisplay).add(r.displayPoints)),
                 rows -> {
                     List<Player> result = new ArrayList<>();
                     if (rows == null) return result;
@@ -462,7 +630,10 @@ public class FootballRepository {
                 own.setOwnerUserId(ownerUserId);
                 own.setAcquiredPrice(0);
                 own.setAcquiredAtMillis(System.currentTimeMillis());
-                ownershipDao.insert(own);
+                db.runInTransaction(() -> {
+                    ownershipDao.insert(own);
+                    pointsEngine.onOwnershipChanged(leagueId, playerId);
+                });
                 marketDao.markSold(leagueId, playerId);
 
                 if (callback != null) runOnMainThread(callback::onSuccess);
@@ -472,6 +643,34 @@ public class FootballRepository {
         });
     }
 
+    /**
+     * Guarda el capitán de un usuario en una liga (tabla Captains) y rehace solo los puntos y la clasificación
+     * de esa liga. Va por el carril de escritura para no cruzarse con un recálculo.
+     */
+    public void setCaptain(long leagueId, long ownerUserId, int playerId) {
+        orchestrator.db(SyncOrchestrator.Priority.HIGH, () -> {
+            try {
+                pointsEngine.onCaptainChanged(leagueId, ownerUserId, playerId);
+            } catch (Exception e) {
+                Log.w(TAG, "setCaptain league=" + leagueId + " user=" + ownerUserId, e);
+            }
+        });
+    }
+
+    /** Guarda los capitanes que aún no estén en Captains (elegidos antes de que se guardaran en Room). */
+    public void importCaptains(List<com.example.housemanager.database.entities.Captain> captains) {
+        orchestrator.db(SyncOrchestrator.Priority.LOW, () -> {
+            try {
+                for (com.example.housemanager.database.entities.Captain c : captains) {
+                    if (captainDao.getCaptainSync(c.getLeagueId(), c.getOwnerUserId()) != null) continue;
+                    pointsEngine.onCaptainChanged(c.getLeagueId(), c.getOwnerUserId(), c.getCaptainPlayerId());
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "importCaptains", e);
+            }
+        });
+    }
+
     private long endOfTodayMillis() {
         java.util.Calendar cal = java.util.Calendar.getInstance();
         cal.set(java.util.Calendar.HOUR_OF_DAY, 23);
@@ -488,41 +687,31 @@ public class FootballRepository {
     public void generateInitialSquadForNewLeague(long leagueId, int targetBudgetMillions, int toleranceMillions, long ownerUserId) {
         executor.execute(() -> {
             try {
-                // Candidatos: todos los jugadores no poseídos en esta liga
-                List<PlayerEntity> candidates = playerDao.getAllNotOwnedSync(leagueId);
-                if (candidates == null || candidates.isEmpty()) return;
-                java.util.Collections.shuffle(candidates);
-
                 final int minBudget = Math.max(0, targetBudgetMillions - toleranceMillions);
                 final int maxBudget = targetBudgetMillions + toleranceMillions;
 
                 List<PlayerEntity> picked = new ArrayList<>();
                 int sum = 0;
 
-                // Pase 1: ir añadiendo aleatoriamente mientras no nos pasemos demasiado
-                for (PlayerEntity p : candidates) {
-                    int price = p.getCurrentPrice();
-                    if (price <= 0) continue;
-                    if (sum + price <= maxBudget) {
-                        picked.add(p);
-                        sum += price;
-                        if (sum >= minBudget && sum <= maxBudget) break;
-                    }
-                }
-
-                // Si no alcanzamos el mínimo, intentar segunda pasada sobre restantes
-                if (sum < minBudget) {
-                    for (PlayerEntity p : candidates) {
-                        if (picked.contains(p)) continue;
+                // Candidatos no poseídos en orden aleatorio, leídos por tandas hasta cuadrar el presupuesto
+                PlayerSampler.Draw draw = playerSampler.drawNotOwned(leagueId);
+                boolean inRange = false;
+                List<PlayerEntity> batch;
+                while (!inRange && !(batch = draw.next(SQUAD_SAMPLE_BATCH)).isEmpty()) {
+                    for (PlayerEntity p : batch) {
                         int price = p.getCurrentPrice();
                         if (price <= 0) continue;
                         if (sum + price <= maxBudget) {
                             picked.add(p);
                             sum += price;
-                            if (sum >= minBudget) break;
+                            if (sum >= minBudget) {
+                                inRange = true;
+                                break;
+                            }
                         }
                     }
                 }
+                if (picked.isEmpty()) return;
 
                 // Búsqueda simple de ajuste: si nos pasamos, intentar quitar el último caro
                 if (sum > maxBudget && !picked.isEmpty()) {
@@ -549,18 +738,20 @@ public class FootballRepository {
                     own.setAcquiredAtMillis(now);
                     try { ownershipDao.insert(own); } catch (Exception ignored) { }
                 }
+                pointsEngine.onLeagueSquadChanged(leagueId);
             } catch (Exception ignored) { }
         });
     }
 
-    /** Calcula el próximo instante (hoy o mañana) a la hora HH:mm indicada por la liga. */
-    private long nextMarketResetMillis(String marketHour) {
+    /** Calcula el primer instante posterior a afterMillis (ese día o el siguiente) a la hora HH:mm de la liga. */
+    private long nextMarketResetMillis(String marketHour, long afterMillis) {
         try {
             String hhmm = marketHour != null ? marketHour.trim() : "14:00";
             String[] parts = hhmm.split(":");
             int hour = Integer.parseInt(parts[0]);
             int minute = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
             java.util.Calendar now = java.util.Calendar.getInstance();
+            now.setTimeInMillis(afterMillis);
             java.util.Calendar target = (java.util.Calendar) now.clone();
             target.set(java.util.Calendar.SECOND, 0);
             target.set(java.util.Calendar.MILLISECOND, 0);
@@ -627,11 +818,12 @@ public class FootballRepository {
                     return;
                 }
                 List<MatchAPI> apiMatches = response.body().getMatches();
-                executor.execute(() -> {
+                orchestrator.db(SyncOrchestrator.Priority.NORMAL, () -> {
                     try {
                         List<MatchEntity> entities = convertApiMatchesToEntities(apiMatches);
-                        matchDao.deleteAll();
+                        // Insertar/actualizar (REPLACE) sin vaciar la tabla: guarda también el resto de la temporada
                         if (!entities.isEmpty()) matchDao.insertAll(entities);
+                        matchCache.invalidate();
                         // tras persistir partidos de la jornada, recalcular puntos para todos los FINISHED existentes
                         recomputePointsForAllFinishedMatches(null);
                         if (callback != null) runOnMainThread(callback::onSuccess);
@@ -651,135 +843,30 @@ public class FootballRepository {
     /** Sincroniza partidos próximos de la semana desde la API y los guarda en Room. */
     /** Descarga y persiste detalle de un partido: alineaciones, goles/asistencias y tarjetas. */
     public void syncMatchDetails(long matchId) {
-        executor.execute(() -> {
+        orchestrator.io(SyncOrchestrator.Priority.NORMAL, () -> {
             try {
-                retrofit2.Response<com.example.housemanager.api.models.MatchDetailResponse> detResp = apiService.getMatchDetail(matchId).execute();
-                if (!detResp.isSuccessful() || detResp.body() == null) return;
-                com.example.housemanager.api.models.MatchDetailResponse d = detResp.body();
                 // Necesitamos el MatchEntity para teamIds
-                List<MatchEntity> all = matchDao.getAllSync();
-                MatchEntity m = null;
-                if (all != null) {
-                    for (MatchEntity x : all) { if (x != null && x.getMatchId() == matchId) { m = x; break; } }
-                }
+                MatchEntity m = matchCache.get(matchId);
                 if (m == null) return;
-                // Alineaciones
-                lineupEntryDao.clearByMatch(matchId);
-                java.util.List<com.example.housemanager.database.entities.LineupEntryEntity> entries = new java.util.ArrayList<>();
-                if (d.getHomeTeamLineup() != null) {
-                    for (com.example.housemanager.api.models.LineupEntryAPI le : d.getHomeTeamLineup().getStartXI()) {
-                        if (le != null && le.getPlayer() != null) {
-                            com.example.housemanager.database.entities.LineupEntryEntity e = new com.example.housemanager.database.entities.LineupEntryEntity();
-                            e.setMatchId(matchId);
-                            e.setPlayerId(le.getPlayer().getId());
-                            e.setTeamId((int) m.getHomeTeamId());
-                            e.setRole("STARTER");
-                            entries.add(e);
-                        }
-                    }
-                    for (com.example.housemanager.api.models.LineupEntryAPI le : d.getHomeTeamLineup().getSubstitutes()) {
-                        if (le != null && le.getPlayer() != null) {
-                            com.example.housemanager.database.entities.LineupEntryEntity e = new com.example.housemanager.database.entities.LineupEntryEntity();
-                            e.setMatchId(matchId);
-                            e.setPlayerId(le.getPlayer().getId());
-                            e.setTeamId((int) m.getHomeTeamId());
-                            e.setRole("SUB");
-                            entries.add(e);
-                        }
-                    }
-                }
-                if (d.getAwayTeamLineup() != null) {
-                    for (com.example.housemanager.api.models.LineupEntryAPI le : d.getAwayTeamLineup().getStartXI()) {
-                        if (le != null && le.getPlayer() != null) {
-                            com.example.housemanager.database.entities.LineupEntryEntity e = new com.example.housemanager.database.entities.LineupEntryEntity();
-                            e.setMatchId(matchId);
-                            e.setPlayerId(le.getPlayer().getId());
-                            e.setTeamId((int) m.getAwayTeamId());
-                            e.setRole("STARTER");
-                            entries.add(e);
-                        }
-                    }
-                    for (com.example.housemanager.api.models.LineupEntryAPI le : d.getAwayTeamLineup().getSubstitutes()) {
-                        if (le != null && le.getPlayer() != null) {
-                            com.example.housemanager.database.entities.LineupEntryEntity e = new com.example.housemanager.database.entities.LineupEntryEntity();
-                            e.setMatchId(matchId);
-                            e.setPlayerId(le.getPlayer().getId());
-                            e.setTeamId((int) m.getAwayTeamId());
-                            e.setRole("SUB");
-                            entries.add(e);
-                        }
-                    }
-                }
-                if (!entries.isEmpty()) lineupEntryDao.insertAll(entries);
-                for (com.example.housemanager.database.entities.LineupEntryEntity le : entries) {
-                    ensurePlayerExistsIfMissing(le.getPlayerId(), null, le.getTeamId(), le.getTeamId() == (int) m.getHomeTeamId() ? m.getHomeTeamName() : m.getAwayTeamName(), "Unknown");
-                }
-                // Eventos
-                matchEventDao.clearByMatch(matchId);
-                java.util.List<com.example.housemanager.database.entities.MatchEventEntity> evs = new java.util.ArrayList<>();
-                if (d.getGoals() != null) {
-                    for (com.example.housemanager.api.models.GoalAPI g : d.getGoals()) {
-                        if (g == null || g.getScorer() == null) continue;
-                        int pid = g.getScorer().getId();
-                        String pname = g.getScorer().getName();
-                        ensurePlayerExistsIfMissing(pid, pname, 0, "", null);
-                        String type = g.getType() != null ? g.getType().toUpperCase() : "REGULAR";
-                        String mapped = type.equals("PENALTY") ? "GOAL_PENALTY" : (type.equals("OWN") ? "GOAL_OWN" : "GOAL_REGULAR");
-                        com.example.housemanager.database.entities.MatchEventEntity me = new com.example.housemanager.database.entities.MatchEventEntity();
-                        me.setMatchId(matchId);
-                        me.setPlayerId(pid);
-                        me.setType(mapped);
-                        me.setMinute(null);
-                        evs.add(me);
-                        if (g.getAssist() != null) {
-                            int aid = g.getAssist().getId();
-                            String aname = g.getAssist().getName();
-                            ensurePlayerExistsIfMissing(aid, aname, 0, "", null);
-                            com.example.housemanager.database.entities.MatchEventEntity as = new com.example.housemanager.database.entities.MatchEventEntity();
-                            as.setMatchId(matchId);
-                            as.setPlayerId(aid);
-                            as.setType("ASSIST");
-                            as.setMinute(null);
-                            evs.add(as);
-                        }
+                retrofit2.Response<okhttp3.ResponseBody> detResp = apiService.getMatchDetailRaw(matchId).execute();
+                com.example.housemanager.model.mappers.JsonStreamMapper.MatchDetailEntities d;
+                try (okhttp3.ResponseBody body = detResp.body()) {
+                    if (!detResp.isSuccessful() || body == null) {
+                        if (detResp.errorBody() != null) detResp.errorBody().close();
+                        return;
                     }
+                    d = com.example.housemanager.model.mappers.JsonStreamMapper.readMatchDetail(body.charStream(), m);
                 }
-                if (d.getBookings() != null) {
-                    for (com.example.housemanager.api.models.BookingAPI b : d.getBookings()) {
-                        if (b == null || b.getPlayer() == null) continue;
-                        int pid = b.getPlayer().getId();
-                        String pname = b.getPlayer().getName();
-                        ensurePlayerExistsIfMissing(pid, pname, 0, "", null);
-                        String card = b.getCard() != null ? b.getCard().toUpperCase() : "YELLOW";
-                        String mapped = card.equals("RED") ? "CARD_RED" : (card.equals("YELLOW_RED") ? "CARD_SECOND_YELLOW" : "CARD_YELLOW");
-                        com.example.housemanager.database.entities.MatchEventEntity ce = new com.example.housemanager.database.entities.MatchEventEntity();
-                        ce.setMatchId(matchId);
-                        ce.setPlayerId(pid);
-                        ce.setType(mapped);
-                        ce.setMinute(null);
-                        evs.add(ce);
-                    }
-                }
-                if ((d.getGoals() == null || d.getGoals().isEmpty()) && (d.getBookings() == null || d.getBookings().isEmpty()) && d.getEvents() != null) {
-                    for (com.example.housemanager.api.models.MatchEventAPI ev : d.getEvents()) {
-                        if (ev == null || ev.getPlayer() == null) continue;
-                        String t = ev.getType() != null ? ev.getType().toUpperCase() : "";
-                        String mapped;
-                        if (t.contains("GOAL")) mapped = "GOAL_REGULAR";
-                        else if (t.contains("YELLOW")) mapped = t.contains("SECOND") ? "CARD_SECOND_YELLOW" : "CARD_YELLOW";
-                        else if (t.contains("RED")) mapped = "CARD_RED";
-                        else continue;
-                        com.example.housemanager.database.entities.MatchEventEntity me = new com.example.housemanager.database.entities.MatchEventEntity();
-                        me.setMatchId(matchId);
-                        me.setPlayerId(ev.getPlayer().getId());
-                        me.setType(mapped);
-                        me.setMinute(null);
-                        evs.add(me);
-                    }
-                }
-                if (!evs.isEmpty()) matchEventDao.insertAll(evs);
-                // Recalcular este partido
-                recomputePointsForMatchInternal(m);
+                // Guardar y recalcular este partido en el carril de escritura
+                orchestrator.db(SyncOrchestrator.Priority.NORMAL, () -> {
+                    try {
+                        matchDetailIngestor.write(m, d);
+                        recordDetailSync(m, detailContentHash(m, d.lineup, d.events));
+                        recomputePointsForMatchInternal(m);
+                        // players.totalPoints lo ajusta el motor incremental (solo este partido ha cambiado)
+                        pointsEngine.recalcFinished(false);
+                    } catch (Exception ignored) { }
+                });
             } catch (Exception ignored) { }
         });
     }
@@ -801,11 +888,14 @@ public class FootballRepository {
                 }
                 List<MatchAPI> apiMatches = response.body().getMatches();
                 Log.d(TAG, "[FootballRepository] Sync partidos: recibidos " + (apiMatches != null ? apiMatches.size() : 0));
-                executor.execute(() -> {
+                // Próximos partidos: se muestran en la pantalla principal, van antes que los volcados de fondo
+                orchestrator.db(SyncOrchestrator.Priority.HIGH, () -> {
                     try {
                         List<MatchEntity> entities = convertApiMatchesToEntities(apiMatches);
-                        matchDao.deleteAll();
+                        // Insertar/actualizar (REPLACE) sin vaciar la tabla: los terminados de semanas anteriores
+                        // no se vuelven a descargar en la sincronización incremental
                         if (!entities.isEmpty()) matchDao.insertAll(entities);
+                        matchCache.invalidate();
                         Log.d(TAG, "Partidos guardados en Room: " + entities.size());
                         if (callback != null) runOnMainThread(callback::onSuccess);
                     } catch (Exception e) {
@@ -823,17 +913,29 @@ public class FootballRepository {
         });
     }
 
-    /** Jugadores listos para UI. */
-    public LiveData<List<Player>> getAllPlayers() {
-        return Transformations.map(
-                playerDao.getAllPlayerEntities(),
-                this::convertPlayerEntitiesToMarketPlayers
-        );
+    /**
+     * Catálogo de jugadores por páginas (Paging 3 sobre Room): todos, de una posición y/o que casen con
+     * la búsqueda (players_fts). En memoria solo quedan como mucho PLAYER_PAGE_MAX_ITEMS filas, y cada
+     * página se convierte a Player en segundo plano al cargarse.
+     */
+    public LiveData<androidx.paging.PagingData<Player>> getPlayersPaged(@Nullable String position, @Nullable String searchTerm) {
+        String pos = canonicalPosition(position);
+        String fts = com.example.housemanager.util.PlayerSearch.ftsQuery(searchTerm);
+        androidx.paging.PagingConfig config = new androidx.paging.PagingConfig(
+                PLAYER_PAGE_SIZE, PLAYER_PAGE_SIZE, false, PLAYER_PAGE_SIZE * 2, PLAYER_PAGE_MAX_ITEMS);
+        androidx.paging.Pager<Integer, PlayerEntity> pager = new androidx.paging.Pager<>(config, () -> {
+            if (fts != null) {
+                return pos != null ? playerDao.pageSearchByPosition(pos, fts) : playerDao.pageSearch(fts);
+            }
+            return pos != null ? playerDao.pageByPosition(pos) : playerDao.pageAll();
+        });
+        return Transformations.map(androidx.paging.PagingLiveData.getLiveData(pager),
+                data -> androidx.paging.PagingDataTransforms.map(data, BackgroundMapper.executor(), this::convertEntityToMarketPlayer));
     }
 
     /** 10 jugadores aleatorios disponibles para el mercado (legacy). */
     public LiveData<List<Player>> getRandomMarketPlayers() {
-        return Transformations.map(
+        return BackgroundMapper.map(
                 playerDao.getRandomAvailablePlayers(),
                 this::convertPlayerEntitiesToMarketPlayers
         );
@@ -843,16 +945,20 @@ public class FootballRepository {
     public LiveData<List<Player>> getMarketPlayers() {
         // Asegurar selección diaria en background (no bloquea la observación de LiveData)
         ensureDailyMarketSelectionIfNeeded();
-        return Transformations.map(
+        return BackgroundMapper.map(
                 playerDao.getMarketToday(),
                 this::convertPlayerEntitiesToMarketPlayers
         );
     }
 
+    /** Campos de PlayerEntity que llegan a PlayerAPI: si no cambia ninguno, no se vuelve a emitir. */
+    private static final DistinctContent.Hasher<PlayerEntity> PLAYER_API_FIELDS = (e, h) -> h.add(e.getPlayerId())
+            .add(e.getName()).add(e.getPosition()).add(e.getNationality()).add(e.getTotalPoints());
+
     /** Plantilla de un equipo en formato DTO usado por UI. */
     public LiveData<List<PlayerAPI>> getSquadApiByTeam(int teamId) {
-        LiveData<List<PlayerEntity>> entities = playerDao.getSquadByTeam(teamId);
-        return Transformations.map(entities, list -> {
+        LiveData<List<PlayerEntity>> entities = DistinctContent.list(playerDao.getSquadByTeam(teamId), PLAYER_API_FIELDS);
+        return BackgroundMapper.map(entities, list -> {
             List<PlayerAPI> out = new ArrayList<>();
             if (list == null) return out;
             for (PlayerEntity e : list) {
@@ -870,8 +976,8 @@ public class FootballRepository {
 
     /** Jugadores propiedad del usuario en una liga, en formato PlayerAPI para UI de Mi Equipo. */
     public LiveData<List<PlayerAPI>> getMyTeamApiPlayers(long leagueId, long ownerUserId) {
-        LiveData<List<PlayerEntity>> squadLive = ownershipDao.getMySquad(leagueId, ownerUserId);
-        return Transformations.map(squadLive, list -> {
+        LiveData<List<PlayerEntity>> squadLive = DistinctContent.list(ownershipDao.getMySquad(leagueId, ownerUserId), PLAYER_API_FIELDS);
+        return BackgroundMapper.map(squadLive, list -> {
             List<PlayerAPI> out = new ArrayList<>();
             if (list == null) return out;
             for (PlayerEntity e : list) {
@@ -889,15 +995,8 @@ public class FootballRepository {
 
     /** Tiempos de adquisición de mis jugadores (para bloqueos de cláusula). */
     public androidx.lifecycle.LiveData<java.util.List<com.example.housemanager.database.pojo.OwnershipTime>> getMyOwnershipTimes(long leagueId, long ownerUserId) {
-        return ownershipDao.getMyOwnershipTimes(leagueId, ownerUserId);
-    }
-
-    /** Búsqueda simple para el mercado. */
-    public LiveData<List<Player>> searchPlayers(String searchTerm) {
-        return Transformations.map(
-                playerDao.searchAvailablePlayers(searchTerm),
-                this::convertPlayerEntitiesToMarketPlayers
-        );
+        return DistinctContent.list(ownershipDao.getMyOwnershipTimes(leagueId, ownerUserId),
+                (r, h) -> h.add(r.playerId).add(r.acquiredAtMillis));
     }
 
     /** Conteo para el mercado. */
@@ -905,36 +1004,30 @@ public class FootballRepository {
         return playerDao.getAvailablePlayersCount();
     }
 
-    /** Jugadores por posición para el mercado. */
-    public LiveData<List<Player>> getPlayersByPosition(String position) {
-        if (position == null) return getAllPlayers();
-        String p = position.trim().toLowerCase();
-        LiveData<List<PlayerEntity>> source;
-        switch (p) {
+    /** Posición tal como se guarda en players (Portero, Defensa, Medio, Delantero), o null = todas. */
+    @Nullable
+    private static String canonicalPosition(@Nullable String position) {
+        if (position == null) return null;
+        switch (position.trim().toLowerCase(Locale.ROOT)) {
             case "portero":
             case "gk":
             case "goalkeeper":
-                source = playerDao.getAvailablePorteros();
-                break;
+                return "Portero";
             case "defensa":
             case "df":
             case "defender":
-                source = playerDao.getAvailableDefensas();
-                break;
+                return "Defensa";
             case "medio":
             case "mf":
             case "midfielder":
-                source = playerDao.getAvailableMedios();
-                break;
+                return "Medio";
             case "delantero":
             case "fw":
             case "forward":
-                source = playerDao.getAvailableDelanteros();
-                break;
+                return "Delantero";
             default:
-                return getAllPlayers();
+                return null;
         }
-        return Transformations.map(source, this::convertPlayerEntitiesToMarketPlayers);
     }
 
     /** Compra un jugador (lo marca como no disponible). */
@@ -952,7 +1045,10 @@ public class FootballRepository {
                 own.setOwnerUserId(ownerUserId);
                 own.setAcquiredPrice(0);
                 own.setAcquiredAtMillis(System.currentTimeMillis());
-                ownershipDao.insert(own);
+                db.runInTransaction(() -> {
+                    ownershipDao.insert(own);
+                    pointsEngine.onOwnershipChanged(leagueId, playerId);
+                });
 
                 // Marcar listing como vendido si existía en el mercado de la liga 1
                 try { marketDao.markSold(leagueId, playerId); } catch (Exception ignored) { }
@@ -996,43 +1092,50 @@ public class FootballRepository {
 
     /** Fuerza sincronización completa desde API. */
     public void forceSyncFromAPI(@Nullable SyncCallback callback) {
-        isSyncing.postValue(true);
-        syncStatus.postValue("Forzando sincronización...");
-        executor.execute(() -> {
-            try {
-                // Limpieza básica para garantizar datos frescos
-                teamDao.deleteAllTeams();
-                playerDao.deleteAllPlayers();
-                performFullSync(callback);
-            } catch (Exception e) {
-                handleSyncError(e, callback);
-            }
+        // Sustituye a una sincronización de equipos en curso (sus callbacks reciben el resultado de esta)
+        orchestrator.restart(KEY_TEAMS_SYNC, callback, job -> {
+            isSyncing.postValue(true);
+            syncStatus.postValue("Forzando sincronización...");
+            orchestrator.db(SyncOrchestrator.Priority.NORMAL, () -> {
+                try {
+                    // Limpieza básica para garantizar datos frescos
+                    teamDao.deleteAllTeams();
+                    playerDao.deleteAllPlayers();
+                    playerSampler.invalidate();
+                    performFullSync(job);
+                } catch (Exception e) {
+                    handleSyncError(e, job);
+                }
+            });
         });
     }
 
     /** Punto de entrada de sincronización. Decide estrategia y ejecuta. */
     public void syncLaLigaTeams(@Nullable SyncCallback callback) {
-        isSyncing.postValue(true);
-        syncStatus.postValue("Comprobando datos...");
+        // Si ya hay una sincronización de equipos en curso, se une a ella
+        orchestrator.start(KEY_TEAMS_SYNC, callback, job -> {
+            isSyncing.postValue(true);
+            syncStatus.postValue("Comprobando datos...");
 
-        executor.execute(() -> {
-            try {
-                SyncDecision d = decideSyncStrategy();
-                switch (d.strategy) {
-                    case USE_CACHE:
-                        useCachedData(callback);
-                        break;
-                    case FULL_SYNC:
-                        performFullSync(callback);
-                        break;
-                    case PARTIAL_SYNC:
-                        // aquí simplificamos: se fuerza full para completar
-                        performFullSync(callback);
-                        break;
+            orchestrator.io(SyncOrchestrator.Priority.NORMAL, () -> {
+                try {
+                    SyncDecision d = decideSyncStrategy();
+                    switch (d.strategy) {
+                        case USE_CACHE:
+                            useCachedData(job);
+                            break;
+                        case FULL_SYNC:
+                            performFullSync(job);
+                            break;
+                        case PARTIAL_SYNC:
+                            // aquí simplificamos: se fuerza full para completar
+                            performFullSync(job);
+                            break;
+                    }
+                } catch (Exception e) {
+                    handleSyncError(e, job);
                 }
-            } catch (Exception e) {
-                handleSyncError(e, callback);
-            }
+            });
         });
     }
 
@@ -1068,7 +1171,7 @@ public class FootballRepository {
     }
 
     /** Sincroniza equipos y plantillas desde la API. */
-    private void performFullSync(SyncCallback callback) {
+    private void performFullSync(SyncOrchestrator.Handle callback) {
         syncStatus.postValue("Descargando equipos...");
 
         apiService.getLaLigaTeams().enqueue(new Callback<TeamsResponse>() {
@@ -1080,7 +1183,8 @@ public class FootballRepository {
                 }
                 List<TeamAPI> apiTeams = response.body().getTeams();
 
-                executor.execute(() -> {
+                orchestrator.db(SyncOrchestrator.Priority.NORMAL, () -> {
+                    if (callback.isCancelled()) return;
                     try {
                         syncStatus.postValue("Guardando equipos...");
                         saveTeamsToDatabase(apiTeams);
@@ -1101,42 +1205,58 @@ public class FootballRepository {
         });
     }
 
-    /** Recorre equipos y descarga sus jugadores respetando límite de peticiones. */
-    private void syncAllPlayersFromAPI(List<TeamAPI> teams, SyncCallback callback) {
-        executor.execute(() -> {
-            List<PlayerEntity> all = new ArrayList<>();
-            int total = teams.size();
-
-            for (int i = 0; i < total; i++) {
-                TeamAPI t = teams.get(i);
-
-                // espera para no exceder 10/min
-                if (i > 0) {
-                    try { Thread.sleep(7000L); } catch (InterruptedException ignored) { }
+    /**
+     * Descarga en paralelo las plantillas de todos los equipos. El ritmo lo marca RateLimitInterceptor
+     * según el cupo real de la API, así que no hay esperas fijas entre equipos.
+     */
+    private void syncAllPlayersFromAPI(List<TeamAPI> teams, SyncOrchestrator.Handle callback) {
+        List<PlayerEntity> all = java.util.Collections.synchronizedList(new ArrayList<>());
+        int total = teams.size();
+        if (total == 0) {
+            finalizeSyncWithRealData(all, callback);
+            return;
+        }
+        java.util.concurrent.atomic.AtomicInteger done = new java.util.concurrent.atomic.AtomicInteger();
+
+        for (TeamAPI t : teams) {
+            apiService.getTeamDetailsRaw(t.getId()).enqueue(new Callback<okhttp3.ResponseBody>() {
+                @Override
+                public void onResponse(Call<okhttp3.ResponseBody> call, Response<okhttp3.ResponseBody> r) {
+                    // Se lee la plantilla en streaming en el hilo de OkHttp, sin pasar por TeamAPI/PlayerAPI
+                    try (okhttp3.ResponseBody body = r.body()) {
+                        if (r.isSuccessful() && body != null) {
+                            all.addAll(com.example.housemanager.model.mappers.JsonStreamMapper.readSquad(body.charStream(), t.getId(), t.getName()));
+                        } else {
+                            Log.w(TAG, "Respuesta inválida en equipo " + t.getName() + " code=" + r.code());
+                            if (r.errorBody() != null) r.errorBody().close();
+                        }
+                    } catch (Exception e) {
+                        Log.w(TAG, "Plantilla ilegible en equipo " + t.getName(), e);
+                    }
+                    onTeamDone();
                 }
 
-                if (callback != null) {
-                    int curr = i + 1;
-                    runOnMainThread(() -> callback.onProgress("Equipo: " + t.getName(), curr, total));
+                @Override
+                public void onFailure(Call<okhttp3.ResponseBody> call, Throwable e) {
+                    Log.w(TAG, "Fallo en equipo " + t.getName(), e);
+                    onTeamDone();
                 }
 
-                try {
-                    Response<TeamAPI> r = apiService.getTeamDetails(t.getId()).execute();
-                    if (r.isSuccessful() && r.body() != null && r.body().getSquad() != null) {
-                        all.addAll(convertApiPlayersToEntities(r.body().getSquad(), t));
+                private void onTeamDone() {
+                    int curr = done.incrementAndGet();
+                    runOnMainThread(() -> callback.onProgress("Equipo: " + t.getName(), curr, total));
+                    if (curr == total && !callback.isCancelled()) {
+                        finalizeSyncWithRealData(new ArrayList<>(all), callback);
                     }
-                } catch (Exception e) {
-                    Log.w(TAG, "Fallo en equipo " + t.getName(), e);
                 }
-            }
-
-            finalizeSyncWithRealData(all, callback);
-        });
+            });
+        }
     }
 
     /** Guarda jugadores y marca fin de sincronización. */
-    private void finalizeSyncWithRealData(List<PlayerEntity> allPlayers, SyncCallback callback) {
-        executor.execute(() -> {
+    private void finalizeSyncWithRealData(List<PlayerEntity> allPlayers, SyncOrchestrator.Handle callback) {
+        orchestrator.db(SyncOrchestrator.Priority.NORMAL, () -> {
+            if (callback.isCancelled()) return;
             try {
                 syncStatus.postValue("Guardando jugadores...");
 
@@ -1148,6 +1268,7 @@ public class FootballRepository {
 
                     // Inserta ignorando (no tocará los existentes)
                     long[] ins = playerDao.insertIgnore(allPlayers);
+                    playerSampler.invalidate();
                     long now = System.currentTimeMillis();
                     // Para los que ya existían (id = -1), actualizar SOLO campos de ficha
                     for (int i = 0; i < allPlayers.size(); i++) {
@@ -1158,6 +1279,7 @@ public class FootballRepository {
                                     e.getName(),
                                     e.getTeamId(),
                                     e.getTeamName(),
+                                    e.getSearchText(),
                                     e.getPosition(),
                                     e.getNationality(),
                                     e.getCurrentPrice(),
@@ -1168,11 +1290,13 @@ public class FootballRepository {
                 }
 
                 Log.d(TAG, "Jugadores guardados/actualizados en Room: " + (allPlayers != null ? allPlayers.size() : 0));
+                // Nombres, equipos y precios nuevos en los mercados abiertos
+                marketDao.refreshActiveSnapshots();
 
                 markSyncCompleted(allPlayers != null ? allPlayers.size() : 0);
                 syncStatus.postValue("Listo");
                 isSyncing.postValue(false);
-                if (callback != null) callback.onSuccess();
+                callback.onSuccess();
             } catch (Exception e) {
                 handleSyncError(e, callback);
             }
@@ -1195,27 +1319,6 @@ public class FootballRepository {
         Log.d(TAG, "Equipos guardados/actualizados en Room: " + entities.size());
     }
 
-    /** Convierte DTOs de API a entidades de DB. */
-    private List<PlayerEntity> convertApiPlayersToEntities(List<PlayerAPI> apiPlayers, TeamAPI team) {
-        List<PlayerEntity> out = new ArrayList<>();
-        long now = System.currentTimeMillis();
-        for (PlayerAPI p : apiPlayers) {
-            PlayerEntity e = new PlayerEntity();
-            e.setPlayerId(p.getId());
-            e.setName(p.getName() != null ? p.getName() : "Jugador");
-            e.setTeamId(team.getId());
-            e.setTeamName(team.getName() != null ? team.getName() : "");
-            e.setPosition(translatePositionToSpanish(p.getPosition()));
-            e.setNationality(p.getNationality() != null ? p.getNationality() : "España");
-            e.setCurrentPrice(calculatePlayerPrice(e.getPosition()));
-            // No tocar totalPoints aquí: evitar sobrescribir puntos persistidos.
-            e.setAvailable(true);
-            e.setUpdatedAt(now);
-            out.add(e);
-        }
-        return out;
-    }
-
     /** Traduce posiciones al esquema usado en la app. */
     private String translatePositionToSpanish(String englishPosition) {
         if (englishPosition == null) return "Medio";
@@ -1289,6 +1392,7 @@ public class FootballRepository {
                 }
                 e.setUtcDateMillis(millis);
                 e.setStatus(m.getStatus());
+                e.setMatchday(m.getMatchday() != null ? m.getMatchday() : 0);
                 Integer home = null;
                 Integer away = null;
                 ScoreAPI score = m.getScore();
@@ -1332,19 +1436,24 @@ public class FootballRepository {
 
     /** Recalcula puntos para todos los partidos FINISHED presentes en Room usando eventos y alineaciones persistidos. */
     public void recomputePointsForAllFinishedMatches(@Nullable SyncCallback callback) {
-        executor.execute(() -> {
+        orchestrator.db(SyncOrchestrator.Priority.NORMAL, () -> {
             try {
                 List<MatchEntity> all = matchDao.getAllSync();
+                // Un partido = una escritura sobre players; se agrupan para que la UI reciba un solo aviso
+                BulkWriter writes = new BulkWriter(db);
                 if (all != null) {
                     for (MatchEntity m : all) {
                         if (m != null) {
                             String st = m.getStatus();
                             if (st != null && st.equalsIgnoreCase("FINISHED")) {
-                                recomputePointsForMatchInternal(m);
+                                recomputePointsForMatchInternal(m, writes);
                             }
                         }
                     }
                 }
+                writes.commit();
+                // El historial no toca players.totalPoints: lo ajusta el motor incremental
+                pointsEngine.recalcFinished(false);
                 if (callback != null) runOnMainThread(callback::onSuccess);
             } catch (Exception e) {
                 if (callback != null) runOnMainThread(() -> callback.onError(e));
@@ -1358,206 +1467,14 @@ public class FootballRepository {
     }
 
     /**
-     * Recalcula PlayerMatchPoints para TODAS las jornadas finalizadas (solo con datos verificables) e
-     * idempotentemente actualiza players.totalPoints = SUM(points).
+     * Recalcula PlayerMatchPoints de forma incremental: solo vuelve a puntuar los partidos FINISHED cuyo
+     * contenido (marcador, estado, alineación o eventos) ha cambiado, y ajusta players.totalPoints por diferencia.
+     * Si no ha cambiado nada es prácticamente gratis, así que puede llamarse en cada apertura del mercado.
      */
     public void recalcAllFinishedPoints(@Nullable SyncCallback callback) {
-        executor.execute(() -> {
+        orchestrator.db(SyncOrchestrator.Priority.NORMAL, () -> {
             try {
-                // 1) Limpiar tabla para hacerlo idempotente
-                try { playerMatchPointsDao.clearAll(); } catch (Exception ignored) { }
-
-                // 2) Recorrer partidos FINISHED y construir registros por jugador
-                List<MatchEntity> matches = matchDao.getAllSync();
-                java.util.Set<Integer> touchedPlayers = new java.util.HashSet<>();
-                if (matches != null) {
-                    for (MatchEntity match : matches) {
-                        if (match == null) continue;
-                        String st = match.getStatus();
-                        if (st == null || !"FINISHED".equalsIgnoreCase(st)) continue;
-
-                        long matchId = match.getMatchId();
-                        List<com.example.housemanager.database.entities.LineupEntryEntity> lineup = lineupEntryDao.getByMatch(matchId);
-                        List<com.example.housemanager.database.entities.MatchEventEntity> events = matchEventDao.getByMatch(matchId);
-                        boolean hasDetails = lineup != null && !lineup.isEmpty() && events != null && !events.isEmpty();
-                        if (!hasDetails) {
-                            // Fallback por equipo si no hay eventos y/o no hay alineación: aplicar 3/1/0
-                            Integer hs = match.getHomeScore();
-                            Integer as = match.getAwayScore();
-                            if (hs != null && as != null) {
-                                int homePts = (hs > as) ? 3 : (hs.equals(as) ? 1 : 0);
-                                int awayPts = (as > hs) ? 3 : (hs.equals(as) ? 1 : 0);
-                                List<com.example.housemanager.database.entities.PlayerMatchPoints> batch = new java.util.ArrayList<>();
-                                Integer mdVal = null;
-                                try { mdVal = (Integer) match.getClass().getMethod("getMatchday").invoke(match); } catch (Exception ignored) {}
-                                int md = mdVal != null ? mdVal : 0;
-
-                                if (lineup != null && !lineup.isEmpty()) {
-                                    // Con alineación: asignar +resultado y +2 a titulares
-                                    for (com.example.housemanager.database.entities.LineupEntryEntity le : lineup) {
-                                        if (le == null) continue;
-                                        int pid = le.getPlayerId();
-                                        int base = (le.getTeamId() == (int) match.getHomeTeamId()) ? homePts : awayPts;
-                                        int effPoints = base + ("STARTER".equalsIgnoreCase(le.getRole()) ? 2 : 0);
-
-                                        List<com.example.housemanager.database.entities.LeaguePlayerOwnership> owns = ownershipDao.getOwnershipsForPlayerSync(pid);
-                                        if (owns == null || owns.isEmpty()) {
-                                            com.example.housemanager.database.entities.PlayerMatchPoints rec = new com.example.housemanager.database.entities.PlayerMatchPoints();
-                                            rec.setMatchId(matchId);
-                                            rec.setPlayerId(pid);
-                                            rec.setMatchday(md);
-                                            rec.setPoints(effPoints);
-                                            batch.add(rec);
-                                        } else {
-                                            for (com.example.housemanager.database.entities.LeaguePlayerOwnership own : owns) {
-                                                int eff = effPoints;
-                                                try {
-                                                    com.example.housemanager.database.entities.Captain cap = captainDao.getCaptainSync(own.getLeagueId(), own.getOwnerUserId());
-                                                    if (cap != null && cap.getCaptainPlayerId() == pid) eff *= 2;
-                                                } catch (Exception ignoredCap) { }
-                                                com.example.housemanager.database.entities.PlayerMatchPoints rec = new com.example.housemanager.database.entities.PlayerMatchPoints();
-                                                rec.setMatchId(matchId);
-                                                rec.setPlayerId(pid);
-                                                rec.setMatchday(md);
-                                                rec.setPoints(eff);
-                                                batch.add(rec);
-                                            }
-                                        }
-                                        touchedPlayers.add(pid);
-                                    }
-                                } else {
-                                    // Sin alineación: asignar solo +resultado a toda la plantilla registrada de cada equipo
-                                    java.util.List<PlayerEntity> homePlayers = playerDao.getByTeamSync((int) match.getHomeTeamId());
-                                    java.util.List<PlayerEntity> awayPlayers = playerDao.getByTeamSync((int) match.getAwayTeamId());
-                                    if (homePlayers != null) {
-                                        for (PlayerEntity pe : homePlayers) {
-                                            int pid = pe.getPlayerId();
-                                            List<com.example.housemanager.database.entities.LeaguePlayerOwnership> owns = ownershipDao.getOwnershipsForPlayerSync(pid);
-                                            if (owns == null || owns.isEmpty()) {
-                                                com.example.housemanager.database.entities.PlayerMatchPoints rec = new com.example.housemanager.database.entities.PlayerMatchPoints();
-                                                rec.setMatchId(matchId);
-                                                rec.setPlayerId(pid);
-                                                rec.setMatchday(md);
-                                                rec.setPoints(homePts);
-                                                batch.add(rec);
-                                            } else {
-                                                for (com.example.housemanager.database.entities.LeaguePlayerOwnership own : owns) {
-                                                    int eff = homePts;
-                                                    try {
-                                                        com.example.housemanager.database.entities.Captain cap = captainDao.getCaptainSync(own.getLeagueId(), own.getOwnerUserId());
-                                                        if (cap != null && cap.getCaptainPlayerId() == pid) eff *= 2;
-                                                    } catch (Exception ignoredCap) { }
-                                                    com.example.housemanager.database.entities.PlayerMatchPoints rec = new com.example.housemanager.database.entities.PlayerMatchPoints();
-                                                    rec.setMatchId(matchId);
-                                                    rec.setPlayerId(pid);
-                                                    rec.setMatchday(md);
-                                                    rec.setPoints(eff);
-                                                    batch.add(rec);
-                                                }
-                                            }
-                                            touchedPlayers.add(pid);
-                                        }
-                                    }
-                                    if (awayPlayers != null) {
-                                        for (PlayerEntity pe : awayPlayers) {
-                                            int pid = pe.getPlayerId();
-                                            List<com.example.housemanager.database.entities.LeaguePlayerOwnership> owns = ownershipDao.getOwnershipsForPlayerSync(pid);
-                                            if (owns == null || owns.isEmpty()) {
-                                                com.example.housemanager.database.entities.PlayerMatchPoints rec = new com.example.housemanager.database.entities.PlayerMatchPoints();
-                                                rec.setMatchId(matchId);
-                                                rec.setPlayerId(pid);
-                                                rec.setMatchday(md);
-                                                rec.setPoints(awayPts);
-                                                batch.add(rec);
-                                            } else {
-                                                for (com.example.housemanager.database.entities.LeaguePlayerOwnership own : owns) {
-                                                    int eff = awayPts;
-                                                    try {
-                                                        com.example.housemanager.database.entities.Captain cap = captainDao.getCaptainSync(own.getLeagueId(), own.getOwnerUserId());
-                                                        if (cap != null && cap.getCaptainPlayerId() == pid) eff *= 2;
-                                                    } catch (Exception ignoredCap) { }
-                                                    com.example.housemanager.database.entities.PlayerMatchPoints rec = new com.example.housemanager.database.entities.PlayerMatchPoints();
-                                                    rec.setMatchId(matchId);
-                                                    rec.setPlayerId(pid);
-                                                    rec.setMatchday(md);
-                                                    rec.setPoints(eff);
-                                                    batch.add(rec);
-                                                }
-                                            }
-                                            touchedPlayers.add(pid);
-                                        }
-                                    }
-                                }
-
-                                if (!batch.isEmpty()) playerMatchPointsDao.insertAll(batch);
-                            }
-                            continue; // pasar al siguiente partido
-                        }
-
-                        java.util.Set<Integer> playerIds = new java.util.HashSet<>();
-                        for (com.example.housemanager.database.entities.LineupEntryEntity le : lineup) { if (le != null) playerIds.add(le.getPlayerId()); }
-                        for (com.example.housemanager.database.entities.MatchEventEntity ev : events) { if (ev != null) playerIds.add(ev.getPlayerId()); }
-                        if (playerIds.isEmpty()) continue;
-
-                        java.util.List<Integer> idsList = new java.util.ArrayList<>(playerIds);
-                        List<PlayerEntity> pel = playerDao.getByIdsSync(idsList);
-                        java.util.Map<Integer, PlayerEntity> byId = new java.util.HashMap<>();
-                        if (pel != null) for (PlayerEntity e : pel) byId.put(e.getPlayerId(), e);
-
-                        List<com.example.housemanager.database.entities.PlayerMatchPoints> batch = new java.util.ArrayList<>();
-                        Integer mdVal = null;
-                        try { mdVal = (Integer) match.getClass().getMethod("getMatchday").invoke(match); } catch (Exception ignored) {}
-                        int md = mdVal != null ? mdVal : 0;
-                        for (Integer pid : playerIds) {
-                            PlayerEntity pe = byId.get(pid);
-                            if (pe == null) continue;
-                            int pts = pointsCalculator.computeForPlayerInMatch(
-                                    pid,
-                                    pe.getPosition(),
-                                    pe.getTeamId(),
-                                    match,
-                                    events,
-                                    lineup
-                            );
-                            // Por cada liga donde el jugador pertenece a un usuario, crear fila (capitán x2 si aplica)
-                            List<com.example.housemanager.database.entities.LeaguePlayerOwnership> owns = ownershipDao.getOwnershipsForPlayerSync(pid);
-                            if (owns == null || owns.isEmpty()) {
-                                // Sin liga: guardar fila "global" sin liga no es parte del esquema; mantenemos puntos solo para totales desde esta tabla
-                                com.example.housemanager.database.entities.PlayerMatchPoints rec = new com.example.housemanager.database.entities.PlayerMatchPoints();
-                                rec.setMatchId(matchId);
-                                rec.setPlayerId(pid);
-                                rec.setMatchday(md);
-                                rec.setPoints(pts);
-                                batch.add(rec);
-                            } else {
-                                for (com.example.housemanager.database.entities.LeaguePlayerOwnership own : owns) {
-                                    int effPts = pts;
-                                    try {
-                                        com.example.housemanager.database.entities.Captain cap = captainDao.getCaptainSync(own.getLeagueId(), own.getOwnerUserId());
-                                        if (cap != null && cap.getCaptainPlayerId() == pid) {
-                                            effPts *= 2;
-                                        }
-                                    } catch (Exception ignoredCap) { }
-                                    com.example.housemanager.database.entities.PlayerMatchPoints rec = new com.example.housemanager.database.entities.PlayerMatchPoints();
-                                    rec.setMatchId(matchId);
-                                    rec.setPlayerId(pid);
-                                    rec.setMatchday(md);
-                                    rec.setPoints(effPts);
-                                    batch.add(rec);
-                                }
-                            }
-                            touchedPlayers.add(pid);
-                        }
-                        if (!batch.isEmpty()) playerMatchPointsDao.insertAll(batch);
-                    }
-                }
-
-                // 3) Actualizar totalPoints en players desde PlayerMatchPoints acumulado
-                for (Integer pid : touchedPlayers) {
-                    Integer total = playerMatchPointsDao.getSeasonPointsForPlayer(pid);
-                    playerDao.updateTotalPoints(pid, total != null ? total : 0);
-                }
-
+                pointsEngine.recalcFinished(false);
                 if (callback != null) runOnMainThread(callback::onSuccess);
             } catch (Exception e) {
                 if (callback != null) runOnMainThread(() -> callback.onError(e));
@@ -1565,127 +1482,29 @@ public class FootballRepository {
         });
     }
 
-    private void recomputePointsForMatchInternal(MatchEntity match) {
-        try {
-            // Solo calcular si el partido está FINISHED
-            if (match == null || match.getStatus() == null || !"FINISHED".equalsIgnoreCase(match.getStatus())) {
-                return;
-            }
-            long matchId = match.getMatchId();
-            // Cargar alineaciones y eventos de Room
-            List<com.example.housemanager.database.entities.LineupEntryEntity> lineup = lineupEntryDao.getByMatch(matchId);
-            List<com.example.housemanager.database.entities.MatchEventEntity> events = matchEventDao.getByMatch(matchId);
-
-            // Si faltan eventos o alineaciones, aplicar fallback basado en marcador
-            boolean hasLineup = (lineup != null && !lineup.isEmpty());
-            boolean hasEvents = (events != null && !events.isEmpty());
-            if (!hasLineup || !hasEvents) {
-                // Limpiar historial previo del partido e insertar filas de fallback
-                playerPointsHistoryDao.clearByMatch(matchId);
-                Integer hs = match.getHomeScore();
-                Integer as = match.getAwayScore();
-                if (hs != null && as != null) {
-                    int homePts = (hs > as) ? 3 : (hs.equals(as) ? 1 : 0);
-                    int awayPts = (as > hs) ? 3 : (hs.equals(as) ? 1 : 0);
-
-                    if (hasLineup) {
-                        // Con alineación: asignar +resultado y +2 a titulares
-                        for (com.example.housemanager.database.entities.LineupEntryEntity le : lineup) {
-                            if (le == null) continue;
-                            int teamPts = (le.getTeamId() == (int) match.getHomeTeamId()) ? homePts : awayPts;
-                            int pts = teamPts;
-                            if ("STARTER".equalsIgnoreCase(le.getRole())) {
-                                pts += 2;
-                            }
-                            com.example.housemanager.database.entities.PlayerPointsHistoryEntity rec = new com.example.housemanager.database.entities.PlayerPointsHistoryEntity();
-                            rec.setMatchId(matchId);
-                            rec.setPlayerId(le.getPlayerId());
-                            rec.setPoints(pts);
-                            playerPointsHistoryDao.insert(rec);
-                            Integer total = playerPointsHistoryDao.getTotalForPlayer(le.getPlayerId());
-                            playerDao.updateTotalPoints(le.getPlayerId(), total != null ? total : 0);
-                        }
-                    } else {
-                        // Sin alineación: asignar solo +resultado a toda la plantilla registrada de cada equipo
-                        java.util.List<PlayerEntity> homePlayers = playerDao.getByTeamSync((int) match.getHomeTeamId());
-                        java.util.List<PlayerEntity> awayPlayers = playerDao.getByTeamSync((int) match.getAwayTeamId());
-                        if (homePlayers != null) {
-                            for (PlayerEntity pe : homePlayers) {
-                                com.example.housemanager.database.entities.PlayerPointsHistoryEntity rec = new com.example.housemanager.database.entities.PlayerPointsHistoryEntity();
-                                rec.setMatchId(matchId);
-                                rec.setPlayerId(pe.getPlayerId());
-                                rec.setPoints(homePts);
-                                playerPointsHistoryDao.insert(rec);
-                                Integer total = playerPointsHistoryDao.getTotalForPlayer(pe.getPlayerId());
-                                playerDao.updateTotalPoints(pe.getPlayerId(), total != null ? total : 0);
-                            }
-                        }
-                        if (awayPlayers != null) {
-                            for (PlayerEntity pe : awayPlayers) {
-                                com.example.housemanager.database.entities.PlayerPointsHistoryEntity rec = new com.example.housemanager.database.entities.PlayerPointsHistoryEntity();
-                                rec.setMatchId(matchId);
-                                rec.setPlayerId(pe.getPlayerId());
-                                rec.setPoints(awayPts);
-                                playerPointsHistoryDao.insert(rec);
-                                Integer total = playerPointsHistoryDao.getTotalForPlayer(pe.getPlayerId());
-                                playerDao.updateTotalPoints(pe.getPlayerId(), total != null ? total : 0);
-                            }
-                        }
-                    }
-                }
-                return;
-            }
-
-            // Construir conjunto de jugadores implicados (alineación y eventos)
-            java.util.Set<Integer> playerIds = new java.util.HashSet<>();
-            for (com.example.housemanager.database.entities.LineupEntryEntity le : lineup) {
-                if (le != null) playerIds.add(le.getPlayerId());
-            }
-            for (com.example.housemanager.database.entities.MatchEventEntity ev : events) {
-                if (ev != null) playerIds.add(ev.getPlayerId());
-            }
-
-            if (playerIds.isEmpty()) {
-                return; // sin jugadores, nada que recalcular (no inventamos)
+    /**
+     * Reconstruye PlayerMatchPoints desde cero para TODAS las jornadas finalizadas e
+     * idempotentemente actualiza players.totalPoints = SUM(points).
+     */
+    public void rebuildAllFinishedPoints(@Nullable SyncCallback callback) {
+        // Lo pide el usuario: por delante de los recálculos de fondo
+        orchestrator.db(SyncOrchestrator.Priority.HIGH, () -> {
+            try {
+                pointsEngine.recalcFinished(true);
+                if (callback != null) runOnMainThread(callback::onSuccess);
+            } catch (Exception e) {
+                if (callback != null) runOnMainThread(() -> callback.onError(e));
             }
+        });
+    }
 
-            // Limpiar historial previo de ese partido e insertar de nuevo
-            playerPointsHistoryDao.clearByMatch(matchId);
-
-            // Obtener datos de jugadores para posición/teamId
-            java.util.List<Integer> idsList = new java.util.ArrayList<>(playerIds);
-            List<PlayerEntity> entities = playerDao.getByIdsSync(idsList);
-            java.util.Map<Integer, PlayerEntity> byId = new java.util.HashMap<>();
-            if (entities != null) {
-                for (PlayerEntity e : entities) byId.put(e.getPlayerId(), e);
-            }
+    private void recomputePointsForMatchInternal(MatchEntity match) {
+        recomputePointsForMatchInternal(match, null);
+    }
 
-            for (Integer pid : playerIds) {
-                PlayerEntity pe = byId.get(pid);
-                if (pe == null) continue; // jugador no conocido en Room
-                int pts = pointsCalculator.computeForPlayerInMatch(
-                        pid,
-                        pe.getPosition(),
-                        pe.getTeamId(),
-                        match,
-                        events,
-                        lineup
-                );
-
-                com.example.housemanager.database.entities.PlayerPointsHistoryEntity rec = new com.example.housemanager.database.entities.PlayerPointsHistoryEntity();
-                rec.setMatchId(matchId);
-                rec.setPlayerId(pid);
-                rec.setPoints(pts);
-                playerPointsHistoryDao.insert(rec);
-
-                // Recalcular total acumulado del jugador
-                Integer total = playerPointsHistoryDao.getTotalForPlayer(pid);
-                int finalTotal = (total != null ? total : 0);
-                playerDao.updateTotalPoints(pid, finalTotal);
-                Log.d(TAG, "updateTotalPoints playerId=" + pid + " total=" + finalTotal);
-            }
-        } catch (Exception ignored) {
-        }
+    /** Con bulk, la escritura del partido se encola en lugar de aplicarse en su propia transacción. */
+    private void recomputePointsForMatchInternal(MatchEntity match, @Nullable BulkWriter bulk) {
+        pointsHistoryWriter.write(match, bulk);
     }
 
     /** Sincroniza jornada actual, guarda partidos + alineaciones + eventos y recalcula puntos acumulados. */
@@ -1699,7 +1518,8 @@ public class FootballRepository {
      * y recalcula los puntos acumulados (sumatorio histórico).
      */
     public void syncAndRecalculatePointsForAllMatchdaysUpToCurrent(@Nullable SyncCallback callback) {
-        executor.execute(() -> {
+        // Una pasada completa sustituye a otra en curso y a la incremental (que ya cubre)
+        orchestrator.restart(KEY_SEASON_REPLAY, callback, job -> orchestrator.io(SyncOrchestrator.Priority.LOW, () -> {
             try {
                 // 1) Obtener jornada actual
                 int currentMd;
@@ -1713,181 +1533,242 @@ public class FootballRepository {
                     currentMd = 1; // fallback
                 }
 
+                long startedAt = System.currentTimeMillis();
+                boolean complete = true;
+                // Registro de detalles ya descargados: los partidos cerrados no se vuelven a pedir
+                java.util.Map<Long, com.example.housemanager.database.entities.MatchSyncState> ledger = loadDetailLedger();
+                DetailSyncStats stats = new DetailSyncStats();
+
                 // 2) Recorrer desde la jornada 1 hasta la actual
                 for (int md = 1; md <= currentMd; md++) {
+                    if (job.isCancelled()) return;
                     try {
-                        retrofit2.Response<MatchesResponse> matchesResp = apiService.getMatchesByMatchday(md).execute();
-                        if (!matchesResp.isSuccessful() || matchesResp.body() == null) {
-                            continue; // saltar si falla una jornada
+                        // Guardar partidos de la jornada y descargar el detalle de los que lo necesiten
+                        if (syncMatchList(apiService.getMatchesByMatchdayRaw(md), ledger, stats, job, SyncOrchestrator.Priority.LOW) < 0) {
+                            complete = false; // saltar si falla una jornada
                         }
-                        List<MatchAPI> apiMatches = matchesResp.body().getMatches();
-                        List<MatchEntity> entities = convertApiMatchesToEntities(apiMatches);
-                        // IMPORTANTE: no borrar toda la tabla. Insertar/actualizar en REPLACE.
-                        if (!entities.isEmpty()) matchDao.insertAll(entities);
+                    } catch (Exception ignoreMd) {
+                        // continuar con la siguiente jornada si falla una
+                        complete = false;
+                    }
+                }
 
-                        // Para cada partido, descargar detalle (si disponible), persistir y recalcular
-                        for (MatchEntity m : entities) {
-                            try {
-                                retrofit2.Response<com.example.housemanager.api.models.MatchDetailResponse> detResp = apiService.getMatchDetail(m.getMatchId()).execute();
-                                if (detResp.isSuccessful() && detResp.body() != null) {
-                                    com.example.housemanager.api.models.MatchDetailResponse d = detResp.body();
-                                    // Persistir alineaciones
-                                    lineupEntryDao.clearByMatch(m.getMatchId());
-                                    java.util.List<com.example.housemanager.database.entities.LineupEntryEntity> entries = new java.util.ArrayList<>();
-                                    if (d.getHomeTeamLineup() != null) {
-                                        for (com.example.housemanager.api.models.LineupEntryAPI le : d.getHomeTeamLineup().getStartXI()) {
-                                            if (le != null && le.getPlayer() != null) {
-                                                com.example.housemanager.database.entities.LineupEntryEntity e = new com.example.housemanager.database.entities.LineupEntryEntity();
-                                                e.setMatchId(m.getMatchId());
-                                                e.setPlayerId(le.getPlayer().getId());
-                                                e.setTeamId((int) m.getHomeTeamId());
-                                                e.setRole("STARTER");
-                                                entries.add(e);
-                                            }
-                                        }
-                                        for (com.example.housemanager.api.models.LineupEntryAPI le : d.getHomeTeamLineup().getSubstitutes()) {
-                                            if (le != null && le.getPlayer() != null) {
-                                                com.example.housemanager.database.entities.LineupEntryEntity e = new com.example.housemanager.database.entities.LineupEntryEntity();
-                                                e.setMatchId(m.getMatchId());
-                                                e.setPlayerId(le.getPlayer().getId());
-                                                e.setTeamId((int) m.getHomeTeamId());
-                                                e.setRole("SUB");
-                                                entries.add(e);
-                                            }
-                                        }
-                                    }
-                                    if (d.getAwayTeamLineup() != null) {
-                                        for (com.example.housemanager.api.models.LineupEntryAPI le : d.getAwayTeamLineup().getStartXI()) {
-                                            if (le != null && le.getPlayer() != null) {
-                                                com.example.housemanager.database.entities.LineupEntryEntity e = new com.example.housemanager.database.entities.LineupEntryEntity();
-                                                e.setMatchId(m.getMatchId());
-                                                e.setPlayerId(le.getPlayer().getId());
-                                                e.setTeamId((int) m.getAwayTeamId());
-                                                e.setRole("STARTER");
-                                                entries.add(e);
-                                            }
-                                        }
-                                        for (com.example.housemanager.api.models.LineupEntryAPI le : d.getAwayTeamLineup().getSubstitutes()) {
-                                            if (le != null && le.getPlayer() != null) {
-                                                com.example.housemanager.database.entities.LineupEntryEntity e = new com.example.housemanager.database.entities.LineupEntryEntity();
-                                                e.setMatchId(m.getMatchId());
-                                                e.setPlayerId(le.getPlayer().getId());
-                                                e.setTeamId((int) m.getAwayTeamId());
-                                                e.setRole("SUB");
-                                                entries.add(e);
-                                            }
-                                        }
-                                    }
-                                    if (!entries.isEmpty()) {
-                                        lineupEntryDao.insertAll(entries);
-                                    }
+                Log.d(TAG, "Temporada completa: " + stats);
 
-                                    // Upsert mínimo de jugadores que aparecen en alineaciones
-                                    try {
-                                        for (com.example.housemanager.database.entities.LineupEntryEntity le : entries) {
-                                            ensurePlayerExistsIfMissing(le.getPlayerId(), null,
-                                                    le.getTeamId(), le.getTeamId() == (int) m.getHomeTeamId() ? m.getHomeTeamName() : m.getAwayTeamName(),
-                                                    "Unknown");
-                                        }
-                                    } catch (Exception ignoredUpsert) {}
-
-                                    // Persistir eventos (goals/bookings preferidos; fallback a events[])
-                                    matchEventDao.clearByMatch(m.getMatchId());
-                                    java.util.List<com.example.housemanager.database.entities.MatchEventEntity> evs = new java.util.ArrayList<>();
-
-                                    // Goals
-                                    if (d.getGoals() != null) {
-                                        for (com.example.housemanager.api.models.GoalAPI g : d.getGoals()) {
-                                            if (g == null || g.getScorer() == null) continue;
-                                            int pid = g.getScorer().getId();
-                                            String pname = g.getScorer().getName();
-                                            ensurePlayerExistsIfMissing(pid, pname, 0, "", null);
-                                            String type = g.getType() != null ? g.getType().toUpperCase() : "REGULAR";
-                                            String mapped = type.equals("PENALTY") ? "GOAL_PENALTY" : (type.equals("OWN") ? "GOAL_OWN" : "GOAL_REGULAR");
-
-                                            com.example.housemanager.database.entities.MatchEventEntity me = new com.example.housemanager.database.entities.MatchEventEntity();
-                                            me.setMatchId(m.getMatchId());
-                                            me.setPlayerId(pid);
-                                            me.setType(mapped);
-                                            me.setMinute(null);
-                                            // teamId se resolverá luego por lineup para cálculo
-                                            evs.add(me);
-
-                                            if (g.getAssist() != null) {
-                                                int aid = g.getAssist().getId();
-                                                String aname = g.getAssist().getName();
-                                                ensurePlayerExistsIfMissing(aid, aname, 0, "", null);
-                                                com.example.housemanager.database.entities.MatchEventEntity as = new com.example.housemanager.database.entities.MatchEventEntity();
-                                                as.setMatchId(m.getMatchId());
-                                                as.setPlayerId(aid);
-                                                as.setType("ASSIST");
-                                                as.setMinute(null);
-                                                evs.add(as);
-                                            }
-                                        }
-                                    }
+                // Al terminar la sincronización de todas las jornadas, recalcular puntos acumulados de toda la temporada
+                recalcAllFinishedPoints(null);
+                if (complete) markMatchesSynced(startedAt);
+                runOnMainThread(job::onSuccess);
+            } catch (Exception e) {
+                runOnMainThread(() -> job.onError(e));
+            }
+        }), KEY_MATCH_DELTA);
+    }
 
-                                    // Bookings
-                                    if (d.getBookings() != null) {
-                                        for (com.example.housemanager.api.models.BookingAPI b : d.getBookings()) {
-                                            if (b == null || b.getPlayer() == null) continue;
-                                            int pid = b.getPlayer().getId();
-                                            String pname = b.getPlayer().getName();
-                                            ensurePlayerExistsIfMissing(pid, pname, 0, "", null);
-                                            String card = b.getCard() != null ? b.getCard().toUpperCase() : "YELLOW";
-                                            String mapped = card.equals("RED") ? "CARD_RED" : (card.equals("YELLOW_RED") ? "CARD_SECOND_YELLOW" : "CARD_YELLOW");
-                                            com.example.housemanager.database.entities.MatchEventEntity ce = new com.example.housemanager.database.entities.MatchEventEntity();
-                                            ce.setMatchId(m.getMatchId());
-                                            ce.setPlayerId(pid);
-                                            ce.setType(mapped);
-                                            ce.setMinute(null);
-                                            evs.add(ce);
-                                        }
-                                    }
+    /**
+     * Sincronización incremental de partidos: solo pide los partidos con fecha desde la última
+     * sincronización completada (con un margen de solape) hasta mañana, en ventanas de fechas.
+     * Sin marca previa hace la pasada completa por jornadas.
+     */
+    public void syncMatchesSinceLastSync(@Nullable SyncCallback callback) {
+        long syncedAt = syncPrefs.getLong(PREF_MATCHES_SYNCED_AT, 0L);
+        if (syncedAt <= 0L) {
+            syncAndRecalculatePointsForAllMatchdaysUpToCurrent(callback);
+            return;
+        }
+        // Si hay una pasada completa en curso ya cubre esta; si hay otra incremental, se une a ella
+        if (orchestrator.join(KEY_SEASON_REPLAY, callback)) return;
+        orchestrator.start(KEY_MATCH_DELTA, callback, job -> orchestrator.io(SyncOrchestrator.Priority.NORMAL, () -> {
+            if (matchDao.existsFinishedWithoutMatchday() || matchScoringStateDao.existsScoredWithoutMatch()) {
+                // Partidos guardados antes de la columna matchday, o puntuados y borrados de matches por versiones
+                // que vaciaban la tabla: la pasada completa los vuelve a descargar y sustituye a esta
+                Log.d(TAG, "Partidos sin jornada o ausentes: se hace la pasada completa");
+                syncAndRecalculatePointsForAllMatchdaysUpToCurrent(null);
+                return;
+            }
+            try {
+                long startedAt = System.currentTimeMillis();
+                boolean complete = true;
+                java.time.LocalDate from = java.time.Instant.ofEpochMilli(syncedAt - DELTA_SYNC_OVERLAP_MILLIS)
+                        .atZone(java.time.ZoneOffset.UTC).toLocalDate();
+                java.time.LocalDate to = java.time.LocalDate.now(java.time.ZoneOffset.UTC).plusDays(1);
+
+                java.util.Map<Long, com.example.housemanager.database.entities.MatchSyncState> ledger = loadDetailLedger();
+                DetailSyncStats stats = new DetailSyncStats();
+                int received = 0;
+                for (java.time.LocalDate start = from; !start.isAfter(to); start = start.plusDays(DATE_RANGE_MAX_DAYS)) {
+                    if (job.isCancelled()) return;
+                    java.time.LocalDate end = start.plusDays(DATE_RANGE_MAX_DAYS - 1);
+                    if (end.isAfter(to)) end = to;
+                    try {
+                        int read = syncMatchList(apiService.getMatchesRaw(
+                                start.format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE),
+                                end.format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE)), ledger, stats, job,
+                                SyncOrchestrator.Priority.NORMAL);
+                        if (read < 0) {
+                            complete = false;
+                            continue;
+                        }
+                        received += read;
+                    } catch (Exception ignoreWindow) {
+                        complete = false;
+                    }
+                }
 
-                                    // Fallback genérico si no tenemos arrays específicos
-                                    if ((d.getGoals() == null || d.getGoals().isEmpty()) && (d.getBookings() == null || d.getBookings().isEmpty()) && d.getEvents() != null) {
-                                        for (com.example.housemanager.api.models.MatchEventAPI ev : d.getEvents()) {
-                                            if (ev == null || ev.getPlayer() == null) continue;
-                                            String t = ev.getType() != null ? ev.getType().toUpperCase() : "";
-                                            String mapped;
-                                            if (t.contains("GOAL")) mapped = "GOAL_REGULAR";
-                                            else if (t.contains("YELLOW")) mapped = t.contains("SECOND") ? "CARD_SECOND_YELLOW" : "CARD_YELLOW";
-                                            else if (t.contains("RED")) mapped = "CARD_RED";
-                                            else continue;
-                                            com.example.housemanager.database.entities.MatchEventEntity me = new com.example.housemanager.database.entities.MatchEventEntity();
-                                            me.setMatchId(m.getMatchId());
-                                            me.setPlayerId(ev.getPlayer().getId());
-                                            me.setType(mapped);
-                                            me.setMinute(null);
-                                            evs.add(me);
-                                        }
-                                    }
+                Log.d(TAG, "Sincronización incremental " + from + " -> " + to + ": " + received + " partidos, " + stats);
+                recalcAllFinishedPoints(null);
+                if (complete) markMatchesSynced(startedAt);
+                runOnMainThread(job::onSuccess);
+            } catch (Exception e) {
+                runOnMainThread(() -> job.onError(e));
+            }
+        }));
+    }
 
-                                    if (!evs.isEmpty()) matchEventDao.insertAll(evs);
+    /** Guarda la marca de la última sincronización de partidos completada sin errores. */
+    private void markMatchesSynced(long startedAtMillis) {
+        syncPrefs.edit().putLong(PREF_MATCHES_SYNCED_AT, startedAtMillis).apply();
+    }
 
-                                    // Recalcular puntos de este partido
-                                    recomputePointsForMatchInternal(m);
-                                }
-                            } catch (Exception ignoreOne) {
-                                // continuar con el siguiente partido
-                            }
+    /** Contadores de una pasada de descarga de detalles (para el log). */
+    private static final class DetailSyncStats {
+        int fetched, unchanged, skipped;
 
-                            // Respetar un pequeño retraso para no saturar la API en planes con límite
-                            try { Thread.sleep(250L); } catch (InterruptedException ignored) { }
-                        }
-                    } catch (Exception ignoreMd) {
-                        // continuar con la siguiente jornada si falla una
+        @Override
+        public String toString() {
+            return fetched + " detalles descargados (" + unchanged + " sin cambios), " + skipped + " ya cerrados";
+        }
+    }
+
+    /** Carga match_sync_state indexado por partido. */
+    private java.util.Map<Long, com.example.housemanager.database.entities.MatchSyncState> loadDetailLedger() {
+        java.util.Map<Long, com.example.housemanager.database.entities.MatchSyncState> ledger = new java.util.HashMap<>();
+        List<com.example.housemanager.database.entities.MatchSyncState> known = matchSyncStateDao.getAllSync();
+        if (known != null) {
+            for (com.example.housemanager.database.entities.MatchSyncState st : known) ledger.put(st.getMatchId(), st);
+        }
+        return ledger;
+    }
+
+    /**
+     * Descarga el detalle (en streaming) de los partidos indicados, guarda alineaciones y eventos si
+     * han cambiado y recalcula sus puntos. El ritmo de peticiones lo controla RateLimitInterceptor;
+     * las escrituras se hacen en el carril db con la prioridad indicada.
+     */
+    private void syncDetailsFor(List<MatchEntity> entities,
+                                java.util.Map<Long, com.example.housemanager.database.entities.MatchSyncState> ledger,
+                                DetailSyncStats stats, SyncOrchestrator.Handle job, SyncOrchestrator.Priority priority) {
+        for (MatchEntity m : entities) {
+            if (job.isCancelled()) return;
+            com.example.housemanager.database.entities.MatchSyncState prev = ledger.get(m.getMatchId());
+            try {
+                retrofit2.Response<okhttp3.ResponseBody> detResp = apiService.getMatchDetailRaw(m.getMatchId()).execute();
+                com.example.housemanager.model.mappers.JsonStreamMapper.MatchDetailEntities d;
+                try (okhttp3.ResponseBody body = detResp.body()) {
+                    if (!detResp.isSuccessful() || body == null) {
+                        if (detResp.errorBody() != null) detResp.errorBody().close();
+                        continue;
                     }
+                    d = com.example.housemanager.model.mappers.JsonStreamMapper.readMatchDetail(body.charStream(), m);
                 }
+                stats.fetched++;
+
+                // Solo reescribir y recalcular si el contenido ha cambiado desde la última descarga
+                long hash = detailContentHash(m, d.lineup, d.events);
+                boolean unchanged = prev != null && prev.getContentHash() == hash;
+                if (unchanged) stats.unchanged++;
+                com.example.housemanager.database.entities.MatchSyncState[] recorded = new com.example.housemanager.database.entities.MatchSyncState[1];
+                orchestrator.dbAndWait(priority, () -> {
+                    if (!unchanged) {
+                        matchDetailIngestor.write(m, d);
+
+                        // Recalcular puntos de este partido
+                        recomputePointsForMatchInternal(m);
+                    }
+                    recorded[0] = recordDetailSync(m, hash);
+                });
+                ledger.put(m.getMatchId(), recorded[0]);
+            } catch (Exception ignoreOne) {
+                // continuar con el siguiente partido
+            }
+        }
+    }
 
-                // Al terminar la sincronización de todas las jornadas, recalcular puntos acumulados de toda la temporada
-                recalcAllFinishedPoints(null);
-                if (callback != null) runOnMainThread(callback::onSuccess);
-            } catch (Exception e) {
-                if (callback != null) runOnMainThread(() -> callback.onError(e));
+    /**
+     * Lee en streaming una lista de partidos, la guarda en lotes (ya cerrada la respuesta, en el carril db)
+     * y después descarga el detalle de los que lo necesitan. Devuelve los partidos leídos, o -1 si la
+     * petición falla.
+     */
+    private int syncMatchList(retrofit2.Call<okhttp3.ResponseBody> call,
+                              java.util.Map<Long, com.example.housemanager.database.entities.MatchSyncState> ledger,
+                              DetailSyncStats stats, SyncOrchestrator.Handle job,
+                              SyncOrchestrator.Priority priority) throws java.io.IOException {
+        retrofit2.Response<okhttp3.ResponseBody> resp = call.execute();
+        List<List<MatchEntity>> batches = new ArrayList<>();
+        List<MatchEntity> pending = new ArrayList<>();
+        int read;
+        try (okhttp3.ResponseBody body = resp.body()) {
+            if (!resp.isSuccessful() || body == null) {
+                if (resp.errorBody() != null) resp.errorBody().close();
+                return -1;
             }
-        });
+            read = com.example.housemanager.model.mappers.JsonStreamMapper.readMatches(body.charStream(), MATCH_BATCH_SIZE, batch -> {
+                batches.add(new ArrayList<>(batch));
+                for (MatchEntity m : batch) {
+                    if (isDetailSettled(ledger.get(m.getMatchId()), m)) stats.skipped++;
+                    else pending.add(m);
+                }
+            });
+        }
+        for (List<MatchEntity> batch : batches) {
+            // IMPORTANTE: no borrar toda la tabla. Insertar/actualizar en REPLACE.
+            orchestrator.dbAndWait(priority, () -> {
+                matchDao.insertAll(batch);
+                // Sin esperar al aviso asíncrono del InvalidationTracker: se puntúa justo después
+                matchCache.invalidate();
+            });
+        }
+        // Los detalles se piden con la respuesta ya cerrada: no retener la conexión mientras se espera cupo
+        syncDetailsFor(pending, ledger, stats, job, priority);
+        return read;
+    }
+
+    /** Un partido no se vuelve a pedir si se descargó ya terminado y pasado el margen de correcciones. */
+    private static boolean isDetailSettled(@Nullable com.example.housemanager.database.entities.MatchSyncState state, MatchEntity m) {
+        return state != null && state.isComplete()
+                && "FINISHED".equalsIgnoreCase(state.getStatus())
+                && "FINISHED".equalsIgnoreCase(m.getStatus());
+    }
+
+    /** Huella de lo que se guarda de un partido: estado, marcador, alineaciones y eventos. */
+    private static long detailContentHash(MatchEntity m,
+                                          List<com.example.housemanager.database.entities.LineupEntryEntity> entries,
+                                          List<com.example.housemanager.database.entities.MatchEventEntity> evs) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(m.getStatus()).append('|').append(m.getHomeScore()).append('-').append(m.getAwayScore()).append('|');
+        for (com.example.housemanager.database.entities.LineupEntryEntity e : entries) {
+            sb.append(e.getPlayerId()).append(':').append(e.getTeamId()).append(':').append(e.getRole()).append(',');
+        }
+        sb.append('|');
+        for (com.example.housemanager.database.entities.MatchEventEntity e : evs) {
+            sb.append(e.getPlayerId()).append(':').append(e.getType()).append(',');
+        }
+        return PointsEngine.fingerprint(sb.toString());
+    }
+
+    /** Anota la descarga del detalle de un partido en match_sync_state. */
+    private com.example.housemanager.database.entities.MatchSyncState recordDetailSync(MatchEntity m, long hash) {
+        long now = System.currentTimeMillis();
+        com.example.housemanager.database.entities.MatchSyncState state = new com.example.housemanager.database.entities.MatchSyncState();
+        state.setMatchId(m.getMatchId());
+        state.setStatus(m.getStatus());
+        state.setDetailFetchedAtMillis(now);
+        state.setContentHash(hash);
+        state.setComplete("FINISHED".equalsIgnoreCase(m.getStatus())
+                && m.getUtcDateMillis() > 0
+                && now >= m.getUtcDateMillis() + DETAIL_SETTLE_MILLIS);
+        matchSyncStateDao.upsert(state);
+        return state;
     }
 
     /** Actualiza estado de error. */
@@ -1906,6 +1787,9 @@ public class FootballRepository {
                     try { marketDao.clearLeagueMarket(leagueId); } catch (Exception ignored) {}
                     try { marketStateDao.deleteByLeague(leagueId); } catch (Exception ignored) {}
                     try { ownershipDao.deleteByLeague(leagueId); } catch (Exception ignored) {}
+                    try { leaguePointsDao.deleteByLeague(leagueId); } catch (Exception ignored) {}
+                    try { standingDao.deleteByLeague(leagueId); } catch (Exception ignored) {}
+                    try { snapshotDao.deleteByLeague(leagueId); } catch (Exception ignored) {}
                     try { captainDao.deleteCaptainByLeague(leagueId); } catch (Exception ignored) {}
                     try { leagueDao.deleteLeagueCore(leagueId); } catch (Exception ignored) {}
                 });
@@ -1921,26 +1805,6 @@ public class FootballRepository {
         h.post(action);
     }
 
-    /** Crea un jugador mínimo si no existe, para no perder eventos/alineaciones por id desconocido. */
-    private void ensurePlayerExistsIfMissing(int playerId, @Nullable String name, int teamId, @Nullable String teamName, @Nullable String position) {
-        try {
-            List<PlayerEntity> existing = playerDao.getByIdsSync(java.util.Collections.singletonList(playerId));
-            if (existing != null && !existing.isEmpty()) return;
-            PlayerEntity e = new PlayerEntity();
-            e.setPlayerId(playerId);
-            e.setName(name != null ? name : ("Jugador " + playerId));
-            e.setTeamId(teamId);
-            e.setTeamName(teamName != null ? teamName : "");
-            e.setPosition(position != null ? position : "Medio");
-            e.setNationality("");
-            e.setCurrentPrice(0);
-            e.setTotalPoints(0);
-            e.setAvailable(true);
-            e.setUpdatedAt(System.currentTimeMillis());
-            playerDao.insertPlayer(e);
-        } catch (Exception ignored) { }
-    }
-
     /** Auditoría de un partido: registra métricas para depuración de puntos. */
     public void auditMatchPoints(long matchId) {
         executor.execute(() -> {
@@ -2007,7 +1871,7 @@ public class FootballRepository {
                 try { playerDao.clearMarket(); } catch (Exception ignored) { }
 
                 // Elegir 10 ids aleatorios de TODOS los jugadores
-                List<Integer> ids = playerDao.getRandomPlayerIdsSync(10);
+                List<Integer> ids = playerSampler.sampleIds(10);
                 if (ids != null && !ids.isEmpty()) {
                     try { playerDao.markAvailableInIds(ids); } catch (Exception ignored) { }
                 }
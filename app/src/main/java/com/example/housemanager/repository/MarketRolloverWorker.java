@@ -0,0 +1,49 @@
+package com.example.housemanager.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trabajo periódico (WorkManager, sobrevive al cierre de la app) que rota los mercados de todas las ligas:
+ * sortea el mercado siguiente antes de la hora de reseteo de cada liga y activa los que ya han caducado.
+ * Así, al abrir el mercado después del reseteo no hay que generar nada.
+ */
+public class MarketRolloverWorker extends Worker {
+
+    private static final String TAG = "MarketRolloverWorker";
+    private static final String UNIQUE_NAME = "market_rollover";
+    private static final long PERIOD_MINUTES = 60;
+
+    public MarketRolloverWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Programa la rotación cada hora; si ya estaba programada, se conserva. */
+    public static void schedule(@NonNull Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                MarketRolloverWorker.class, PERIOD_MINUTES, TimeUnit.MINUTES).build();
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniquePeriodicWork(UNIQUE_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            FootballRepository.getInstance(getApplicationContext()).rolloverMarketsSync();
+            return Result.success();
+        } catch (Exception e) {
+            Log.w(TAG, "Error rotando mercados", e);
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.housemanager.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.InvalidationTracker;
+
+import com.example.housemanager.database.HouseManagerDatabase;
+import com.example.housemanager.database.dao.MatchDao;
+import com.example.housemanager.database.entities.MatchEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caché en memoria de partidos por matchId, compartida por sincronización y puntuación.
+ * Se vacía cuando Room avisa de cambios en la tabla matches (InvalidationTracker); las
+ * entidades devueltas son compartidas y no deben modificarse.
+ */
+final class MatchCache {
+
+    /** Ids por consulta IN (por debajo del límite de 999 variables de SQLite). */
+    private static final int MAX_IN_ARGS = 900;
+
+    private final MatchDao matchDao;
+    private final Map<Long, MatchEntity> byId = new HashMap<>();
+    // Se incrementa al invalidar: una lectura que empezó antes no rellena la caché con datos viejos
+    private long generation;
+
+    MatchCache(HouseManagerDatabase db) {
+        this.matchDao = db.matchDao();
+        db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("matches") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidate();
+            }
+        });
+    }
+
+    /** Partido por id, de la caché o de Room (null si no existe). */
+    @Nullable
+    MatchEntity get(long matchId) {
+        long gen;
+        synchronized (this) {
+            MatchEntity cached = byId.get(matchId);
+            if (cached != null) return cached;
+            gen = generation;
+        }
+        MatchEntity loaded = matchDao.getByIdSync(matchId);
+        if (loaded != null) {
+            synchronized (this) {
+                if (gen == generation) byId.put(matchId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /** Partidos de los ids dados que existan; solo consulta Room por los que no están en caché. */
+    List<MatchEntity> getAll(Collection<Long> matchIds) {
+        List<MatchEntity> out = new ArrayList<>(matchIds.size());
+        List<Long> missing = new ArrayList<>();
+        long gen;
+        synchronized (this) {
+            for (Long id : matchIds) {
+                MatchEntity cached = byId.get(id);
+                if (cached != null) out.add(cached);
+                else missing.add(id);
+            }
+            gen = generation;
+        }
+        for (int from = 0; from < missing.size(); from += MAX_IN_ARGS) {
+            List<MatchEntity> loaded = matchDao.getByIdsSync(missing.subList(from, Math.min(missing.size(), from + MAX_IN_ARGS)));
+            if (loaded == null) continue;
+            out.addAll(loaded);
+            synchronized (this) {
+                if (gen != generation) continue;
+                for (MatchEntity m : loaded) byId.put(m.getMatchId(), m);
+            }
+        }
+        return out;
+    }
+
+    /** true si hay al menos un partido guardado. */
+    boolean isEmpty() {
+        synchronized (this) {
+            if (!byId.isEmpty()) return false;
+        }
+        return !matchDao.existsAny();
+    }
+
+    /** Vacía la caché (también lo hace sola al cambiar la tabla matches). */
+    synchronized void invalidate() {
+        generation++;
+        byId.clear();
+    }
+}
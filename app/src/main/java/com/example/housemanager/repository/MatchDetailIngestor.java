@@ -0,0 +1,107 @@
+package com.example.housemanager.repository;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.housemanager.database.HouseManagerDatabase;
+import com.example.housemanager.database.dao.LineupEntryDao;
+import com.example.housemanager.database.dao.MatchEventDao;
+import com.example.housemanager.database.dao.PlayerDao;
+import com.example.housemanager.database.entities.LineupEntryEntity;
+import com.example.housemanager.database.entities.MatchEntity;
+import com.example.housemanager.database.entities.PlayerEntity;
+import com.example.housemanager.model.mappers.JsonStreamMapper;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Etapa única de ingesta del detalle de un partido. Crea en bloque los jugadores que aún no existen
+ * (una consulta IN y una inserción) y reescribe alineaciones y eventos, todo en una transacción,
+ * para no perder eventos/alineaciones por id desconocido.
+ */
+final class MatchDetailIngestor {
+
+    private static final String TAG = "MatchDetailIngestor";
+
+    private final HouseManagerDatabase db;
+    private final PlayerDao playerDao;
+    private final LineupEntryDao lineupEntryDao;
+    private final MatchEventDao matchEventDao;
+
+    MatchDetailIngestor(HouseManagerDatabase db) {
+        this.db = db;
+        this.playerDao = db.playerDao();
+        this.lineupEntryDao = db.lineupEntryDao();
+        this.matchEventDao = db.matchEventDao();
+    }
+
+    /** Guarda alineaciones, eventos y jugadores mínimos del partido. Devuelve los jugadores creados. */
+    int write(MatchEntity m, JsonStreamMapper.MatchDetailEntities d) {
+        Map<Integer, PlayerEntity> stubs = buildStubs(m, d);
+        int[] created = {0};
+        db.runInTransaction(() -> {
+            if (!stubs.isEmpty()) {
+                Set<Integer> existing = new HashSet<>(playerDao.getExistingIdsSync(new ArrayList<>(stubs.keySet())));
+                List<PlayerEntity> missing = new ArrayList<>();
+                for (PlayerEntity p : stubs.values()) {
+                    if (!existing.contains(p.getPlayerId())) missing.add(p);
+                }
+                if (!missing.isEmpty()) {
+                    for (long rowId : playerDao.insertIgnore(missing)) {
+                        if (rowId != -1L) created[0]++;
+                    }
+                }
+            }
+            lineupEntryDao.clearByMatch(m.getMatchId());
+            if (!d.lineup.isEmpty()) lineupEntryDao.insertAll(d.lineup);
+            matchEventDao.clearByMatch(m.getMatchId());
+            if (!d.events.isEmpty()) matchEventDao.insertAll(d.events);
+        });
+        if (created[0] > 0) {
+            Log.d(TAG, "Partido " + m.getMatchId() + ": " + created[0] + " jugadores creados desde el detalle");
+        }
+        return created[0];
+    }
+
+    /**
+     * Jugador mínimo por cada id del detalle: los de la alineación con su equipo, los de goles y
+     * tarjetas con su nombre (si alguien está en ambos se combinan).
+     */
+    private static Map<Integer, PlayerEntity> buildStubs(MatchEntity m, JsonStreamMapper.MatchDetailEntities d) {
+        Map<Integer, PlayerEntity> stubs = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        for (LineupEntryEntity le : d.lineup) {
+            if (stubs.containsKey(le.getPlayerId())) continue;
+            String teamName = le.getTeamId() == (int) m.getHomeTeamId() ? m.getHomeTeamName() : m.getAwayTeamName();
+            stubs.put(le.getPlayerId(), newStub(le.getPlayerId(), d.eventPlayerNames.get(le.getPlayerId()),
+                    le.getTeamId(), teamName, "Unknown", now));
+        }
+        for (Map.Entry<Integer, String> p : d.eventPlayerNames.entrySet()) {
+            if (stubs.containsKey(p.getKey())) continue;
+            stubs.put(p.getKey(), newStub(p.getKey(), p.getValue(), 0, "", null, now));
+        }
+        return stubs;
+    }
+
+    private static PlayerEntity newStub(int playerId, @Nullable String name, int teamId, @Nullable String teamName,
+                                        @Nullable String position, long now) {
+        PlayerEntity e = new PlayerEntity();
+        e.setPlayerId(playerId);
+        e.setName(name != null ? name : ("Jugador " + playerId));
+        e.setTeamId(teamId);
+        e.setTeamName(teamName != null ? teamName : "");
+        e.setPosition(position != null ? position : "Medio");
+        e.setNationality("");
+        e.setCurrentPrice(0);
+        e.setTotalPoints(0);
+        e.setAvailable(true);
+        e.setUpdatedAt(now);
+        return e;
+    }
+}
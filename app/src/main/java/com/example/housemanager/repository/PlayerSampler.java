@@ -0,0 +1,124 @@
+package com.example.housemanager.repository;
+
+import androidx.annotation.Nullable;
+
+import com.example.housemanager.database.HouseManagerDatabase;
+import com.example.housemanager.database.dao.OwnershipDao;
+import com.example.housemanager.database.dao.PlayerDao;
+import com.example.housemanager.database.entities.PlayerEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Muestreo aleatorio de jugadores para el mercado y la plantilla inicial sin cargar el catálogo.
+ * Guarda en memoria el array de ids de players y baraja solo las posiciones que se sacan
+ * (Fisher-Yates parcial con un mapa de intercambios); después lee de Room solo esas filas.
+ * Hay que invalidarlo al insertar o borrar jugadores; un id que ya no exista se descarta sin más.
+ */
+final class PlayerSampler {
+
+    private final PlayerDao playerDao;
+    private final OwnershipDao ownershipDao;
+    private final Random random = new Random();
+    @Nullable
+    private int[] ids;
+
+    PlayerSampler(HouseManagerDatabase db) {
+        this.playerDao = db.playerDao();
+        this.ownershipDao = db.ownershipDao();
+    }
+
+    /** Hasta k jugadores no poseídos en la liga, al azar y sin repetir. */
+    List<PlayerEntity> sampleNotOwned(long leagueId, int k) {
+        return drawNotOwned(leagueId).next(k);
+    }
+
+    /** Hasta k ids de jugadores cualesquiera, al azar y sin repetir. */
+    List<Integer> sampleIds(int k) {
+        return drawAll().nextIds(k);
+    }
+
+    /** Orden aleatorio perezoso de todos los jugadores (bolsa común para varias ligas). */
+    Draw drawAll() {
+        return new Draw(ids(), Collections.emptySet());
+    }
+
+    /** Orden aleatorio perezoso de los jugadores no poseídos en la liga (se piden por tandas). */
+    Draw drawNotOwned(long leagueId) {
+        List<Integer> owned = ownershipDao.getPlayerIdsOwnedByLeagueSync(leagueId);
+        return new Draw(ids(), owned != null ? new HashSet<>(owned) : Collections.emptySet());
+    }
+
+    /** Olvida los ids en memoria (tras insertar o borrar jugadores). */
+    synchronized void invalidate() {
+        ids = null;
+    }
+
+    private synchronized int[] ids() {
+        if (ids == null) {
+            List<Integer> loaded = playerDao.getAllIdsSync();
+            int[] arr = new int[loaded != null ? loaded.size() : 0];
+            for (int i = 0; i < arr.length; i++) arr[i] = loaded.get(i);
+            ids = arr;
+        }
+        return ids;
+    }
+
+    /** Permutación aleatoria que se va generando según se piden elementos. */
+    final class Draw {
+        private final int[] source;
+        private final Set<Integer> excluded;
+        // Posiciones ya intercambiadas; el array compartido no se modifica
+        private final Map<Integer, Integer> swapped = new HashMap<>();
+        private int cursor;
+
+        private Draw(int[] source, Set<Integer> excluded) {
+            this.source = source;
+            this.excluded = excluded;
+        }
+
+        /** Siguientes k jugadores (menos si se agotan), en el orden sorteado. */
+        List<PlayerEntity> next(int k) {
+            List<PlayerEntity> out = new ArrayList<>(k);
+            while (out.size() < k) {
+                List<Integer> picked = nextIds(k - out.size());
+                if (picked.isEmpty()) break;
+                List<PlayerEntity> rows = playerDao.getByIdsSync(picked);
+                Map<Integer, PlayerEntity> byId = new HashMap<>();
+                if (rows != null) for (PlayerEntity p : rows) byId.put(p.getPlayerId(), p);
+                // Ids borrados desde que se cargó la caché: se descartan y se sigue sorteando
+                if (byId.size() < picked.size()) invalidate();
+                for (Integer id : picked) {
+                    PlayerEntity p = byId.get(id);
+                    if (p != null) out.add(p);
+                }
+            }
+            return out;
+        }
+
+        /** Siguientes k ids no excluidos (menos si se agotan). */
+        List<Integer> nextIds(int k) {
+            List<Integer> out = new ArrayList<>(k);
+            while (out.size() < k && cursor < source.length) {
+                int j = cursor + random.nextInt(source.length - cursor);
+                int value = at(j);
+                swapped.put(j, at(cursor));
+                cursor++;
+                if (!excluded.contains(value)) out.add(value);
+            }
+            return out;
+        }
+
+        private int at(int index) {
+            Integer v = swapped.get(index);
+            return v != null ? v : source[index];
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.example.housemanager.repository;
+
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.housemanager.database.HouseManagerDatabase;
+import com.example.housemanager.database.dao.CaptainDao;
+import com.example.housemanager.database.dao.LeaguePlayerMatchPointsDao;
+import com.example.housemanager.database.dao.LeagueStandingDao;
+import com.example.housemanager.database.dao.LeagueStandingSnapshotDao;
+import com.example.housemanager.database.dao.LineupEntryDao;
+import com.example.housemanager.database.dao.MarketDao;
+import com.example.housemanager.database.dao.MatchDao;
+import com.example.housemanager.database.dao.MatchEventDao;
+import com.example.housemanager.database.dao.MatchScoringStateDao;
+import com.example.housemanager.database.dao.PlayerDao;
+import com.example.housemanager.database.dao.PlayerMatchPointsDao;
+import com.example.housemanager.database.entities.Captain;
+import com.example.housemanager.database.entities.LineupEntryEntity;
+import com.example.housemanager.database.entities.MatchEntity;
+import com.example.housemanager.database.entities.MatchEventEntity;
+import com.example.housemanager.database.entities.MatchScoringState;
+import com.example.housemanager.database.entities.PlayerEntity;
+import com.example.housemanager.database.entities.PlayerMatchPoints;
+import com.example.housemanager.database.pojo.MatchFingerprintRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Motor incremental de PlayerMatchPoints.
+ * Guarda una huella por partido FINISHED (estado, marcador, alineación, eventos y la posición/equipo de
+ * los jugadores o, sin alineación, la plantilla de los equipos) y solo vuelve a puntuar los partidos
+ * cuya huella ha cambiado, ajustando players.totalPoints por diferencia.
+ * PlayerMatchPoints guarda los puntos base; los de cada liga (con capitán x2) se derivan en
+ * league_player_match_points, y de ahí la clasificación materializada de league_standings.
+ * Si cambian los capitanes efectivos solo se rehacen esas dos tablas.
+ */
+final class PointsEngine {
+
+    private static final String TAG = "PointsEngine";
+    private static final String PREF_SCORING_CONTEXT = "scoring_context_hash";
+    // La reconstrucción completa inicial ya se hizo (aunque no hubiera partidos que puntuar)
+    private static final String PREF_FULL_REBUILD_DONE = "scoring_full_rebuild_done";
+
+    private final HouseManagerDatabase db;
+    private final PlayerDao playerDao;
+    private final MatchDao matchDao;
+    private final CaptainDao captainDao;
+    private final PlayerMatchPointsDao playerMatchPointsDao;
+    private final LeaguePlayerMatchPointsDao leaguePointsDao;
+    private final LeagueStandingDao standingDao;
+    private final LeagueStandingSnapshotDao snapshotDao;
+    private final MarketDao marketDao;
+    private final MatchEventDao matchEventDao;
+    private final LineupEntryDao lineupEntryDao;
+    private final MatchScoringStateDao scoringStateDao;
+    private final PointsCalculator pointsCalculator;
+    private final SharedPreferences prefs;
+    private final MatchCache matchCache;
+
+    PointsEngine(HouseManagerDatabase db, PointsCalculator pointsCalculator, SharedPreferences prefs, MatchCache matchCache) {
+        this.db = db;
+        this.playerDao = db.playerDao();
+        this.matchDao = db.matchDao();
+        this.captainDao = db.captainDao();
+        this.playerMatchPointsDao = db.playerMatchPointsDao();
+        this.leaguePointsDao = db.leaguePlayerMatchPointsDao();
+        this.standingDao = db.leagueStandingDao();
+        this.snapshotDao = db.leagueStandingSnapshotDao();
+        this.marketDao = db.marketDao();
+        this.matchEventDao = db.matchEventDao();
+        this.lineupEntryDao = db.lineupEntryDao();
+        this.scoringStateDao = db.matchScoringStateDao();
+        this.pointsCalculator = pointsCalculator;
+        this.prefs = prefs;
+        this.matchCache = matchCache;
+    }
+
+    /**
+     * Recalcula los partidos FINISHED cuyo contenido ha cambiado desde la última puntuación.
+     * Con forceFull limpia PlayerMatchPoints y puntúa todos los partidos desde cero.
+     * Devuelve el número de partidos puntuados (0 si no había nada que hacer).
+     */
+    int recalcFinished(boolean forceFull) {
+        long startedAt = System.currentTimeMillis();
+        long contextHash = fingerprint(captainDao.getScoringContextSync());
+        List<MatchFingerprintRow> rows = matchDao.getFinishedFingerprintsSync();
+        boolean full = needsFullRebuild(forceFull, scoringStateDao.countSync(),
+                prefs.getBoolean(PREF_FULL_REBUILD_DONE, false), rows != null ? rows.size() : 0);
+        // Los capitanes no cambian los puntos base: basta con rehacer las filas por liga
+        boolean contextChanged = !prefs.contains(PREF_SCORING_CONTEXT)
+                || prefs.getLong(PREF_SCORING_CONTEXT, 0L) != contextHash;
+        boolean rebuildLeagues = full || contextChanged;
+
+        // 1) Huellas actuales frente a las guardadas
+        Map<Long, Long> stored = new HashMap<>();
+        if (!full) {
+            for (MatchScoringState s : scoringStateDao.getAllSync()) {
+                stored.put(s.getMatchId(), s.getFingerprint());
+            }
+        }
+        Map<Long, Long> dirty = dirtyMatches(rows, stored, full);
+        // Solo se retiran los puntos de partidos que siguen guardados y ya no son FINISHED. Un partido que
+        // falta en matches (p. ej. fuera de la ventana de la última descarga) conserva sus puntos
+        List<Long> gone = full ? new ArrayList<>() : scoringStateDao.getScoredNoLongerFinishedSync();
+        if (gone == null) gone = new ArrayList<>();
+
+        if (!rebuildLeagues && dirty.isEmpty() && gone.isEmpty()) {
+            Log.d(TAG, "recalc no-op (" + (System.currentTimeMillis() - startedAt) + " ms)");
+            return 0;
+        }
+
+        // Todas las escrituras van a una sola transacción: los observadores (mercado, clasificación,
+        // plantillas) reciben un único aviso con el resultado final, nunca un estado a medias
+        BulkWriter writes = new BulkWriter(db);
+        if (full) {
+            writes.add(() -> {
+                playerMatchPointsDao.clearAll();
+                scoringStateDao.clearAll();
+            });
+        }
+
+        // 2) Puntuar partidos sucios (lecturas y cálculo fuera de la transacción)
+        Set<Integer> touchedPlayers = new HashSet<>();
+        for (MatchEntity match : matchCache.getAll(dirty.keySet())) {
+            Long fp = dirty.get(match.getMatchId());
+            if (fp == null) continue;
+            long matchId = match.getMatchId();
+            List<PlayerMatchPoints> batch = scoreMatch(match);
+            writes.add(() -> writeMatch(matchId, batch, fp, !full, !rebuildLeagues, touchedPlayers));
+        }
+        for (Long matchId : gone) {
+            writes.add(() -> writeMatch(matchId, new ArrayList<>(), null, true, !rebuildLeagues, touchedPlayers));
+        }
+        if (rebuildLeagues) {
+            writes.add(() -> {
+                leaguePointsDao.clearAll();
+                leaguePointsDao.insertAll();
+                standingDao.clearAll();
+                standingDao.insertAll();
+                refreshStandings();
+            });
+        } else {
+            // La temporada ya se ajustó por partido; faltan jornada y posiciones
+            writes.add(this::refreshStandings);
+        }
+        writes.add(this::appendCompletedMatchdays);
+        // Puntos nuevos en los mercados abiertos (una sola escritura sobre MarketListing)
+        writes.add(marketDao::refreshActiveSnapshots);
+
+        // 3) En reconstrucción completa, fijar totalPoints = SUM(points) acumulado con un único UPDATE
+        if (full) {
+            writes.add(playerDao::rebuildTotalPointsFromMatchPoints);
+        }
+
+        long writesStartedAt = System.currentTimeMillis();
+        writes.commit();
+        Log.d(TAG, "recalc writes committed in one transaction (" + (System.currentTimeMillis() - writesStartedAt) + " ms)");
+
+        SharedPreferences.Editor edit = prefs.edit().putLong(PREF_SCORING_CONTEXT, contextHash);
+        if (full) edit.putBoolean(PREF_FULL_REBUILD_DONE, true);
+        edit.apply();
+        Log.d(TAG, "recalc " + (full ? "full" : "incremental") + " matches=" + dirty.size()
+                + " removed=" + gone.size() + " players=" + touchedPlayers.size()
+                + " (" + (System.currentTimeMillis() - startedAt) + " ms)");
+        return dirty.size() + gone.size();
+    }
+
+    /**
+     * Sustituye las filas de un partido en una sola transacción (se une a la del BulkWriter) y, en modo incremental,
+     * aplica a players.totalPoints la diferencia entre los puntos nuevos y los anteriores.
+     * Con writeLeagues rehace también las filas del partido en cada liga.
+     * Con fingerprint nulo el partido se retira del estado.
+     */
+    private void writeMatch(long matchId, List<PlayerMatchPoints> batch, @Nullable Long fingerprint,
+                            boolean applyDelta, boolean writeLeagues, Set<Integer> touchedPlayers) {
+        Map<Integer, Integer> newByPlayer = new HashMap<>();
+        for (PlayerMatchPoints r : batch) newByPlayer.put(r.getPlayerId(), r.getPoints());
+
+        db.runInTransaction(() -> {
+            Map<Integer, Integer> delta = new HashMap<>();
+            if (applyDelta) {
+                List<PlayerMatchPoints> old = playerMatchPointsDao.getByMatchId(matchId);
+                if (old != null) {
+                    for (PlayerMatchPoints r : old) delta.put(r.getPlayerId(), -r.getPoints());
+                }
+                for (Map.Entry<Integer, Integer> e : newByPlayer.entrySet()) {
+                    Integer prev = delta.get(e.getKey());
+                    delta.put(e.getKey(), (prev != null ? prev : 0) + e.getValue());
+                }
+            }
+            playerMatchPointsDao.deleteByMatch(matchId);
+            if (!batch.isEmpty()) playerMatchPointsDao.insertAll(batch);
+            if (writeLeagues) {
+                standingDao.applyMatchPoints(matchId, -1);
+                leaguePointsDao.deleteByMatch(matchId);
+                leaguePointsDao.insertForMatch(matchId);
+                standingDao.applyMatchPoints(matchId, 1);
+            }
+            for (Map.Entry<Integer, Integer> e : delta.entrySet()) {
+                if (e.getValue() != 0) playerDao.addToTotalPoints(e.getKey(), e.getValue());
+            }
+            if (fingerprint != null) {
+                MatchScoringState state = new MatchScoringState();
+                state.setMatchId(matchId);
+                state.setFingerprint(fingerprint);
+                state.setScoredAtMillis(System.currentTimeMillis());
+                scoringStateDao.upsert(state);
+            } else {
+                scoringStateDao.deleteByMatch(matchId);
+            }
+            touchedPlayers.addAll(delta.keySet());
+        });
+        touchedPlayers.addAll(newByPlayer.keySet());
+    }
+
+    /**
+     * Guarda el capitán de un usuario en una liga y rehace solo las filas de esa liga del capitán anterior y del
+     * nuevo (el x2 se aplica en SQL). Si el contexto guardado estaba al día, se actualiza para que el siguiente
+     * recálculo no rehaga todas las ligas.
+     */
+    void onCaptainChanged(long leagueId, long ownerUserId, int playerId) {
+        boolean contextUpToDate = prefs.contains(PREF_SCORING_CONTEXT)
+                && prefs.getLong(PREF_SCORING_CONTEXT, 0L) == fingerprint(captainDao.getScoringContextSync());
+        db.runInTransaction(() -> {
+            Captain previous = captainDao.getCaptainSync(leagueId, ownerUserId);
+            captainDao.deleteCaptain(leagueId, ownerUserId);
+            Captain captain = new Captain();
+            captain.setLeagueId(leagueId);
+            captain.setOwnerUserId(ownerUserId);
+            captain.setCaptainPlayerId(playerId);
+            captainDao.upsert(captain);
+
+            if (previous != null && previous.getCaptainPlayerId() != playerId) {
+                leaguePointsDao.deleteByLeaguePlayer(leagueId, previous.getCaptainPlayerId());
+                leaguePointsDao.insertForLeaguePlayer(leagueId, previous.getCaptainPlayerId());
+            }
+            leaguePointsDao.deleteByLeaguePlayer(leagueId, playerId);
+            leaguePointsDao.insertForLeaguePlayer(leagueId, playerId);
+            rebuildStandings(leagueId);
+        });
+        if (contextUpToDate) {
+            prefs.edit().putLong(PREF_SCORING_CONTEXT, fingerprint(captainDao.getScoringContextSync())).apply();
+        }
+    }
+
+    /** Rehace los puntos de un jugador en una liga y su clasificación tras cambiar su propiedad. */
+    void onOwnershipChanged(long leagueId, long playerId) {
+        db.runInTransaction(() -> {
+            leaguePointsDao.deleteByLeaguePlayer(leagueId, playerId);
+            leaguePointsDao.insertForLeaguePlayer(leagueId, playerId);
+            rebuildStandings(leagueId);
+        });
+    }
+
+    /** Rehace los puntos y la clasificación de una liga entera (plantilla inicial generada). */
+    void onLeagueSquadChanged(long leagueId) {
+        db.runInTransaction(() -> {
+            leaguePointsDao.deleteByLeague(leagueId);
+            leaguePointsDao.insertForLeague(leagueId);
+            rebuildStandings(leagueId);
+        });
+    }
+
+    private void rebuildStandings(long leagueId) {
+        standingDao.deleteByLeague(leagueId);
+        standingDao.insertForLeague(leagueId);
+        refreshStandings();
+    }
+
+    /** Jornada, puntos de jornada y posiciones: O(managers) con los índices de league_player_match_points. */
+    private void refreshStandings() {
+        standingDao.refreshMatchday();
+        standingDao.refreshMatchdayPoints();
+        standingDao.refreshRanks();
+    }
+
+    /** Añade la foto de clasificación de cada jornada que se haya completado (las guardadas no se rehacen). */
+    private void appendCompletedMatchdays() {
+        List<Integer> pending = snapshotDao.getPendingMatchdaysSync();
+        if (pending == null || pending.isEmpty()) return;
+        db.runInTransaction(() -> {
+            for (Integer md : pending) {
+                snapshotDao.appendMatchday(md);
+                snapshotDao.rankMatchday(md);
+            }
+        });
+        Log.d(TAG, "standings snapshots appended matchdays=" + pending);
+    }
+
+    /** Construye las filas de PlayerMatchPoints de un partido FINISHED (detalle o fallback por marcador). */
+    private List<PlayerMatchPoints> scoreMatch(MatchEntity match) {
+        List<PlayerMatchPoints> batch = new ArrayList<>();
+        long matchId = match.getMatchId();
+        List<LineupEntryEntity> lineup = lineupEntryDao.getByMatch(matchId);
+        List<MatchEventEntity> events = matchEventDao.getByMatch(matchId);
+        int md = match.getMatchday();
+
+        boolean hasDetails = lineup != null && !lineup.isEmpty() && events != null && !events.isEmpty();
+        if (!hasDetails) {
+            // Fallback por equipo si no hay eventos y/o no hay alineación: aplicar 3/1/0
+            Integer hs = match.getHomeScore();
+            Integer as = match.getAwayScore();
+            if (hs == null || as == null) return batch;
+            int homePts = (hs > as) ? 3 : (hs.equals(as) ? 1 : 0);
+            int awayPts = (as > hs) ? 3 : (hs.equals(as) ? 1 : 0);
+
+            if (lineup != null && !lineup.isEmpty()) {
+                // Con alineación: asignar +resultado y +2 a titulares
+                for (LineupEntryEntity le : lineup) {
+                    if (le == null) continue;
+                    int base = (le.getTeamId() == (int) match.getHomeTeamId()) ? homePts : awayPts;
+                    int effPoints = base + ("STARTER".equalsIgnoreCase(le.getRole()) ? 2 : 0);
+                    batch.add(newRow(matchId, md, le.getPlayerId(), effPoints));
+                }
+            } else {
+                // Sin alineación: asignar solo +resultado a toda la plantilla registrada de cada equipo
+                List<PlayerEntity> homePlayers = playerDao.getByTeamSync((int) match.getHomeTeamId());
+                List<PlayerEntity> awayPlayers = playerDao.getByTeamSync((int) match.getAwayTeamId());
+                if (homePlayers != null) {
+                    for (PlayerEntity pe : homePlayers) batch.add(newRow(matchId, md, pe.getPlayerId(), homePts));
+                }
+                if (awayPlayers != null) {
+                    for (PlayerEntity pe : awayPlayers) batch.add(newRow(matchId, md, pe.getPlayerId(), awayPts));
+                }
+            }
+            return batch;
+        }
+
+        Set<Integer> playerIds = new HashSet<>();
+        for (LineupEntryEntity le : lineup) { if (le != null) playerIds.add(le.getPlayerId()); }
+        for (MatchEventEntity ev : events) { if (ev != null) playerIds.add(ev.getPlayerId()); }
+        if (playerIds.isEmpty()) return batch;
+
+        List<PlayerEntity> pel = playerDao.getByIdsSync(new ArrayList<>(playerIds));
+        Map<Integer, PlayerEntity> byId = new HashMap<>();
+        if (pel != null) for (PlayerEntity e : pel) byId.put(e.getPlayerId(), e);
+
+        for (Integer pid : playerIds) {
+            PlayerEntity pe = byId.get(pid);
+            if (pe == null) continue;
+            int pts = pointsCalculator.computeForPlayerInMatch(
+                    pid,
+                    pe.getPosition(),
+                    pe.getTeamId(),
+                    match,
+                    events,
+                    lineup
+            );
+            batch.add(newRow(matchId, md, pid, pts));
+        }
+        return batch;
+    }
+
+    private PlayerMatchPoints newRow(long matchId, int md, int pid, int points) {
+        PlayerMatchPoints rec = new PlayerMatchPoints();
+        rec.setMatchId(matchId);
+        rec.setPlayerId(pid);
+        rec.setMatchday(md);
+        rec.setPoints(points);
+        return rec;
+    }
+
+    /**
+     * Sin huellas guardadas no se puede ajustar por diferencia: o es la primera vez o se vaciaron
+     * PlayerMatchPoints y match_scoring_state (MIGRATION_12_13) con los totales aún guardados, y sumar encima
+     * los contaría dos veces. Solo se evita la reconstrucción si ya se hizo y no hay partidos FINISHED.
+     */
+    static boolean needsFullRebuild(boolean forceFull, int scoredMatches, boolean rebuiltBefore, int finishedMatches) {
+        if (forceFull) return true;
+        if (scoredMatches > 0) return false;
+        return !rebuiltBefore || finishedMatches > 0;
+    }
+
+    /**
+     * Partidos a puntuar (matchId -> huella nueva): los que no tienen huella guardada o la tienen distinta.
+     * Con full, todos.
+     */
+    static Map<Long, Long> dirtyMatches(@Nullable List<MatchFingerprintRow> rows, Map<Long, Long> stored, boolean full) {
+        Map<Long, Long> dirty = new HashMap<>();
+        if (rows == null) return dirty;
+        for (MatchFingerprintRow r : rows) {
+            long fp = fingerprint(r.content);
+            Long prev = stored.get(r.matchId);
+            if (full || prev == null || prev != fp) dirty.put(r.matchId, fp);
+        }
+        return dirty;
+    }
+
+    /** Huella FNV-1a de 64 bits de una cadena (estable entre ejecuciones). */
+    static long fingerprint(@Nullable String content) {
+        long h = 0xcbf29ce484222325L;
+        if (content == null) return h;
+        for (int i = 0; i < content.length(); i++) {
+            h ^= content.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
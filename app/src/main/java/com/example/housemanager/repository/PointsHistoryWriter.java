@@ -0,0 +1,165 @@
+package com.example.housemanager.repository;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.housemanager.database.HouseManagerDatabase;
+import com.example.housemanager.database.dao.LineupEntryDao;
+import com.example.housemanager.database.dao.MatchEventDao;
+import com.example.housemanager.database.dao.PlayerDao;
+import com.example.housemanager.database.dao.PlayerPointsHistoryDao;
+import com.example.housemanager.database.entities.LineupEntryEntity;
+import com.example.housemanager.database.entities.MatchEntity;
+import com.example.housemanager.database.entities.MatchEventEntity;
+import com.example.housemanager.database.entities.PlayerEntity;
+import com.example.housemanager.database.entities.PlayerPointsHistoryEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Historial de puntos por partido (player_points_history) tras ingerir su detalle.
+ * Solo escribe el historial: players.totalPoints es de PointsEngine (SUM de PlayerMatchPoints), que lo
+ * ajusta al recalcular; si se escribiera también aquí, el partido contaría dos veces.
+ */
+final class PointsHistoryWriter {
+
+    private static final String TAG = "PointsHistoryWriter";
+
+    private final HouseManagerDatabase db;
+    private final PlayerDao playerDao;
+    private final LineupEntryDao lineupEntryDao;
+    private final MatchEventDao matchEventDao;
+    private final PlayerPointsHistoryDao playerPointsHistoryDao;
+    private final PointsCalculator pointsCalculator;
+
+    PointsHistoryWriter(HouseManagerDatabase db, PointsCalculator pointsCalculator) {
+        this.db = db;
+        this.playerDao = db.playerDao();
+        this.lineupEntryDao = db.lineupEntryDao();
+        this.matchEventDao = db.matchEventDao();
+        this.playerPointsHistoryDao = db.playerPointsHistoryDao();
+        this.pointsCalculator = pointsCalculator;
+    }
+
+    /**
+     * Recalcula el historial de un partido FINISHED (detalle o fallback por marcador). Con bulk, la escritura
+     * se encola en lugar de aplicarse en su propia transacción.
+     */
+    void write(MatchEntity match, @Nullable BulkWriter bulk) {
+        try {
+            // Solo calcular si el partido está FINISHED
+            if (match == null || match.getStatus() == null || !"FINISHED".equalsIgnoreCase(match.getStatus())) {
+                return;
+            }
+            long matchId = match.getMatchId();
+            // Cargar alineaciones y eventos de Room
+            List<LineupEntryEntity> lineup = lineupEntryDao.getByMatch(matchId);
+            List<MatchEventEntity> events = matchEventDao.getByMatch(matchId);
+            List<PlayerPointsHistoryEntity> recs = new ArrayList<>();
+
+            // Si faltan eventos o alineaciones, aplicar fallback basado en marcador
+            boolean hasLineup = (lineup != null && !lineup.isEmpty());
+            boolean hasEvents = (events != null && !events.isEmpty());
+            if (!hasLineup || !hasEvents) {
+                Integer hs = match.getHomeScore();
+                Integer as = match.getAwayScore();
+                if (hs != null && as != null) {
+                    int homePts = (hs > as) ? 3 : (hs.equals(as) ? 1 : 0);
+                    int awayPts = (as > hs) ? 3 : (hs.equals(as) ? 1 : 0);
+
+                    if (hasLineup) {
+                        // Con alineación: asignar +resultado y +2 a titulares
+                        for (LineupEntryEntity le : lineup) {
+                            if (le == null) continue;
+                            int teamPts = (le.getTeamId() == (int) match.getHomeTeamId()) ? homePts : awayPts;
+                            int pts = teamPts;
+                            if ("STARTER".equalsIgnoreCase(le.getRole())) {
+                                pts += 2;
+                            }
+                            recs.add(newHistoryRecord(matchId, le.getPlayerId(), pts));
+                        }
+                    } else {
+                        // Sin alineación: asignar solo +resultado a toda la plantilla registrada de cada equipo
+                        List<PlayerEntity> homePlayers = playerDao.getByTeamSync((int) match.getHomeTeamId());
+                        List<PlayerEntity> awayPlayers = playerDao.getByTeamSync((int) match.getAwayTeamId());
+                        if (homePlayers != null) {
+                            for (PlayerEntity pe : homePlayers) recs.add(newHistoryRecord(matchId, pe.getPlayerId(), homePts));
+                        }
+                        if (awayPlayers != null) {
+                            for (PlayerEntity pe : awayPlayers) recs.add(newHistoryRecord(matchId, pe.getPlayerId(), awayPts));
+                        }
+                    }
+                }
+                // Limpiar historial previo del partido e insertar filas de fallback (puede no haber ninguna)
+                writeHistory(matchId, recs, bulk);
+                return;
+            }
+
+            // Construir conjunto de jugadores implicados (alineación y eventos)
+            Set<Integer> playerIds = new HashSet<>();
+            for (LineupEntryEntity le : lineup) {
+                if (le != null) playerIds.add(le.getPlayerId());
+            }
+            for (MatchEventEntity ev : events) {
+                if (ev != null) playerIds.add(ev.getPlayerId());
+            }
+
+            if (playerIds.isEmpty()) {
+                return; // sin jugadores, nada que recalcular (no inventamos)
+            }
+
+            // Obtener datos de jugadores para posición/teamId
+            List<Integer> idsList = new ArrayList<>(playerIds);
+            List<PlayerEntity> entities = playerDao.getByIdsSync(idsList);
+            Map<Integer, PlayerEntity> byId = new HashMap<>();
+            if (entities != null) {
+                for (PlayerEntity e : entities) byId.put(e.getPlayerId(), e);
+            }
+
+            for (Integer pid : playerIds) {
+                PlayerEntity pe = byId.get(pid);
+                if (pe == null) continue; // jugador no conocido en Room
+                int pts = pointsCalculator.computeForPlayerInMatch(
+                        pid,
+                        pe.getPosition(),
+                        pe.getTeamId(),
+                        match,
+                        events,
+                        lineup
+                );
+                recs.add(newHistoryRecord(matchId, pid, pts));
+            }
+
+            // Limpiar historial previo de ese partido e insertar de nuevo
+            writeHistory(matchId, recs, bulk);
+        } catch (Exception ignored) {
+        }
+    }
+
+    /** Sustituye el historial de puntos de un partido en una única transacción: borra lo anterior e inserta todo de golpe. */
+    private void writeHistory(long matchId, List<PlayerPointsHistoryEntity> recs, @Nullable BulkWriter bulk) {
+        if (bulk != null) {
+            bulk.add(() -> writeHistory(matchId, recs, null));
+            return;
+        }
+        db.runInTransaction(() -> {
+            playerPointsHistoryDao.clearByMatch(matchId);
+            if (!recs.isEmpty()) playerPointsHistoryDao.insertAll(recs);
+        });
+        Log.d(TAG, "history match=" + matchId + " rows=" + recs.size());
+    }
+
+    private PlayerPointsHistoryEntity newHistoryRecord(long matchId, int playerId, int points) {
+        PlayerPointsHistoryEntity rec = new PlayerPointsHistoryEntity();
+        rec.setMatchId(matchId);
+        rec.setPlayerId(playerId);
+        rec.setPoints(points);
+        return rec;
+    }
+}
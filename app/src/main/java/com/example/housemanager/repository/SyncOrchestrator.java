@@ -0,0 +1,235 @@
+package com.example.housemanager.repository;
+
+import android.os.Process;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Planificador del trabajo en segundo plano del repositorio, con carriles separados:
+ * - Usuario: acciones del usuario (comprar, vender, generar mercado...). Nunca esperan a una sincronización.
+ * - Red: sincronizaciones con la API (bloquean esperando cupo), atendidas por prioridad.
+ * - Escritura: volcados en bloque de las sincronizaciones y recálculos, en un solo hilo y por prioridad.
+ *   Ninguna escritura en bloque se hace desde el carril de red: se pasa a este con db() o dbAndWait().
+ * Las sincronizaciones con clave se deduplican: una petición igual a otra en curso se une a ella y
+ * recibe el mismo resultado. Una sincronización puede sustituir a otra, que queda cancelada.
+ */
+final class SyncOrchestrator {
+
+    private static final String TAG = "SyncOrchestrator";
+    private static final String DB_THREAD_NAME = "hm-db";
+
+    enum Priority { HIGH, NORMAL, LOW }
+
+    /** Trabajo de sincronización. Debe acabar llamando a onSuccess/onError del handle recibido. */
+    interface Job {
+        void start(Handle job);
+    }
+
+    private final ExecutorService userLane;
+    private final ThreadPoolExecutor ioLane;
+    private final ThreadPoolExecutor dbLane;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Handle> inFlight = new HashMap<>();
+
+    SyncOrchestrator() {
+        userLane = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threads("hm-user", Process.THREAD_PRIORITY_DEFAULT));
+        ioLane = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), threads("hm-io", Process.THREAD_PRIORITY_BACKGROUND));
+        dbLane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), threads(DB_THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND));
+    }
+
+    /** Carril de acciones del usuario. */
+    ExecutorService userExecutor() {
+        return userLane;
+    }
+
+    /** Trabajo con red (llamadas bloqueantes a la API). */
+    void io(Priority priority, Runnable task) {
+        ioLane.execute(new PrioritizedTask(priority, sequence.getAndIncrement(), task));
+    }
+
+    /** Escritura en bloque o recálculo sobre Room. */
+    void db(Priority priority, Runnable task) {
+        dbLane.execute(new PrioritizedTask(priority, sequence.getAndIncrement(), task));
+    }
+
+    /**
+     * Escritura en bloque pedida desde otro carril (p. ej. una descarga en el de red): se hace en el carril
+     * de escritura y se espera a que acabe, así el llamante sigue en orden. Desde ese carril se ejecuta directa.
+     */
+    void dbAndWait(Priority priority, Runnable task) {
+        if (Thread.currentThread().getName().startsWith(DB_THREAD_NAME)) {
+            task.run();
+            return;
+        }
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        db(priority, future);
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando al carril de escritura", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /** Arranca la sincronización key, o une el callback a la que ya esté en curso. */
+    Handle start(String key, @Nullable FootballRepository.SyncCallback callback, Job job) {
+        Handle handle;
+        synchronized (inFlight) {
+            Handle running = inFlight.get(key);
+            if (running != null) {
+                running.listen(callback);
+                Log.d(TAG, key + " ya en curso: se une la petición");
+                return running;
+            }
+            handle = new Handle(key);
+            handle.listen(callback);
+            inFlight.put(key, handle);
+        }
+        job.start(handle);
+        return handle;
+    }
+
+    /**
+     * Arranca key cancelando la que esté en curso con esa clave (y las de replacedKeys); sus callbacks
+     * pasan a recibir el resultado de la nueva.
+     */
+    Handle restart(String key, @Nullable FootballRepository.SyncCallback callback, Job job, String... replacedKeys) {
+        Handle handle = new Handle(key);
+        handle.listen(callback);
+        synchronized (inFlight) {
+            supersede(inFlight.get(key), handle);
+            for (String replaced : replacedKeys) supersede(inFlight.get(replaced), handle);
+            inFlight.put(key, handle);
+        }
+        job.start(handle);
+        return handle;
+    }
+
+    /** Une el callback a la sincronización key si está en curso. */
+    boolean join(String key, @Nullable FootballRepository.SyncCallback callback) {
+        synchronized (inFlight) {
+            Handle running = inFlight.get(key);
+            if (running == null) return false;
+            running.listen(callback);
+            return true;
+        }
+    }
+
+    private void supersede(@Nullable Handle old, Handle into) {
+        if (old == null || !old.finished.compareAndSet(false, true)) return;
+        old.cancelled = true;
+        inFlight.remove(old.key);
+        into.listeners.addAll(old.listeners);
+        Log.d(TAG, old.key + " cancelada, sustituida por " + into.key);
+    }
+
+    private void finish(Handle handle) {
+        synchronized (inFlight) {
+            if (inFlight.get(handle.key) == handle) inFlight.remove(handle.key);
+        }
+    }
+
+    /** Sincronización en curso: reparte progreso y resultado a todos los que la han pedido. */
+    final class Handle implements FootballRepository.SyncCallback {
+        private final String key;
+        private final List<FootballRepository.SyncCallback> listeners = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        private Handle(String key) {
+            this.key = key;
+        }
+
+        /** El trabajo debe comprobarlo entre pasos y dejar de hacer nada si es true. */
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void listen(@Nullable FootballRepository.SyncCallback callback) {
+            if (callback != null) listeners.add(callback);
+        }
+
+        @Override
+        public void onSuccess() {
+            if (!finished.compareAndSet(false, true)) return;
+            finish(this);
+            for (FootballRepository.SyncCallback l : listeners) l.onSuccess();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!finished.compareAndSet(false, true)) return;
+            finish(this);
+            for (FootballRepository.SyncCallback l : listeners) l.onError(t);
+        }
+
+        @Override
+        public void onProgress(String message, int current, int total) {
+            if (cancelled) return;
+            for (FootballRepository.SyncCallback l : listeners) l.onProgress(message, current, total);
+        }
+    }
+
+    /** Tarea ordenada por prioridad y, a igual prioridad, por orden de llegada. */
+    private static final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        private final Priority priority;
+        private final long seq;
+        private final Runnable task;
+
+        PrioritizedTask(Priority priority, long seq, Runnable task) {
+            this.priority = priority;
+            this.seq = seq;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(@NonNull PrioritizedTask o) {
+            int c = priority.compareTo(o.priority);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+
+    private static ThreadFactory threads(String name, int osPriority) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(() -> {
+                Process.setThreadPriority(osPriority);
+                r.run();
+            }, name + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -6,6 +6,9 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.housemanager.R;
@@ -14,14 +17,41 @@ import com.example.housemanager.repository.models.ManagerScore;
 import java.util.ArrayList;
 import java.util.List;
 
-public class ManagerScoreAdapter extends RecyclerView.Adapter<ManagerScoreAdapter.VH> {
+public class ManagerScoreAdapter extends ListAdapter<ManagerScore, ManagerScoreAdapter.VH> {
 
-    private final List<ManagerScore> data = new ArrayList<>();
+    // Mismo manager con otros puntos: solo se repinta el marcador (las subidas/bajadas son movimientos)
+    private static final String PAYLOAD_POINTS = "points";
+
+    private static final DiffUtil.ItemCallback<ManagerScore> DIFF = new DiffUtil.ItemCallback<ManagerScore>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ManagerScore a, @NonNull ManagerScore b) {
+            return a.getUserId() == b.getUserId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ManagerScore a, @NonNull ManagerScore b) {
+            return a.getTotalPoints() == b.getTotalPoints();
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull ManagerScore a, @NonNull ManagerScore b) {
+            return PAYLOAD_POINTS;
+        }
+    };
+
+    public ManagerScoreAdapter() {
+        super(DIFF);
+        setHasStableIds(true);
+    }
 
     public void submit(List<ManagerScore> list) {
-        data.clear();
-        if (list != null) data.addAll(list);
-        notifyDataSetChanged();
+        submitList(list != null ? new ArrayList<>(list) : null);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getUserId();
     }
 
     @NonNull
@@ -33,14 +63,18 @@ public class ManagerScoreAdapter extends RecyclerView.Adapter<ManagerScoreAdapte
 
     @Override
     public void onBindViewHolder(@NonNull VH holder, int position) {
-        ManagerScore row = data.get(position);
+        ManagerScore row = getItem(position);
         holder.tvUser.setText("Manager " + row.getUserId());
         holder.tvPoints.setText(row.getTotalPoints() + " pts");
     }
 
     @Override
-    public int getItemCount() {
-        return data.size();
+    public void onBindViewHolder(@NonNull VH holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_POINTS)) {
+            holder.tvPoints.setText(getItem(position).getTotalPoints() + " pts");
+        } else {
+            onBindViewHolder(holder, position);
+        }
     }
 
     static class VH extends RecyclerView.ViewHolder {
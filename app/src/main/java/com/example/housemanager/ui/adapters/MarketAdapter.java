@@ -7,6 +7,7 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.housemanager.R;
@@ -18,7 +19,7 @@ import java.util.List;
 /**
  * Adapter simple para mostrar jugadores en el mercado de fichajes
  */
-public class MarketAdapter extends RecyclerView.Adapter<MarketAdapter.PlayerViewHolder> {
+public class MarketAdapter extends ListAdapter<Player, MarketAdapter.PlayerViewHolder> {
 
     public interface OnPlayerClickListener {
         void onPlayerClick(Player player);
@@ -26,15 +27,20 @@ public class MarketAdapter extends RecyclerView.Adapter<MarketAdapter.PlayerView
     }
 
     private final OnPlayerClickListener listener;
-    private List<Player> players = new ArrayList<>();
 
     public MarketAdapter(OnPlayerClickListener listener) {
+        super(PlayerDiffs.MARKET);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void updatePlayers(List<Player> newPlayers) {
-        players = newPlayers != null ? new ArrayList<>(newPlayers) : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(newPlayers != null ? new ArrayList<>(newPlayers) : null);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getPlayerId();
     }
 
     @NonNull
@@ -42,18 +48,38 @@ public class MarketAdapter extends RecyclerView.Adapter<MarketAdapter.PlayerView
     public PlayerViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_transfer_player, parent, false);
-        return new PlayerViewHolder(view);
+        PlayerViewHolder holder = new PlayerViewHolder(view);
+
+        // Click en el item completo para ver detalles
+        holder.itemView.setOnClickListener(v -> {
+            int pos = holder.getBindingAdapterPosition();
+            if (listener != null && pos != RecyclerView.NO_POSITION) {
+                listener.onPlayerClick(getItem(pos));
+            }
+        });
+
+        // Click en el botón para fichar directamente
+        holder.btnBuy.setOnClickListener(v -> {
+            int pos = holder.getBindingAdapterPosition();
+            if (listener != null && pos != RecyclerView.NO_POSITION) {
+                listener.onBuyPlayerClick(getItem(pos));
+            }
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull PlayerViewHolder holder, int position) {
-        Player player = players.get(position);
-        holder.bind(player, listener);
+        holder.bind(getItem(position));
     }
 
     @Override
-    public int getItemCount() {
-        return players.size();
+    public void onBindViewHolder(@NonNull PlayerViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PlayerDiffs.STATS)) {
+            holder.bindStats(getItem(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
     }
 
     static class PlayerViewHolder extends RecyclerView.ViewHolder {
@@ -74,31 +100,22 @@ public class MarketAdapter extends RecyclerView.Adapter<MarketAdapter.PlayerView
             btnBuy = itemView.findViewById(R.id.btn_buy);
         }
 
-        public void bind(Player player, OnPlayerClickListener listener) {
+        public void bind(Player player) {
             // Información básica del jugador
             tvName.setText(player.getName());
             tvTeam.setText(player.getTeamName());
             tvPosition.setText(getPositionShort(player.getPosition()));
+            bindStats(player);
+        }
+
+        /** Solo precio y puntos (payload PlayerDiffs.STATS). */
+        void bindStats(Player player) {
             tvPrice.setText(String.format("%.1fM €", player.getCurrentPrice()));
 
             // Mostrar puntos si está disponible el TextView
             if (tvPoints != null) {
                 tvPoints.setText(player.getTotalPoints() + " pts");
             }
-
-            // Click en el item completo para ver detalles
-            itemView.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onPlayerClick(player);
-                }
-            });
-
-            // Click en el botón para fichar directamente
-            btnBuy.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onBuyPlayerClick(player);
-                }
-            });
         }
 
         /**
@@ -116,4 +133,4 @@ public class MarketAdapter extends RecyclerView.Adapter<MarketAdapter.PlayerView
             }
         }
     }
-}
\ No newline at end of file
+}
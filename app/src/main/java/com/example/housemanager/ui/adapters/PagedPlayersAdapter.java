@@ -0,0 +1,82 @@
+package com.example.housemanager.ui.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.housemanager.R;
+import com.example.housemanager.market.Player;
+
+import java.util.List;
+
+/**
+ * Catálogo de jugadores por páginas (Paging 3): solo se cargan y convierten las páginas cercanas
+ * a lo que se ve. Misma fila que el mercado, sin botón de fichar.
+ */
+public class PagedPlayersAdapter extends PagingDataAdapter<Player, PagedPlayersAdapter.VH> {
+
+    public interface OnPlayerClickListener {
+        void onPlayerClick(Player player);
+    }
+
+    private final OnPlayerClickListener listener;
+
+    public PagedPlayersAdapter(OnPlayerClickListener listener) {
+        super(PlayerDiffs.MARKET);
+        this.listener = listener;
+    }
+
+    @NonNull @Override public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View v = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_transfer_player, parent, false);
+        VH h = new VH(v);
+        h.itemView.setOnClickListener(x -> {
+            int pos = h.getBindingAdapterPosition();
+            if (pos == RecyclerView.NO_POSITION) return;
+            Player p = getItem(pos);
+            if (p != null && listener != null) listener.onPlayerClick(p);
+        });
+        return h;
+    }
+
+    @Override public void onBindViewHolder(@NonNull VH h, int pos) {
+        Player p = getItem(pos);
+        if (p == null) return;
+        h.tvName.setText(p.getName());
+        h.tvTeam.setText(p.getTeamName());
+        h.tvPos.setText(p.getPosition());
+        bindStats(h, p);
+    }
+
+    @Override public void onBindViewHolder(@NonNull VH h, int pos, @NonNull List<Object> payloads) {
+        Player p = getItem(pos);
+        if (p != null && payloads.contains(PlayerDiffs.STATS)) {
+            bindStats(h, p);
+        } else {
+            onBindViewHolder(h, pos);
+        }
+    }
+
+    private void bindStats(VH h, Player p) {
+        h.tvPrice.setText(String.format("€ %.1f M", p.getCurrentPrice()));
+        h.tvPoints.setText(String.format("%d pts", p.getTotalPoints()));
+    }
+
+    static class VH extends RecyclerView.ViewHolder {
+        TextView tvName, tvTeam, tvPrice, tvPos, tvPoints;
+        VH(@NonNull View v) {
+            super(v);
+            tvName = v.findViewById(R.id.tv_name);
+            tvTeam = v.findViewById(R.id.tv_team);
+            tvPrice = v.findViewById(R.id.tv_price);
+            tvPos = v.findViewById(R.id.tv_pos);
+            tvPoints = v.findViewById(R.id.tv_points);
+            View buy = v.findViewById(R.id.btn_buy);
+            if (buy != null) buy.setVisibility(View.GONE);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.housemanager.ui.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.housemanager.api.models.PlayerAPI;
+import com.example.housemanager.market.Player;
+
+import java.util.Objects;
+
+/**
+ * Comparadores de jugadores para los ListAdapter: mismo jugador = mismo id. Si solo cambian
+ * puntos o precio (lo habitual durante una sincronización) se avisa con el payload STATS y
+ * la fila repinta solo esos textos.
+ */
+public final class PlayerDiffs {
+
+    /** Payload: han cambiado solo puntos y/o precio. */
+    public static final String STATS = "stats";
+
+    private PlayerDiffs() {}
+
+    public static final DiffUtil.ItemCallback<Player> MARKET = new DiffUtil.ItemCallback<Player>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Player a, @NonNull Player b) {
+            return a.getPlayerId() == b.getPlayerId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Player a, @NonNull Player b) {
+            return sameCard(a, b) && sameStats(a, b);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull Player a, @NonNull Player b) {
+            return sameCard(a, b) ? STATS : null;
+        }
+
+        private boolean sameCard(Player a, Player b) {
+            return Objects.equals(a.getName(), b.getName())
+                    && Objects.equals(a.getTeamName(), b.getTeamName())
+                    && Objects.equals(a.getPosition(), b.getPosition());
+        }
+
+        private boolean sameStats(Player a, Player b) {
+            return a.getTotalPoints() == b.getTotalPoints()
+                    && Double.compare(a.getCurrentPrice(), b.getCurrentPrice()) == 0;
+        }
+    };
+
+    public static final DiffUtil.ItemCallback<PlayerAPI> SQUAD = new DiffUtil.ItemCallback<PlayerAPI>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull PlayerAPI a, @NonNull PlayerAPI b) {
+            return a.getId() == b.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull PlayerAPI a, @NonNull PlayerAPI b) {
+            return sameCard(a, b) && a.getPoints() == b.getPoints();
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull PlayerAPI a, @NonNull PlayerAPI b) {
+            return sameCard(a, b) ? STATS : null;
+        }
+
+        private boolean sameCard(PlayerAPI a, PlayerAPI b) {
+            return Objects.equals(a.getName(), b.getName())
+                    && Objects.equals(a.getPosition(), b.getPosition());
+        }
+    };
+}
@@ -7,6 +7,8 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
@@ -15,36 +17,58 @@ import com.example.housemanager.api.models.TeamAPI;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
-public class TeamsListAdapter extends RecyclerView.Adapter<TeamsListAdapter.VH> {
+public class TeamsListAdapter extends ListAdapter<TeamAPI, TeamsListAdapter.VH> {
 
     public interface OnTeamClickListener {
         void onTeamClick(TeamAPI team);
     }
 
-    private final List<TeamAPI> data = new ArrayList<>();
+    private static final DiffUtil.ItemCallback<TeamAPI> DIFF = new DiffUtil.ItemCallback<TeamAPI>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TeamAPI a, @NonNull TeamAPI b) {
+            return a.getId() == b.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TeamAPI a, @NonNull TeamAPI b) {
+            return Objects.equals(a.getName(), b.getName()) && Objects.equals(a.getCrest(), b.getCrest());
+        }
+    };
+
     private final OnTeamClickListener listener;
 
     public TeamsListAdapter(OnTeamClickListener listener) {
+        super(DIFF);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void submit(List<TeamAPI> teams) {
-        data.clear();
-        if (teams != null) data.addAll(teams);
-        notifyDataSetChanged();
+        submitList(teams != null ? new ArrayList<>(teams) : null);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     @NonNull @Override
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View v = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_team, parent, false);
-        return new VH(v);
+        VH h = new VH(v);
+        h.itemView.setOnClickListener(x -> {
+            int pos = h.getBindingAdapterPosition();
+            if (listener != null && pos != RecyclerView.NO_POSITION) listener.onTeamClick(getItem(pos));
+        });
+        return h;
     }
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int position) {
-        TeamAPI t = data.get(position);
+        TeamAPI t = getItem(position);
         h.name.setText(t.getName() != null ? t.getName() : "");
 
         if (t.getCrest() != null && !t.getCrest().isEmpty()) {
@@ -52,14 +76,8 @@ public class TeamsListAdapter extends RecyclerView.Adapter<TeamsListAdapter.VH>
         } else {
             h.logo.setImageResource(R.drawable.ic_player_placeholder);
         }
-
-        h.itemView.setOnClickListener(v -> {
-            if (listener != null) listener.onTeamClick(t);
-        });
     }
 
-    @Override public int getItemCount() { return data.size(); }
-
     static class VH extends RecyclerView.ViewHolder {
         final ImageView logo;
         final TextView name;
@@ -7,6 +7,7 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.housemanager.R;
@@ -16,7 +17,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 // Adapter sencillo para mostrar nombre, equipo, precio y botón "Fichar"
-public class TransferMarketAdapter extends RecyclerView.Adapter<TransferMarketAdapter.VH> {
+public class TransferMarketAdapter extends ListAdapter<Player, TransferMarketAdapter.VH> {
 
     public interface OnPlayerClickListener {
         void onPlayerClick(Player player);
@@ -24,36 +25,55 @@ public class TransferMarketAdapter extends RecyclerView.Adapter<TransferMarketAd
     }
 
     private final OnPlayerClickListener listener;
-    private List<Player> players = new ArrayList<>();
 
     public TransferMarketAdapter(OnPlayerClickListener listener) {
+        super(PlayerDiffs.MARKET);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void updatePlayers(List<Player> newPlayers) {
-        players = newPlayers != null ? newPlayers : new ArrayList<>();
-        notifyDataSetChanged();
+        // Copia: el llamante puede seguir modificando su lista
+        submitList(newPlayers != null ? new ArrayList<>(newPlayers) : null);
     }
 
+    @Override public long getItemId(int position) { return getItem(position).getPlayerId(); }
+
     @NonNull @Override public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View v = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_transfer_player, parent, false);
-        return new VH(v);
+        VH h = new VH(v);
+        h.itemView.setOnClickListener(x -> {
+            int pos = h.getBindingAdapterPosition();
+            if (pos != RecyclerView.NO_POSITION) listener.onPlayerClick(getItem(pos));
+        });
+        h.btnBuy.setOnClickListener(x -> {
+            int pos = h.getBindingAdapterPosition();
+            if (pos != RecyclerView.NO_POSITION) listener.onBuyPlayerClick(getItem(pos));
+        });
+        return h;
     }
 
     @Override public void onBindViewHolder(@NonNull VH h, int pos) {
-        Player p = players.get(pos);
+        Player p = getItem(pos);
         // Mostrar nombre solo y los puntos a la derecha
         h.tvName.setText(p.getName());
         h.tvTeam.setText(p.getTeamName());
-        h.tvPrice.setText(String.format("€ %.1f M", p.getCurrentPrice()));
         h.tvPos.setText(p.getPosition());
-        h.tvPoints.setText(String.format("%d pts", p.getTotalPoints()));
+        bindStats(h, p);
+    }
 
-        h.itemView.setOnClickListener(v -> listener.onPlayerClick(p));
-        h.btnBuy.setOnClickListener(v -> listener.onBuyPlayerClick(p));
+    @Override public void onBindViewHolder(@NonNull VH h, int pos, @NonNull List<Object> payloads) {
+        if (payloads.contains(PlayerDiffs.STATS)) {
+            bindStats(h, getItem(pos));
+        } else {
+            onBindViewHolder(h, pos);
+        }
     }
 
-    @Override public int getItemCount() { return players.size(); }
+    private void bindStats(VH h, Player p) {
+        h.tvPrice.setText(String.format("€ %.1f M", p.getCurrentPrice()));
+        h.tvPoints.setText(String.format("%d pts", p.getTotalPoints()));
+    }
 
     static class VH extends RecyclerView.ViewHolder {
         TextView tvName, tvTeam, tvPrice, tvPos, tvPoints;
@@ -11,11 +11,15 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.housemanager.R;
+import com.example.housemanager.database.entities.LeagueStanding;
 import com.example.housemanager.ui.adapters.ManagerScoreAdapter;
 import com.example.housemanager.viewmodel.FootballViewModel;
 import com.example.housemanager.repository.FootballRepository;
+import com.example.housemanager.repository.models.ManagerScore;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Muestra clasificación por managers (temporada por defecto).
@@ -28,6 +32,8 @@ public class ClassificationActivity extends AppCompatActivity {
 
     private FootballViewModel viewModel;
     private ManagerScoreAdapter adapter;
+    private List<LeagueStanding> standings = new ArrayList<>();
+    private boolean showMatchday;
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -66,50 +72,59 @@ public class ClassificationActivity extends AppCompatActivity {
         // ViewModel + Repository
         viewModel = new ViewModelProvider(this).get(FootballViewModel.class);
 
-        // Clasificación de temporada por defecto
+        // Clasificación materializada: un solo observador, el cambio Temporada/Jornada no vuelve a consultar
         FootballRepository repo = FootballRepository.getInstance(getApplicationContext());
-        androidx.lifecycle.LiveData<java.util.List<com.example.housemanager.repository.models.ManagerScore>>[] current = new androidx.lifecycle.LiveData[1];
-        current[0] = repo.getLeagueClassificationSeason(leagueId);
-        current[0].observe(this, scores -> {
-            if (scores == null) scores = new ArrayList<>();
-            adapter.submit(scores);
+        repo.getLeagueStandingsLive(leagueId).observe(this, rows -> {
+            standings = rows != null ? rows : new ArrayList<>();
+            render();
         });
 
+        // Evolución de posiciones (fotos por jornada completada)
+        RankHistoryView rankHistory = findViewById(R.id.rank_history);
+        android.view.View rankHistoryCard = findViewById(R.id.card_rank_history);
+        if (rankHistory != null) {
+            repo.getStandingsHistoryLive(leagueId).observe(this, snapshots -> {
+                rankHistory.setSnapshots(snapshots);
+                if (rankHistoryCard != null) {
+                    rankHistoryCard.setVisibility(rankHistory.isEmpty() ? android.view.View.GONE : android.view.View.VISIBLE);
+                }
+            });
+        }
+
         // Toggle Temporada/Jornada
         android.view.View btnSeason = findViewById(R.id.btn_season);
         android.view.View btnMatchday = findViewById(R.id.btn_matchday);
         if (btnSeason != null) {
             btnSeason.setOnClickListener(v -> {
-                if (current[0] != null) current[0].removeObservers(this);
-                current[0] = repo.getLeagueClassificationSeason(leagueId);
-                current[0].observe(this, scores -> {
-                    if (scores == null) scores = new ArrayList<>();
-                    adapter.submit(scores);
-                });
+                showMatchday = false;
+                render();
             });
         }
         if (btnMatchday != null) {
             btnMatchday.setOnClickListener(v -> {
-                // Obtener jornada actual y observar clasificación de jornada
-                repo.getCurrentMatchday(new FootballRepository.MatchdayCallback() {
-                    @Override public void onResult(int matchday) {
-                        runOnUiThread(() -> {
-                            if (current[0] != null) current[0].removeObservers(ClassificationActivity.this);
-                            current[0] = repo.getLeagueClassificationThisMatchday(leagueId, matchday);
-                            current[0].observe(ClassificationActivity.this, scores -> {
-                                if (scores == null) scores = new ArrayList<>();
-                                adapter.submit(scores);
-                            });
-                        });
-                    }
-                    @Override public void onError(Throwable t) {
-                        // fallback: mantener temporada
-                    }
-                });
+                showMatchday = true;
+                render();
             });
         }
     }
 
+    /** Pinta la temporada (orden por posición) o la última jornada puntuada (orden por sus puntos). */
+    private void render() {
+        List<ManagerScore> scores = new ArrayList<>(standings.size());
+        int matchday = 0;
+        for (LeagueStanding s : standings) {
+            scores.add(new ManagerScore(s.getUserId(), showMatchday ? s.getMatchdayPoints() : s.getSeasonPoints()));
+            matchday = Math.max(matchday, s.getMatchday());
+        }
+        if (showMatchday) {
+            Collections.sort(scores, (a, b) -> Integer.compare(b.getTotalPoints(), a.getTotalPoints()));
+        }
+        adapter.submit(scores);
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setTitle(showMatchday && matchday > 0 ? "Clasificación · Jornada " + matchday : "Clasificación");
+        }
+    }
+
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         if (item.getItemId() == android.R.id.home) {
@@ -0,0 +1,135 @@
+package com.example.housemanager.ui.leagues;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.util.AttributeSet;
+import android.view.View;
+
+import androidx.annotation.Nullable;
+
+import com.example.housemanager.database.entities.LeagueStandingSnapshot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gráfica simple de evolución de posiciones: una línea por manager, jornadas en el eje X y
+ * posición en el eje Y (1º arriba). Recibe las fotos ya ordenadas por jornada.
+ */
+public class RankHistoryView extends View {
+
+    private static final int[] LINE_COLORS = {
+            0xFF16A34A, 0xFFF59E0B, 0xFF3B82F6, 0xFFEF4444, 0xFFA855F7, 0xFF14B8A6, 0xFFEC4899, 0xFFB0B0B0
+    };
+
+    private final Paint linePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint axisPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Path path = new Path();
+
+    // userId -> puntos (jornada, posición) en orden de jornada
+    private final Map<Long, List<int[]>> series = new LinkedHashMap<>();
+    private int minMatchday;
+    private int maxMatchday;
+    private int maxRank;
+
+    public RankHistoryView(Context context) {
+        this(context, null);
+    }
+
+    public RankHistoryView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        float density = getResources().getDisplayMetrics().density;
+        linePaint.setStyle(Paint.Style.STROKE);
+        linePaint.setStrokeWidth(2.5f * density);
+        axisPaint.setColor(0xFF3A3A3A);
+        axisPaint.setStrokeWidth(1f * density);
+        textPaint.setColor(Color.WHITE);
+        textPaint.setTextSize(11f * density);
+    }
+
+    /** Sustituye los datos de la gráfica. */
+    public void setSnapshots(@Nullable List<LeagueStandingSnapshot> snapshots) {
+        series.clear();
+        minMatchday = Integer.MAX_VALUE;
+        maxMatchday = 0;
+        maxRank = 1;
+        if (snapshots != null) {
+            for (LeagueStandingSnapshot s : snapshots) {
+                List<int[]> points = series.get(s.getUserId());
+                if (points == null) {
+                    points = new ArrayList<>();
+                    series.put(s.getUserId(), points);
+                }
+                points.add(new int[]{s.getMatchday(), s.getRank()});
+                minMatchday = Math.min(minMatchday, s.getMatchday());
+                maxMatchday = Math.max(maxMatchday, s.getMatchday());
+                maxRank = Math.max(maxRank, s.getRank());
+            }
+        }
+        invalidate();
+    }
+
+    /** true si no hay ninguna jornada completada que pintar. */
+    public boolean isEmpty() {
+        return series.isEmpty();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (series.isEmpty()) return;
+
+        float density = getResources().getDisplayMetrics().density;
+        float left = getPaddingLeft() + 28f * density;
+        float top = getPaddingTop() + 8f * density;
+        float right = getWidth() - getPaddingRight() - 8f * density;
+        float bottom = getHeight() - getPaddingBottom() - 20f * density;
+        if (right <= left || bottom <= top) return;
+
+        // Rejilla de posiciones y etiquetas de ejes
+        for (int rank = 1; rank <= maxRank; rank++) {
+            float y = yFor(rank, top, bottom);
+            canvas.drawLine(left, y, right, y, axisPaint);
+            canvas.drawText(rank + "º", getPaddingLeft(), y + textPaint.getTextSize() / 3f, textPaint);
+        }
+        canvas.drawText("J" + minMatchday, left, getHeight() - getPaddingBottom() - 4f * density, textPaint);
+        if (maxMatchday != minMatchday) {
+            String last = "J" + maxMatchday;
+            canvas.drawText(last, right - textPaint.measureText(last), getHeight() - getPaddingBottom() - 4f * density, textPaint);
+        }
+
+        int colorIndex = 0;
+        for (List<int[]> points : series.values()) {
+            linePaint.setColor(LINE_COLORS[colorIndex++ % LINE_COLORS.length]);
+            path.reset();
+            for (int i = 0; i < points.size(); i++) {
+                float x = xFor(points.get(i)[0], left, right);
+                float y = yFor(points.get(i)[1], top, bottom);
+                if (i == 0) path.moveTo(x, y);
+                else path.lineTo(x, y);
+            }
+            if (points.size() == 1) {
+                float x = xFor(points.get(0)[0], left, right);
+                canvas.drawCircle(x, yFor(points.get(0)[1], top, bottom), linePaint.getStrokeWidth(), linePaint);
+            } else {
+                canvas.drawPath(path, linePaint);
+            }
+        }
+    }
+
+    private float xFor(int matchday, float left, float right) {
+        if (maxMatchday == minMatchday) return (left + right) / 2f;
+        return left + (right - left) * (matchday - minMatchday) / (float) (maxMatchday - minMatchday);
+    }
+
+    private float yFor(int rank, float top, float bottom) {
+        if (maxRank <= 1) return (top + bottom) / 2f;
+        return top + (bottom - top) * (rank - 1) / (float) (maxRank - 1);
+    }
+}
@@ -19,8 +19,10 @@ import com.example.housemanager.MyTeamActivity;
 import com.example.housemanager.R;
 import com.example.housemanager.ui.market.TransferMarketActivity;
 import com.example.housemanager.repository.FootballRepository;
+import com.example.housemanager.repository.MarketRolloverWorker;
 import com.example.housemanager.ui.leagues.CreateLeagueActivity;
 import com.example.housemanager.ui.leagues.LeaguesActivity;
+import com.example.housemanager.ui.team.CaptainManager;
 import com.google.android.material.navigation.NavigationView;
 
 /**
@@ -59,6 +61,10 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
 
         // Obtener instancia del repositorio
         repository = FootballRepository.getInstance(this);
+        // Rotación de mercados de todas las ligas en segundo plano, antes de cada reseteo
+        MarketRolloverWorker.schedule(this);
+        // Capitanes de versiones que solo los guardaban en preferencias
+        CaptainManager.importIfNeeded(this);
 
         // Configurar toda la interfaz
         initViews();
@@ -268,7 +274,7 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
             llMatchesContainer.setOnLongClickListener(v -> {
                 repository.getCurrentMatchday(new FootballRepository.MatchdayCallback() {
                     @Override public void onResult(int matchday) {
-                        repository.recalcAllFinishedPoints(new FootballRepository.SyncCallback() {
+                        repository.rebuildAllFinishedPoints(new FootballRepository.SyncCallback() {
                             @Override public void onSuccess() {
                                 com.google.android.material.snackbar.Snackbar.make(findViewById(android.R.id.content), "Puntos recalculados para partidos FINISHED", com.google.android.material.snackbar.Snackbar.LENGTH_SHORT).show();
                             }
@@ -294,8 +300,8 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
                     Log.d(TAG, "Sincronización completada exitosamente");
                     showSyncCompletedMessage();
                 });
-                // Tras sincronizar equipos/jugadores, sincronizar TODAS las jornadas hasta la actual y recalcular puntos
-                repository.syncAndRecalculatePointsForAllMatchdaysUpToCurrent(null);
+                // Tras sincronizar equipos/jugadores, traer solo los partidos cambiados desde la última vez y recalcular puntos
+                repository.syncMatchesSinceLastSync(null);
             }
 
             @Override
@@ -467,8 +473,16 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
         Log.d(TAG, "Forzando nueva sincronización de datos");
         com.google.android.material.snackbar.Snackbar.make(findViewById(android.R.id.content), "Iniciando nueva sincronización de datos...", com.google.android.material.snackbar.Snackbar.LENGTH_SHORT).show();
 
-        // Llamar a syncLaLigaTeams sin callback específico
-        repository.syncLaLigaTeams(null);
+        // Recarga completa: equipos y después todas las jornadas de la temporada
+        repository.syncLaLigaTeams(new FootballRepository.SyncCallback() {
+            @Override public void onSuccess() {
+                repository.syncAndRecalculatePointsForAllMatchdaysUpToCurrent(null);
+            }
+            @Override public void onError(Throwable t) {
+                Log.e(TAG, "Error en la recarga de datos", t);
+            }
+            @Override public void onProgress(String message, int current, int total) {}
+        });
     }
 
 
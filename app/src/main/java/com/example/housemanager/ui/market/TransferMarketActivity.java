@@ -25,6 +25,7 @@ import com.example.housemanager.R;
 import com.example.housemanager.market.Player;
 import com.example.housemanager.repository.FootballRepository;
 import com.example.housemanager.ui.adapters.TransferMarketAdapter;
+import com.example.housemanager.util.PlayerSearch;
 import com.example.housemanager.viewmodel.FootballViewModel;
 import com.google.android.material.button.MaterialButton;
 
@@ -45,6 +46,8 @@ public class TransferMarketActivity extends AppCompatActivity implements Transfe
     private TransferMarketAdapter adapter;
     private Handler updateHandler;
     private Runnable updateRunnable;
+    // Caducidad para la que ya se ha pedido activar el mercado siguiente
+    private long rolloverRequestedFor;
 
     // Liga actual (por defecto 1 hasta tener selección real de liga)
     private long leagueId = 1L;
@@ -239,22 +242,6 @@ public class TransferMarketActivity extends AppCompatActivity implements Transfe
         android.util.Log.d(TAG, "Mercado generado con " + allMarketPlayers.size() + " jugadores (random desde DB)");
     }
 
-    private void generateNewMarket() {
-        // Ya no se genera un mercado nuevo manualmente; se verifica estado por ensureLeagueMarketGenerated
-        repository.ensureLeagueMarketGenerated(leagueId, null);
-    }
-
-    private void scheduleNextUpdate() {
-        // Actualización cada 24 horas
-        nextUpdateTime = System.currentTimeMillis() + (24 * 60 * 60 * 1000);
-
-        // Programar actualización automática
-        updateHandler.postDelayed(() -> {
-            generateNewMarket();
-            android.util.Log.d(TAG, "¡Mercado actualizado automáticamente!");
-        }, 24 * 60 * 60 * 1000); // 24 horas
-    }
-
     private void applyFilters() {
         String searchQuery = etSearch.getText() != null ? etSearch.getText().toString().trim().toLowerCase(Locale.ROOT) : "";
         String selectedPosition = (String) spinnerPosition.getSelectedItem();
@@ -266,8 +253,7 @@ public class TransferMarketActivity extends AppCompatActivity implements Transfe
 
             // Filtro por nombre o equipo
             if (!searchQuery.isEmpty()) {
-                String playerData = (player.getName() + " " + player.getTeamName()).toLowerCase(Locale.ROOT);
-                matches = playerData.contains(searchQuery);
+                matches = PlayerSearch.matches(player.getName() + " " + player.getTeamName(), searchQuery);
             }
 
             // Filtro por posición
@@ -337,6 +323,11 @@ public class TransferMarketActivity extends AppCompatActivity implements Transfe
                 if (tvNextUpdate != null) {
                     tvNextUpdate.setText("⏰ Generando nuevo mercado...");
                 }
+                // Al caducar, activar el mercado siguiente (normalmente ya sorteado por MarketRolloverWorker)
+                if (rolloverRequestedFor != nextUpdateTime) {
+                    rolloverRequestedFor = nextUpdateTime;
+                    repository.ensureLeagueMarketGenerated(leagueId, null);
+                }
             }
         }
 
@@ -3,18 +3,39 @@ package com.example.housemanager.ui.team;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import com.example.housemanager.database.entities.Captain;
+import com.example.housemanager.repository.FootballRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 public class CaptainManager {
     private static final String PREFS = "captain_prefs";
+    private static final String KEY_PREFIX = "captain_league_";
+    private static final String KEY_USER = "_user_";
+    // Los capitanes guardados solo aquí (versiones anteriores) ya se copiaron a Room
+    private static final String KEY_IMPORTED = "captains_imported";
 
     // NUEVO: clave por liga y usuario
     private static String key(long leagueId, long userId) {
-        return "captain_league_" + leagueId + "_user_" + userId;
+        return KEY_PREFIX + leagueId + KEY_USER + userId;
     }
 
     // Nuevos métodos por leagueId + userId
     public static void setCaptain(Context ctx, long leagueId, long userId, int playerId) {
         SharedPreferences sp = ctx.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
         sp.edit().putInt(key(leagueId, userId), playerId).apply();
+        // La puntuación lee el capitán de Room (tabla Captains)
+        FootballRepository.getInstance(ctx).setCaptain(leagueId, userId, playerId);
+    }
+
+    /** Copia una sola vez a Room los capitanes elegidos antes de que se guardaran allí. */
+    public static void importIfNeeded(Context ctx) {
+        SharedPreferences sp = ctx.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        if (sp.getBoolean(KEY_IMPORTED, false)) return;
+        FootballRepository.getInstance(ctx).importCaptains(getAll(ctx));
+        sp.edit().putBoolean(KEY_IMPORTED, true).apply();
     }
 
     public static int getCaptain(Context ctx, long leagueId, long userId) {
@@ -22,6 +43,27 @@ public class CaptainManager {
         return sp.getInt(key(leagueId, userId), -1);
     }
 
+    /** Todos los capitanes por liga y usuario (ignora las claves legacy). */
+    private static List<Captain> getAll(Context ctx) {
+        SharedPreferences sp = ctx.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        List<Captain> out = new ArrayList<>();
+        for (Map.Entry<String, ?> e : sp.getAll().entrySet()) {
+            String k = e.getKey();
+            int user = k.indexOf(KEY_USER);
+            if (!k.startsWith(KEY_PREFIX) || user < 0 || !(e.getValue() instanceof Integer)) continue;
+            int playerId = (Integer) e.getValue();
+            if (playerId < 0) continue;
+            try {
+                Captain c = new Captain();
+                c.setLeagueId(Long.parseLong(k.substring(KEY_PREFIX.length(), user)));
+                c.setOwnerUserId(Long.parseLong(k.substring(user + KEY_USER.length())));
+                c.setCaptainPlayerId(playerId);
+                out.add(c);
+            } catch (NumberFormatException ignored) { }
+        }
+        return out;
+    }
+
     // LEGACY: por teamId (no usar)
     @Deprecated
     public static void setCaptain(Context ctx, int teamId, int playerId) {
@@ -6,37 +6,49 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.housemanager.R;
 import com.example.housemanager.api.models.PlayerAPI;
+import com.example.housemanager.ui.adapters.PlayerDiffs;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class PlayersAdapter extends RecyclerView.Adapter<PlayersAdapter.VH> {
+public class PlayersAdapter extends ListAdapter<PlayerAPI, PlayersAdapter.VH> {
 
     public interface OnPlayerClick {
         void onPlayerClick(PlayerAPI player);
     }
 
-    private final List<PlayerAPI> players = new ArrayList<>();
     private final OnPlayerClick listener;
     private int captainId = -1;
 
     public PlayersAdapter(OnPlayerClick listener) {
+        super(PlayerDiffs.SQUAD);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void submit(List<PlayerAPI> data) {
-        players.clear();
-        if (data != null) players.addAll(data);
-        notifyDataSetChanged();
+        submitList(data != null ? new ArrayList<>(data) : null);
     }
 
     public void setCaptainId(int captainId) {
+        int old = this.captainId;
         this.captainId = captainId;
-        notifyDataSetChanged();
+        // Solo cambian las filas del capitán anterior y del nuevo
+        List<PlayerAPI> list = getCurrentList();
+        for (int i = 0; i < list.size(); i++) {
+            int id = list.get(i).getId();
+            if (id == old || id == captainId) notifyItemChanged(i);
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     @NonNull
@@ -44,12 +56,17 @@ public class PlayersAdapter extends RecyclerView.Adapter<PlayersAdapter.VH> {
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View v = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_player_simple, parent, false);
-        return new VH(v);
+        VH h = new VH(v);
+        h.itemView.setOnClickListener(x -> {
+            int pos = h.getBindingAdapterPosition();
+            if (listener != null && pos != RecyclerView.NO_POSITION) listener.onPlayerClick(getItem(pos));
+        });
+        return h;
     }
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int position) {
-        PlayerAPI p = players.get(position);
+        PlayerAPI p = getItem(position);
 
         String name = p.getName() != null ? p.getName() : "-";
         if (p.getId() == captainId) name = "★ " + name; // opcional para marcar capitán
@@ -57,15 +74,12 @@ public class PlayersAdapter extends RecyclerView.Adapter<PlayersAdapter.VH> {
 
         String pos = p.getPosition() != null ? p.getPosition() : "–";
         h.tvPos.setText(pos);
-
-        h.itemView.setOnClickListener(v -> {
-            if (listener != null) listener.onPlayerClick(p);
-        });
     }
 
     @Override
-    public int getItemCount() {
-        return players.size();
+    public void onBindViewHolder(@NonNull VH h, int position, @NonNull List<Object> payloads) {
+        // Esta fila no muestra puntos: un cambio solo de puntos no necesita repintar nada
+        if (payloads.isEmpty() || !payloads.contains(PlayerDiffs.STATS)) onBindViewHolder(h, position);
     }
 
     static class VH extends RecyclerView.ViewHolder {
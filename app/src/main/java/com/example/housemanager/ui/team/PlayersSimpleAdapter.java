@@ -6,15 +6,20 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.housemanager.R;
 import com.example.housemanager.api.models.PlayerAPI;
+import com.example.housemanager.ui.adapters.PlayerDiffs;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class PlayersSimpleAdapter extends RecyclerView.Adapter<PlayersSimpleAdapter.VH> {
+public class PlayersSimpleAdapter extends ListAdapter<PlayerAPI, PlayersSimpleAdapter.VH> {
+
+    // payload: solo cambia el botón de cláusula (reglas o tiempos de compra)
+    private static final String PAYLOAD_CLAUSE = "clause";
 
     private boolean clauseEnabled = false;
     private int clauseBlockDays = 14;
@@ -23,7 +28,7 @@ public class PlayersSimpleAdapter extends RecyclerView.Adapter<PlayersSimpleAdap
     public void setClauseRules(boolean enabled, int blockDays) {
         this.clauseEnabled = enabled;
         this.clauseBlockDays = blockDays;
-        notifyDataSetChanged();
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_CLAUSE);
     }
 
     public void setOwnershipTimes(java.util.List<com.example.housemanager.database.pojo.OwnershipTime> times) {
@@ -33,7 +38,12 @@ public class PlayersSimpleAdapter extends RecyclerView.Adapter<PlayersSimpleAdap
                 ownershipTimes.put((int) t.playerId, t.acquiredAtMillis);
             }
         }
-        notifyDataSetChanged();
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_CLAUSE);
+    }
+
+    // repinta solo el contador de cláusula (el temporizador de Mi Equipo lo llama cada minuto)
+    public void refreshClauseCountdown() {
+        if (clauseEnabled) notifyItemRangeChanged(0, getItemCount(), PAYLOAD_CLAUSE);
     }
 
     // interfaz para cuando tocan un jugador
@@ -41,33 +51,40 @@ public class PlayersSimpleAdapter extends RecyclerView.Adapter<PlayersSimpleAdap
         void onPlayerClick(PlayerAPI player);
     }
 
-    private final List<PlayerAPI> data = new ArrayList<>();
     private OnPlayerClick listener;
     private int captainId = -1; // para marcar quien es el capitan
 
     // constructor sin listener por si no necesitamos clicks
     public PlayersSimpleAdapter() {
-        this.listener = null;
+        this(null);
     }
 
     // constructor con listener para manejar clicks
     public PlayersSimpleAdapter(OnPlayerClick listener) {
+        super(PlayerDiffs.SQUAD);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
-    // actualiza la lista de jugadores
+    // actualiza la lista de jugadores (DiffUtil calcula en segundo plano qué filas cambian)
     public void submit(List<PlayerAPI> players) {
-        data.clear();
-        if (players != null) {
-            data.addAll(players);
-        }
-        notifyDataSetChanged(); // avisa al recycler que hay datos nuevos
+        submitList(players != null ? new ArrayList<>(players) : null);
     }
 
-    // marca quien es el capitan para ponerle la estrella
+    // marca quien es el capitan para ponerle la estrella (solo se repintan las dos filas afectadas)
     public void setCaptainId(int id) {
+        int old = captainId;
         captainId = id;
-        notifyDataSetChanged();
+        List<PlayerAPI> list = getCurrentList();
+        for (int i = 0; i < list.size(); i++) {
+            int pid = list.get(i).getId();
+            if (pid == old || pid == id) notifyItemChanged(i);
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     @NonNull
@@ -76,12 +93,39 @@ public class PlayersSimpleAdapter extends RecyclerView.Adapter<PlayersSimpleAdap
         // inflamos el layout simple de jugador
         View v = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_player_simple, parent, false);
-        return new VH(v);
+        VH holder = new VH(v);
+
+        // si hay listener, manejamos el click
+        holder.itemView.setOnClickListener(x -> {
+            int pos = holder.getBindingAdapterPosition();
+            if (listener != null && pos != RecyclerView.NO_POSITION) {
+                listener.onPlayerClick(getItem(pos));
+            }
+        });
+        if (holder.btnClause != null) {
+            holder.btnClause.setOnClickListener(x -> {
+                com.google.android.material.snackbar.Snackbar.make(x,
+                        "Este botón muestra el estado de la cláusula. Otros managers podrán clausularte cuando caduque el bloqueo.",
+                        com.google.android.material.snackbar.Snackbar.LENGTH_SHORT).show();
+            });
+        }
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull VH holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        PlayerAPI player = getItem(position);
+        if (payloads.contains(PlayerDiffs.STATS)) bindPoints(holder, player);
+        if (payloads.contains(PAYLOAD_CLAUSE)) bindClause(holder, player);
     }
 
     @Override
     public void onBindViewHolder(@NonNull VH holder, int position) {
-        PlayerAPI player = data.get(position);
+        PlayerAPI player = getItem(position);
 
         // ponemos el nombre y si es capitan le añadimos la estrella
         String name = player.getName() != null ? player.getName() : "Jugador sin nombre";
@@ -94,11 +138,18 @@ public class PlayersSimpleAdapter extends RecyclerView.Adapter<PlayersSimpleAdap
         String pos = player.getPosition() != null ? player.getPosition() : "–";
         holder.tvPos.setText(pos);
 
-        // puntos del jugador (mapeado desde PlayerEntity.totalPoints)
+        bindPoints(holder, player);
+        bindClause(holder, player);
+    }
+
+    // puntos del jugador (mapeado desde PlayerEntity.totalPoints)
+    private void bindPoints(VH holder, PlayerAPI player) {
         int pts = player.getPoints();
         holder.tvPoints.setText(pts + " pts");
+    }
 
-        // Clausular: mostrar botón y contador si la regla está activa
+    // Clausular: mostrar botón y contador si la regla está activa
+    private void bindClause(VH holder, PlayerAPI player) {
         if (holder.btnClause != null) {
             if (!clauseEnabled) {
                 holder.btnClause.setVisibility(View.GONE);
@@ -121,25 +172,8 @@ public class PlayersSimpleAdapter extends RecyclerView.Adapter<PlayersSimpleAdap
                     holder.btnClause.setBackgroundTintList(android.content.res.ColorStateList.valueOf(
                             holder.btnClause.getResources().getColor(R.color.accent_gold)));
                 }
-                holder.btnClause.setOnClickListener(v -> {
-                    com.google.android.material.snackbar.Snackbar.make(v,
-                            "Este botón muestra el estado de la cláusula. Otros managers podrán clausularte cuando caduque el bloqueo.",
-                            com.google.android.material.snackbar.Snackbar.LENGTH_SHORT).show();
-                });
             }
         }
-
-        // si hay listener, manejamos el click
-        holder.itemView.setOnClickListener(v -> {
-            if (listener != null) {
-                listener.onPlayerClick(player);
-            }
-        });
-    }
-
-    @Override
-    public int getItemCount() {
-        return data.size();
     }
 
     private String formatRemaining(long millis) {
@@ -2,6 +2,9 @@ package com.example.housemanager.ui.team;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
@@ -10,6 +13,8 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.housemanager.api.models.TeamAPI;
 import com.example.housemanager.databinding.ActivityTeamsBrowserBinding;
+import com.example.housemanager.market.Player;
+import com.example.housemanager.ui.adapters.PagedPlayersAdapter;
 import com.example.housemanager.ui.adapters.TeamsListAdapter;
 import com.example.housemanager.viewmodel.FootballViewModel;
 
@@ -18,6 +23,7 @@ public class TeamsBrowserActivity extends AppCompatActivity implements TeamsList
     private ActivityTeamsBrowserBinding binding;
     private FootballViewModel viewModel;
     private TeamsListAdapter adapter;
+    private PagedPlayersAdapter playersAdapter;
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -42,6 +48,11 @@ public class TeamsBrowserActivity extends AppCompatActivity implements TeamsList
         adapter = new TeamsListAdapter(this);
         binding.recyclerTeams.setLayoutManager(new LinearLayoutManager(this));
         binding.recyclerTeams.setAdapter(adapter);
+
+        // Búsqueda en el catálogo completo de jugadores (por páginas)
+        playersAdapter = new PagedPlayersAdapter(this::openPlayer);
+        binding.recyclerPlayers.setLayoutManager(new LinearLayoutManager(this));
+        binding.recyclerPlayers.setAdapter(playersAdapter);
     }
 
     private void setupViewModel() {
@@ -58,6 +69,31 @@ public class TeamsBrowserActivity extends AppCompatActivity implements TeamsList
 
         // Cargar los equipos
         viewModel.loadTeams();
+
+        // Resultados de búsqueda: solo se cargan las páginas visibles
+        viewModel.getPagedPlayers().observe(this, page -> playersAdapter.submitData(getLifecycle(), page));
+        binding.searchPlayers.addTextChangedListener(new TextWatcher() {
+            @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+            @Override public void onTextChanged(CharSequence s, int start, int before, int count) {}
+            @Override public void afterTextChanged(Editable s) {
+                String term = s != null ? s.toString().trim() : "";
+                boolean searching = !term.isEmpty();
+                binding.recyclerTeams.setVisibility(searching ? View.GONE : View.VISIBLE);
+                binding.recyclerPlayers.setVisibility(searching ? View.VISIBLE : View.GONE);
+                if (searching) viewModel.setPlayerQuery(null, term);
+            }
+        });
+    }
+
+    private void openPlayer(Player player) {
+        Intent intent = new Intent(this, PlayerDetailActivity.class);
+        intent.putExtra("player_id", player.getPlayerId());
+        intent.putExtra("player_name", player.getName());
+        intent.putExtra("player_position", player.getPosition());
+        intent.putExtra("player_nationality", player.getNationality());
+        intent.putExtra("player_points", player.getTotalPoints());
+        intent.putExtra("team_name", player.getTeamName());
+        startActivity(intent);
     }
 
     @Override
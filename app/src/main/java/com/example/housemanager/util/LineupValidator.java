@@ -0,0 +1,51 @@
+package com.example.housemanager.util;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Reglas de una alineación válida de 11: 1 portero, DEF >= 3, MID [2..5], FWD [1..3].
+ * Sirve para comprobar si una plantilla (conteo por posición) puede formar un once.
+ */
+public final class LineupValidator {
+
+    public static final int GK = 0;
+    public static final int DEF = 1;
+    public static final int MID = 2;
+    public static final int FWD = 3;
+
+    private static final int MIN_DEF = 3;
+    private static final int MIN_MID = 2;
+    private static final int MAX_MID = 5;
+    private static final int MIN_FWD = 1;
+    private static final int MAX_FWD = 3;
+
+    private LineupValidator() {}
+
+    /** Línea (GK, DEF, MID, FWD) de una posición guardada en players, o -1 si no se reconoce. */
+    public static int lineOf(@Nullable String position) {
+        if (position == null) return -1;
+        if ("Portero".equalsIgnoreCase(position) || "GK".equalsIgnoreCase(position)) return GK;
+        if ("Defensa".equalsIgnoreCase(position) || "DEF".equalsIgnoreCase(position)) return DEF;
+        if ("Medio".equalsIgnoreCase(position) || "Centrocampista".equalsIgnoreCase(position) || "MID".equalsIgnoreCase(position)) return MID;
+        if ("Delantero".equalsIgnoreCase(position) || "FWD".equalsIgnoreCase(position)) return FWD;
+        return -1;
+    }
+
+    /** Conteo por línea indexado con GK, DEF, MID, FWD. */
+    public static boolean canFormValid11(int[] countsByLine) {
+        return canFormValid11(countsByLine[GK], countsByLine[DEF], countsByLine[MID], countsByLine[FWD]);
+    }
+
+    public static boolean canFormValid11(int gk, int def, int mid, int fwd) {
+        if (gk < 1) return false;
+        int outfield = 10;
+        for (int d = MIN_DEF; d <= def; d++) {
+            for (int m = MIN_MID; m <= Math.min(MAX_MID, mid); m++) {
+                int f = outfield - d - m;
+                if (f < MIN_FWD || f > MAX_FWD) continue;
+                if (f <= fwd) return true;
+            }
+        }
+        return false;
+    }
+}
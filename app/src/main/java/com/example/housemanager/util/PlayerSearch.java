@@ -0,0 +1,87 @@
+package com.example.housemanager.util;
+
+import androidx.annotation.Nullable;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Búsqueda de jugadores por nombre o equipo: cada palabra escrita es un prefijo de alguna palabra
+ * del texto, sin distinguir mayúsculas ni acentos. Mismo criterio en SQL (players_fts) y en memoria:
+ * players_fts indexa players.searchText, que es fold() del nombre y el equipo.
+ */
+public final class PlayerSearch {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    // Letras que NFD no descompone (ø, æ, ł...) y su forma sin ellas: "sorloth" encuentra "Sørloth"
+    private static final String FOLD_FROM = "øæœłđðþßıħ";
+    private static final String[] FOLD_TO = {"o", "ae", "oe", "l", "d", "d", "th", "ss", "i", "h"};
+
+    private PlayerSearch() {}
+
+    /** Consulta MATCH para players_fts ("alv* bar*"), o null si no hay nada que buscar. */
+    @Nullable
+    public static String ftsQuery(@Nullable String input) {
+        List<String> words = words(input);
+        if (words.isEmpty()) return null;
+        StringBuilder sb = new StringBuilder();
+        for (String w : words) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(w).append('*');
+        }
+        return sb.toString();
+    }
+
+    /** Igual que la consulta FTS pero sobre un texto ya cargado (p. ej. los 10 jugadores del mercado). */
+    public static boolean matches(@Nullable String text, @Nullable String input) {
+        List<String> wanted = words(input);
+        if (wanted.isEmpty()) return true;
+        List<String> have = words(text);
+        for (String w : wanted) {
+            boolean found = false;
+            for (String h : have) {
+                if (h.startsWith(w)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    /** Texto que se guarda en players.searchText (e indexa players_fts): las palabras de words() separadas por espacios. */
+    public static String fold(@Nullable String text) {
+        return String.join(" ", words(text));
+    }
+
+    /** Palabras en minúsculas y sin acentos; los signos separan (y así no llegan a la sintaxis de MATCH). */
+    private static List<String> words(@Nullable String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null) return out;
+        String lower = DIACRITICS.matcher(Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                .replaceAll("");
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            int k = FOLD_FROM.indexOf(c);
+            if (k >= 0) sb.append(FOLD_TO[k]);
+            else sb.append(c);
+        }
+        String folded = sb.toString();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letter = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                out.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return out;
+    }
+}
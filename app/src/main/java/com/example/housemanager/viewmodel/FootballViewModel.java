@@ -4,10 +4,14 @@ import android.app.Application;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.Pair;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.example.housemanager.api.models.PlayerAPI;
 import com.example.housemanager.api.models.TeamAPI;
@@ -28,10 +32,15 @@ public class FootballViewModel extends AndroidViewModel {
     private final MutableLiveData<List<TeamAPI>> teamsLiveData = new MutableLiveData<>(new ArrayList<>());
     private final MutableLiveData<List<PlayerAPI>> squadLiveData = new MutableLiveData<>(new ArrayList<>());
     private final MutableLiveData<List<Player>> marketPlayersLiveData = new MutableLiveData<>(new ArrayList<>());
+    private final MutableLiveData<Pair<String, String>> playerQuery = new MutableLiveData<>(new Pair<>(null, null));
+    // Las páginas se cachean en el ViewModel: al rotar no se vuelven a leer
+    private final LiveData<PagingData<Player>> pagedPlayers;
 
     public FootballViewModel(@NonNull Application application) {
         super(application);
         repository = FootballRepository.getInstance(application);
+        pagedPlayers = Transformations.switchMap(playerQuery, q ->
+                PagingLiveData.cachedIn(repository.getPlayersPaged(q.first, q.second), this));
 
         Log.d(TAG, "Inicializando ViewModel");
 
@@ -105,16 +114,15 @@ public class FootballViewModel extends AndroidViewModel {
         });
     }
 
-    // Buscar jugadores por nombre
-    public LiveData<List<Player>> searchPlayers(String searchTerm) {
-        Log.d(TAG, "Buscando jugadores: " + searchTerm);
-        return repository.searchPlayers(searchTerm);
+    // Catálogo de jugadores por páginas; cambia con setPlayerQuery (posición y/o búsqueda)
+    public LiveData<PagingData<Player>> getPagedPlayers() {
+        return pagedPlayers;
     }
 
-    // Filtrar por posición
-    public LiveData<List<Player>> getPlayersByPosition(String position) {
-        Log.d(TAG, "Filtrando por posición: " + position);
-        return repository.getPlayersByPosition(position);
+    // Filtrar el catálogo por posición (null = todas) y por nombre o equipo (vacío = sin búsqueda)
+    public void setPlayerQuery(@Nullable String position, @Nullable String searchTerm) {
+        Log.d(TAG, "Catálogo: posición=" + position + " búsqueda=" + searchTerm);
+        playerQuery.setValue(new Pair<>(position, searchTerm));
     }
 
     // Fichar un jugador
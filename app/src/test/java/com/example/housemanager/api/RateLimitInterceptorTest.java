@@ -0,0 +1,124 @@
+package com.example.housemanager.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RateLimitInterceptor contra MockWebServer, instalado como en ApiClient (interceptor de aplicación
+ * con caché HTTP). Las esperas usan X-RequestCounter-Reset: 1 para no pasar de un segundo.
+ */
+public class RateLimitInterceptorTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void cacheHitWithoutTokens_isServedWithoutWaiting() throws Exception {
+        OkHttpClient client = client(1);
+        server.enqueue(new MockResponse().setBody("a").setHeader("Cache-Control", "max-age=60"));
+
+        try (Response r = get(client, "/teams")) {
+            assertEquals("a", r.body().string());
+            assertNotNull(r.networkResponse());
+        }
+        // Cupo agotado (ventana de un minuto): la caché la sirve sin esperar ni pedir a la red
+        long started = System.currentTimeMillis();
+        try (Response r = get(client, "/teams")) {
+            assertEquals("a", r.body().string());
+            assertNull(r.networkResponse());
+        }
+        assertTrue(System.currentTimeMillis() - started < 1_000L);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void availableHeaderZero_waitsForReset() throws Exception {
+        OkHttpClient client = client(10);
+        server.enqueue(new MockResponse().setBody("a")
+                .setHeader("X-Requests-Available-Minute", "0")
+                .setHeader("X-RequestCounter-Reset", "1"));
+        server.enqueue(new MockResponse().setBody("b"));
+
+        get(client, "/a").close();
+        long started = System.currentTimeMillis();
+        try (Response r = get(client, "/b")) {
+            assertEquals("b", r.body().string());
+        }
+        long waited = System.currentTimeMillis() - started;
+        assertTrue("esperó " + waited + " ms", waited >= 800L && waited < 5_000L);
+    }
+
+    @Test
+    public void tooManyRequests_isRetriedAfterReset() throws Exception {
+        OkHttpClient client = client(10);
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("X-RequestCounter-Reset", "1"));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        long started = System.currentTimeMillis();
+        try (Response r = get(client, "/matches")) {
+            assertEquals(200, r.code());
+            assertEquals("ok", r.body().string());
+        }
+        long waited = System.currentTimeMillis() - started;
+        assertEquals(2, server.getRequestCount());
+        assertTrue("esperó " + waited + " ms", waited >= 800L && waited < 5_000L);
+    }
+
+    @Test
+    public void tokensAreSpentPerNetworkRequest() throws Exception {
+        OkHttpClient client = client(2);
+        for (int i = 0; i < 2; i++) server.enqueue(new MockResponse().setBody("x").setHeader("X-RequestCounter-Reset", "1"));
+        server.enqueue(new MockResponse().setBody("y"));
+
+        long started = System.currentTimeMillis();
+        get(client, "/1").close();
+        get(client, "/2").close();
+        assertTrue(System.currentTimeMillis() - started < 800L);
+        // La tercera ya no cabe en la ventana: espera al reinicio que indicó la API
+        get(client, "/3").close();
+        long waited = System.currentTimeMillis() - started;
+        assertTrue("esperó " + waited + " ms", waited >= 800L && waited < 5_000L);
+        assertEquals(3, server.getRequestCount());
+    }
+
+    private OkHttpClient client(int perMinute) throws IOException {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new RateLimitInterceptor(perMinute))
+                .cache(new Cache(tmp.newFolder("http"), 1 << 20))
+                .build();
+    }
+
+    private Response get(OkHttpClient client, String path) throws IOException {
+        return client.newCall(new Request.Builder().url(server.url(path)).build()).execute();
+    }
+}
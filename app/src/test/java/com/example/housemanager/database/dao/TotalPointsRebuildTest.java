@@ -0,0 +1,141 @@
+package com.example.housemanager.database.dao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * PlayerDao.REBUILD_TOTAL_POINTS sobre SQLite de escritorio (sqlite-jdbc) con las tablas del esquema 20:
+ * players con sus índices y el players_fts de contenido externo con los triggers de Room.
+ */
+public class TotalPointsRebuildTest {
+
+    private static final int PLAYERS = 120;
+    private static final int MATCHES = 40;
+    private static final int ROWS_PER_MATCH = 22;
+
+    private Connection db;
+    // Suma esperada por jugador, calculada en Java al insertar
+    private final Map<Integer, Integer> expected = new HashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        db = DriverManager.getConnection("jdbc:sqlite::memory:");
+        exec("CREATE TABLE players (playerId INTEGER NOT NULL, name TEXT NOT NULL, teamId INTEGER NOT NULL, " +
+                "teamName TEXT NOT NULL, nationality TEXT NOT NULL, position TEXT NOT NULL, currentPrice INTEGER NOT NULL, " +
+                "totalPoints INTEGER NOT NULL, available INTEGER NOT NULL, updatedAt INTEGER NOT NULL, " +
+                "searchText TEXT NOT NULL, PRIMARY KEY(playerId))");
+        exec("CREATE INDEX index_players_name ON players (name)");
+        exec("CREATE INDEX index_players_position_totalPoints ON players (position, totalPoints)");
+        exec("CREATE VIRTUAL TABLE players_fts USING FTS4(`searchText` TEXT NOT NULL, " +
+                "tokenize=unicode61 `remove_diacritics=1`, content=`players`)");
+        exec("CREATE TRIGGER room_fts_content_sync_players_fts_BEFORE_UPDATE BEFORE UPDATE ON `players` " +
+                "BEGIN DELETE FROM `players_fts` WHERE `docid`=OLD.`rowid`; END");
+        exec("CREATE TRIGGER room_fts_content_sync_players_fts_BEFORE_DELETE BEFORE DELETE ON `players` " +
+                "BEGIN DELETE FROM `players_fts` WHERE `docid`=OLD.`rowid`; END");
+        exec("CREATE TRIGGER room_fts_content_sync_players_fts_AFTER_UPDATE AFTER UPDATE ON `players` " +
+                "BEGIN INSERT INTO `players_fts`(`docid`, `searchText`) VALUES (NEW.`rowid`, NEW.`searchText`); END");
+        exec("CREATE TRIGGER room_fts_content_sync_players_fts_AFTER_INSERT AFTER INSERT ON `players` " +
+                "BEGIN INSERT INTO `players_fts`(`docid`, `searchText`) VALUES (NEW.`rowid`, NEW.`searchText`); END");
+        exec("CREATE TABLE PlayerMatchPoints (matchId INTEGER NOT NULL, playerId INTEGER NOT NULL, " +
+                "matchday INTEGER NOT NULL, points INTEGER NOT NULL, PRIMARY KEY(matchId, playerId))");
+        exec("CREATE INDEX index_PlayerMatchPoints_matchday ON PlayerMatchPoints (matchday)");
+        exec("CREATE INDEX index_PlayerMatchPoints_playerId ON PlayerMatchPoints (playerId)");
+
+        try (PreparedStatement p = db.prepareStatement("INSERT INTO players VALUES (?, ?, 1, 'Equipo', '', 'Defensa', 0, ?, 1, 0, ?)")) {
+            for (int id = 1; id <= PLAYERS; id++) {
+                p.setInt(1, id);
+                p.setString(2, "Jugador " + id);
+                // Totales desfasados a propósito: el rebuild debe pisarlos
+                p.setInt(3, 1000 + id);
+                p.setString(4, "jugador " + id + " equipo");
+                p.executeUpdate();
+            }
+        }
+        try (PreparedStatement p = db.prepareStatement("INSERT INTO PlayerMatchPoints VALUES (?, ?, ?, ?)")) {
+            for (int m = 1; m <= MATCHES; m++) {
+                for (int i = 0; i < ROWS_PER_MATCH; i++) {
+                    // Los últimos jugadores nunca tienen filas
+                    int playerId = 1 + (m * 7 + i * 13) % (PLAYERS - 10);
+                    int points = (m + i) % 9 - 1;
+                    p.setInt(1, m);
+                    p.setInt(2, playerId);
+                    p.setInt(3, 1 + m / 10);
+                    p.setInt(4, points);
+                    p.executeUpdate();
+                    expected.merge(playerId, points, Integer::sum);
+                }
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        db.close();
+    }
+
+    @Test
+    public void rebuild_equalsSumOfMatchPoints() throws Exception {
+        exec(PlayerDao.REBUILD_TOTAL_POINTS);
+
+        Map<Integer, Integer> totals = totals();
+        assertEquals(PLAYERS, totals.size());
+        for (int id = 1; id <= PLAYERS; id++) {
+            Integer sum = expected.get(id);
+            assertEquals("jugador " + id, sum != null ? sum : 0, totals.get(id).intValue());
+        }
+        assertEquals(0, totals.get(PLAYERS).intValue());
+    }
+
+    @Test
+    public void rebuild_resetsPlayersWithoutMatchRows() throws Exception {
+        exec("UPDATE players SET totalPoints = 42 WHERE playerId = 1");
+        exec("DELETE FROM PlayerMatchPoints WHERE playerId = 1");
+
+        exec(PlayerDao.REBUILD_TOTAL_POINTS);
+
+        assertEquals(0, totals().get(1).intValue());
+    }
+
+    @Test
+    public void rebuild_keepsFtsIndexInSync() throws Exception {
+        exec(PlayerDao.REBUILD_TOTAL_POINTS);
+
+        // Los triggers de Room reescriben cada fila de players_fts al actualizar players; integrity-check
+        // falla si el índice no coincide con el contenido de players
+        exec("INSERT INTO players_fts(players_fts) VALUES ('integrity-check')");
+        assertEquals(PLAYERS, count("SELECT COUNT(*) FROM players_fts WHERE players_fts MATCH 'jugador*'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM players_fts WHERE players_fts MATCH '\"jugador 7\"'"));
+    }
+
+    private void exec(String sql) throws SQLException {
+        try (Statement st = db.createStatement()) {
+            st.executeUpdate(sql);
+        }
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement st = db.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private Map<Integer, Integer> totals() throws SQLException {
+        Map<Integer, Integer> out = new HashMap<>();
+        try (Statement st = db.createStatement(); ResultSet rs = st.executeQuery("SELECT playerId, totalPoints FROM players")) {
+            while (rs.next()) out.put(rs.getInt(1), rs.getInt(2));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.housemanager.model.mappers;
+
+import com.example.housemanager.database.entities.LineupEntryEntity;
+import com.example.housemanager.database.entities.MatchEntity;
+import com.example.housemanager.database.entities.MatchEventEntity;
+import com.example.housemanager.database.entities.PlayerEntity;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** JsonStreamMapper contra respuestas de football-data.org guardadas en test/resources/json. */
+public class JsonStreamMapperTest {
+
+    @Test
+    public void readMatches_mapsFieldsAndSkipsNulls() throws Exception {
+        List<MatchEntity> all = new ArrayList<>();
+        int read;
+        try (Reader in = fixture("matches.json")) {
+            read = JsonStreamMapper.readMatches(in, 10, all::addAll);
+        }
+        assertEquals(3, read);
+        assertEquals(3, all.size());
+
+        MatchEntity finished = all.get(0);
+        assertEquals(497410L, finished.getMatchId());
+        assertEquals("FINISHED", finished.getStatus());
+        assertEquals(1, finished.getMatchday());
+        assertEquals(78L, finished.getHomeTeamId());
+        assertEquals("Club Atlético de Madrid", finished.getHomeTeamName());
+        assertEquals(285L, finished.getAwayTeamId());
+        assertEquals(Integer.valueOf(2), finished.getHomeScore());
+        assertEquals(Integer.valueOf(2), finished.getAwayScore());
+        assertEquals(java.time.Instant.parse("2024-08-18T17:00:00Z").toEpochMilli(), finished.getUtcDateMillis());
+
+        MatchEntity timed = all.get(1);
+        assertNull(timed.getHomeScore());
+        assertNull(timed.getAwayScore());
+        assertEquals(2, timed.getMatchday());
+
+        MatchEntity broken = all.get(2);
+        assertEquals(0L, broken.getUtcDateMillis());
+        assertEquals(0, broken.getMatchday());
+        assertNull(broken.getHomeTeamName());
+        assertEquals("Real Sociedad de Fútbol", broken.getAwayTeamName());
+    }
+
+    @Test
+    public void readMatches_deliversBatchesOfRequestedSize() throws Exception {
+        List<Integer> sizes = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        try (Reader in = fixture("matches.json")) {
+            JsonStreamMapper.readMatches(in, 2, batch -> {
+                sizes.add(batch.size());
+                for (MatchEntity m : batch) ids.add(m.getMatchId());
+            });
+        }
+        assertEquals(List.of(2, 1), sizes);
+        assertEquals(List.of(497410L, 497411L, 497412L), ids);
+    }
+
+    @Test
+    public void readSquad_mapsPlayersOfKnownTeam() throws Exception {
+        List<PlayerEntity> squad;
+        try (Reader in = fixture("squad.json")) {
+            squad = JsonStreamMapper.readSquad(in, 78, "Atlético");
+        }
+        // El jugador sin id se descarta
+        assertEquals(4, squad.size());
+
+        PlayerEntity oblak = squad.get(0);
+        assertEquals(3236, oblak.getPlayerId());
+        assertEquals("Jan Oblak", oblak.getName());
+        assertEquals(78, oblak.getTeamId());
+        assertEquals("Atlético", oblak.getTeamName());
+        assertEquals("Portero", oblak.getPosition());
+        assertEquals("Slovenia", oblak.getNationality());
+        assertTrue(oblak.isAvailable());
+        assertTrue(oblak.getCurrentPrice() > 0);
+        assertEquals(0, oblak.getTotalPoints());
+
+        assertEquals("Delantero", squad.get(1).getPosition());
+        assertEquals("alexander sorloth atletico", squad.get(1).getSearchText());
+        assertEquals("España", squad.get(2).getNationality());
+        assertEquals("Jugador", squad.get(3).getName());
+        assertEquals("Defensa", squad.get(3).getPosition());
+    }
+
+    @Test
+    public void readMatchDetail_readsLineupsGoalsAndBookings() throws Exception {
+        JsonStreamMapper.MatchDetailEntities d;
+        try (Reader in = fixture("match_detail.json")) {
+            d = JsonStreamMapper.readMatchDetail(in, match(497410L, 78L, 285L));
+        }
+
+        assertEquals(4, d.lineup.size());
+        LineupEntryEntity first = d.lineup.get(0);
+        assertEquals(497410L, first.getMatchId());
+        assertEquals(3236, first.getPlayerId());
+        assertEquals(78, first.getTeamId());
+        assertEquals("STARTER", first.getRole());
+        assertEquals("SUB", d.lineup.get(2).getRole());
+        assertEquals(285, d.lineup.get(3).getTeamId());
+
+        // goals/bookings presentes: events[] se ignora
+        assertEquals(List.of(
+                "7853:GOAL_REGULAR", "3300:ASSIST", "5001:GOAL_PENALTY", "5002:GOAL_OWN",
+                "3300:CARD_YELLOW", "5003:CARD_SECOND_YELLOW"), events(d));
+        assertEquals("Alexander Sørloth", d.eventPlayerNames.get(7853));
+        assertEquals("Defensa Despistado", d.eventPlayerNames.get(5002));
+        assertNotNull(d.eventPlayerNames.get(5003));
+    }
+
+    @Test
+    public void readMatchDetail_fallsBackToGenericEvents() throws Exception {
+        JsonStreamMapper.MatchDetailEntities d;
+        try (Reader in = fixture("match_detail_events.json")) {
+            d = JsonStreamMapper.readMatchDetail(in, match(497410L, 78L, 285L));
+        }
+        assertTrue(d.lineup.isEmpty());
+        assertEquals(List.of("7853:GOAL_REGULAR", "3300:CARD_SECOND_YELLOW", "3236:CARD_YELLOW", "5001:CARD_RED"), events(d));
+        assertTrue(d.eventPlayerNames.isEmpty());
+    }
+
+    private static MatchEntity match(long id, long home, long away) {
+        MatchEntity m = new MatchEntity();
+        m.setMatchId(id);
+        m.setHomeTeamId(home);
+        m.setAwayTeamId(away);
+        return m;
+    }
+
+    private static List<String> events(JsonStreamMapper.MatchDetailEntities d) {
+        List<String> out = new ArrayList<>();
+        for (MatchEventEntity e : d.events) out.add(e.getPlayerId() + ":" + e.getType());
+        return out;
+    }
+
+    private Reader fixture(String name) {
+        InputStream in = getClass().getResourceAsStream("/json/" + name);
+        assertNotNull("falta el fixture " + name, in);
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.housemanager.repository;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/** DistinctContent: solo se emite cuando cambian los campos que se proyectan, no cuando Room reemite lo mismo. */
+public class DistinctContentTest {
+
+    @Rule
+    public InstantTaskExecutorRule instantExecutor = new InstantTaskExecutorRule();
+
+    /** Fila sin equals, como las entidades de Room. */
+    private static final class Row {
+        final int id;
+        final String name;
+        final int points;
+
+        Row(int id, String name, int points) {
+            this.id = id;
+            this.name = name;
+            this.points = points;
+        }
+    }
+
+    private static final DistinctContent.Hasher<Row> SHOWN = (r, h) -> h.add(r.id).add(r.name);
+
+    @Test
+    public void list_sameContentInNewInstances_isNotEmittedAgain() {
+        MutableLiveData<List<Row>> source = new MutableLiveData<>();
+        List<List<Row>> seen = observe(DistinctContent.list(source, SHOWN));
+
+        source.setValue(Arrays.asList(new Row(1, "Oblak", 10), new Row(2, "Koke", 3)));
+        source.setValue(Arrays.asList(new Row(1, "Oblak", 10), new Row(2, "Koke", 3)));
+        assertEquals(1, seen.size());
+
+        // Cambia un campo que no se muestra: tampoco se emite
+        source.setValue(Arrays.asList(new Row(1, "Oblak", 12), new Row(2, "Koke", 3)));
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    public void list_changedFieldOrderOrSize_isEmitted() {
+        MutableLiveData<List<Row>> source = new MutableLiveData<>();
+        List<List<Row>> seen = observe(DistinctContent.list(source, SHOWN));
+
+        source.setValue(Arrays.asList(new Row(1, "Oblak", 0), new Row(2, "Koke", 0)));
+        source.setValue(Arrays.asList(new Row(1, "Oblak", 0), new Row(2, "Koke Resurrección", 0)));
+        source.setValue(Arrays.asList(new Row(2, "Koke Resurrección", 0), new Row(1, "Oblak", 0)));
+        source.setValue(Collections.singletonList(new Row(1, "Oblak", 0)));
+        List<Row> last = Collections.emptyList();
+        source.setValue(last);
+
+        assertEquals(5, seen.size());
+        assertSame(last, seen.get(4));
+    }
+
+    @Test
+    public void list_nullIsAValueToo() {
+        MutableLiveData<List<Row>> source = new MutableLiveData<>();
+        List<List<Row>> seen = observe(DistinctContent.list(source, SHOWN));
+
+        source.setValue(null);
+        source.setValue(null);
+        source.setValue(Collections.emptyList());
+
+        assertEquals(2, seen.size());
+        assertNull(seen.get(0));
+    }
+
+    @Test
+    public void value_emitsOnlyOnChange() {
+        MutableLiveData<Row> source = new MutableLiveData<>();
+        List<Row> seen = observe(DistinctContent.value(source, SHOWN));
+
+        source.setValue(new Row(7, "Sørloth", 0));
+        source.setValue(new Row(7, "Sørloth", 5));
+        source.setValue(null);
+        source.setValue(null);
+        source.setValue(new Row(7, "Sørloth", 5));
+
+        assertEquals(3, seen.size());
+        assertNull(seen.get(1));
+    }
+
+    private static <T> List<T> observe(LiveData<T> live) {
+        List<T> seen = new ArrayList<>();
+        live.observeForever(seen::add);
+        return seen;
+    }
+}
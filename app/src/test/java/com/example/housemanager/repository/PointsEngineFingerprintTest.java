@@ -0,0 +1,161 @@
+package com.example.housemanager.repository;
+
+import com.example.housemanager.database.dao.MatchDao;
+import com.example.housemanager.database.pojo.MatchFingerprintRow;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Huellas de MatchDao.FINISHED_FINGERPRINTS (sobre SQLite de escritorio) y diferencia con las guardadas
+ * (PointsEngine.dirtyMatches): solo se vuelven a puntuar los partidos cuyo contenido ha cambiado.
+ */
+public class PointsEngineFingerprintTest {
+
+    private Connection db;
+
+    @Before
+    public void setUp() throws Exception {
+        db = DriverManager.getConnection("jdbc:sqlite::memory:");
+        exec("CREATE TABLE matches (matchId INTEGER NOT NULL, homeTeamId INTEGER NOT NULL, awayTeamId INTEGER NOT NULL, " +
+                "homeTeamName TEXT, awayTeamName TEXT, utcDateMillis INTEGER NOT NULL, status TEXT, homeScore INTEGER, " +
+                "awayScore INTEGER, matchday INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(matchId))");
+        exec("CREATE TABLE players (playerId INTEGER NOT NULL, name TEXT NOT NULL, teamId INTEGER NOT NULL, " +
+                "position TEXT NOT NULL, PRIMARY KEY(playerId))");
+        exec("CREATE TABLE lineup_entries (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, matchId INTEGER NOT NULL, " +
+                "playerId INTEGER NOT NULL, teamId INTEGER NOT NULL, role TEXT)");
+        exec("CREATE TABLE match_events (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, matchId INTEGER NOT NULL, " +
+                "playerId INTEGER NOT NULL, teamId INTEGER NOT NULL, type TEXT, minute INTEGER)");
+
+        // 1: 10 vs 20 con alineación; 2: 30 vs 40 sin alineación; 3: 10 vs 30 aún sin jugar
+        exec("INSERT INTO matches VALUES (1, 10, 20, 'A', 'B', 0, 'FINISHED', 2, 1, 1)");
+        exec("INSERT INTO matches VALUES (2, 30, 40, 'C', 'D', 0, 'FINISHED', 0, 0, 1)");
+        exec("INSERT INTO matches VALUES (3, 10, 30, 'A', 'C', 0, 'SCHEDULED', NULL, NULL, 2)");
+        exec("INSERT INTO players VALUES (101, 'p101', 10, 'Delantero'), (102, 'p102', 10, 'Portero'), " +
+                "(201, 'p201', 20, 'Defensa'), (301, 'p301', 30, 'Centrocampista'), (401, 'p401', 40, 'Portero')");
+        exec("INSERT INTO lineup_entries (matchId, playerId, teamId, role) VALUES (1, 101, 10, 'STARTER'), " +
+                "(1, 102, 10, 'STARTER'), (1, 201, 20, 'STARTER')");
+        exec("INSERT INTO match_events (matchId, playerId, teamId, type) VALUES (1, 101, 10, 'GOAL_REGULAR')");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        db.close();
+    }
+
+    @Test
+    public void fingerprint_isFnv1a64() {
+        assertEquals(0xcbf29ce484222325L, PointsEngine.fingerprint(null));
+        assertEquals(0xcbf29ce484222325L, PointsEngine.fingerprint(""));
+        assertEquals(0xaf63dc4c8601ec8cL, PointsEngine.fingerprint("a"));
+        assertNotEquals(PointsEngine.fingerprint("2-1"), PointsEngine.fingerprint("1-2"));
+    }
+
+    @Test
+    public void onlyFinishedMatchesAreFingerprinted() throws Exception {
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), PointsEngine.dirtyMatches(rows(), new HashMap<>(), false).keySet());
+    }
+
+    @Test
+    public void unchangedContent_isNotDirty() throws Exception {
+        assertTrue(PointsEngine.dirtyMatches(rows(), stored(), false).isEmpty());
+    }
+
+    @Test
+    public void full_marksEveryFinishedMatch() throws Exception {
+        assertEquals(2, PointsEngine.dirtyMatches(rows(), stored(), true).size());
+    }
+
+    @Test
+    public void scoreChange_marksOnlyThatMatch() throws Exception {
+        Map<Long, Long> before = stored();
+        exec("UPDATE matches SET awayScore = 2 WHERE matchId = 1");
+        assertEquals(Arrays.asList(1L), dirtyIds(before));
+    }
+
+    @Test
+    public void newEvent_marksMatch() throws Exception {
+        Map<Long, Long> before = stored();
+        exec("INSERT INTO match_events (matchId, playerId, teamId, type) VALUES (1, 201, 20, 'CARD_YELLOW')");
+        assertEquals(Arrays.asList(1L), dirtyIds(before));
+    }
+
+    @Test
+    public void positionChangeOfLineupPlayer_marksMatch() throws Exception {
+        Map<Long, Long> before = stored();
+        exec("UPDATE players SET position = 'Centrocampista' WHERE playerId = 102");
+        assertEquals(Arrays.asList(1L), dirtyIds(before));
+    }
+
+    @Test
+    public void rosterChange_marksMatchWithoutLineupOnly() throws Exception {
+        Map<Long, Long> before = stored();
+        // Fichaje para el equipo 40: el partido 2 (sin alineación) puntúa con la plantilla
+        exec("INSERT INTO players VALUES (402, 'p402', 40, 'Defensa')");
+        assertEquals(Arrays.asList(2L), dirtyIds(before));
+    }
+
+    @Test
+    public void playerOutsideAnyScoredMatch_changesNothing() throws Exception {
+        Map<Long, Long> before = stored();
+        exec("INSERT INTO players VALUES (501, 'p501', 50, 'Defensa')");
+        exec("UPDATE players SET name = 'otro' WHERE playerId = 101");
+        assertTrue(dirtyIds(before).isEmpty());
+    }
+
+    @Test
+    public void emptyScoringState_forcesFullRebuildEvenIfDoneBefore() {
+        // Tras MIGRATION_12_13: sin huellas ni PlayerMatchPoints, pero con la reconstrucción ya marcada
+        assertTrue(PointsEngine.needsFullRebuild(false, 0, true, 2));
+        assertTrue(PointsEngine.needsFullRebuild(false, 0, false, 0));
+        assertTrue(PointsEngine.needsFullRebuild(true, 5, true, 2));
+        assertFalse(PointsEngine.needsFullRebuild(false, 0, true, 0));
+        assertFalse(PointsEngine.needsFullRebuild(false, 2, true, 2));
+    }
+
+    private List<Long> dirtyIds(Map<Long, Long> stored) throws Exception {
+        List<Long> ids = new ArrayList<>(PointsEngine.dirtyMatches(rows(), stored, false).keySet());
+        ids.sort(null);
+        return ids;
+    }
+
+    private Map<Long, Long> stored() throws Exception {
+        return PointsEngine.dirtyMatches(rows(), new HashMap<>(), true);
+    }
+
+    private List<MatchFingerprintRow> rows() throws Exception {
+        List<MatchFingerprintRow> out = new ArrayList<>();
+        try (Statement st = db.createStatement(); ResultSet rs = st.executeQuery(MatchDao.FINISHED_FINGERPRINTS)) {
+            while (rs.next()) {
+                MatchFingerprintRow r = new MatchFingerprintRow();
+                r.matchId = rs.getLong("matchId");
+                r.content = rs.getString("content");
+                out.add(r);
+            }
+        }
+        return out;
+    }
+
+    private void exec(String sql) throws Exception {
+        try (Statement st = db.createStatement()) {
+            st.execute(sql);
+        }
+    }
+}
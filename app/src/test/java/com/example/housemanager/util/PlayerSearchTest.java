@@ -0,0 +1,134 @@
+package com.example.housemanager.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * PlayerSearch en memoria (matches) y en SQL (ftsQuery sobre un players_fts como el de Room, con
+ * sqlite-jdbc): los dos caminos deben devolver los mismos jugadores.
+ */
+public class PlayerSearchTest {
+
+    private static final List<String[]> PLAYERS = Arrays.asList(
+            new String[]{"Alexander Sørloth", "Atlético de Madrid"},
+            new String[]{"Martin Ødegaard", "Real Sociedad"},
+            new String[]{"Robert Lewandowski", "FC Barcelona"},
+            new String[]{"Łukasz Fabiański", "Deportivo Alavés"},
+            new String[]{"Álvaro Morata", "Atlético de Madrid"},
+            new String[]{"Mikel Oyarzabal", "Real Sociedad"},
+            new String[]{"Sæbjørn Þórsson", "RC Celta"},
+            new String[]{"Stefan Straße", "CA Osasuna"},
+            new String[]{"Đorđe Petrović", "Girona FC"},
+            new String[]{"Nico Williams", "Athletic Club"});
+
+    private static final List<String> QUERIES = Arrays.asList(
+            "sorloth", "Sørloth", "SØR", "odegaard", "ødegaard", "lukasz fab", "alvaro", "álv atl",
+            "saebjorn", "thorsson", "strasse", "dorde", "petrovic", "real", "atletico madrid", "rea soc",
+            "fc", "club athletic", "zzz", "ma");
+
+    private Connection db;
+
+    @Before
+    public void setUp() throws Exception {
+        db = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement st = db.createStatement()) {
+            // Mismas sentencias que el esquema 20 (players.searchText + players_fts de contenido externo)
+            st.execute("CREATE TABLE players (playerId INTEGER NOT NULL, name TEXT NOT NULL, teamName TEXT NOT NULL, " +
+                    "searchText TEXT NOT NULL, PRIMARY KEY(playerId))");
+            st.execute("CREATE VIRTUAL TABLE players_fts USING FTS4(`searchText` TEXT NOT NULL, " +
+                    "tokenize=unicode61 `remove_diacritics=1`, content=`players`)");
+        }
+        try (PreparedStatement p = db.prepareStatement("INSERT INTO players VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < PLAYERS.size(); i++) {
+                String[] row = PLAYERS.get(i);
+                p.setInt(1, i + 1);
+                p.setString(2, row[0]);
+                p.setString(3, row[1]);
+                p.setString(4, PlayerSearch.fold(row[0] + " " + row[1]));
+                p.executeUpdate();
+            }
+        }
+        try (Statement st = db.createStatement()) {
+            st.execute("INSERT INTO players_fts(players_fts) VALUES ('rebuild')");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        db.close();
+    }
+
+    @Test
+    public void fold_mapsLettersWithoutDecomposition() {
+        assertEquals("alexander sorloth", PlayerSearch.fold("Alexander Sørloth"));
+        assertEquals("martin odegaard", PlayerSearch.fold("Martin Ødegaard"));
+        assertEquals("lukasz fabianski", PlayerSearch.fold("Łukasz Fabiański"));
+        assertEquals("saebjorn thorsson", PlayerSearch.fold("Sæbjørn Þórsson"));
+        assertEquals("stefan strasse", PlayerSearch.fold("Stefan Straße"));
+        assertEquals("dorde petrovic", PlayerSearch.fold("Đorđe Petrović"));
+        assertEquals("n golo kante", PlayerSearch.fold("N'Golo Kanté"));
+    }
+
+    @Test
+    public void matches_isAccentAndCaseInsensitivePrefix() {
+        assertTrue(PlayerSearch.matches("Alexander Sørloth", "sorloth"));
+        assertTrue(PlayerSearch.matches("Alexander Sorloth", "sørloth"));
+        assertTrue(PlayerSearch.matches("Álvaro Morata Atlético de Madrid", "alv atl"));
+        assertTrue(PlayerSearch.matches("Nico Williams", ""));
+        assertFalse(PlayerSearch.matches("Nico Williams", "liams"));
+        assertFalse(PlayerSearch.matches("Nico Williams", "nico x"));
+    }
+
+    @Test
+    public void ftsQuery_dropsMatchSyntax() {
+        assertEquals("sorloth* atl*", PlayerSearch.ftsQuery("  Sørloth, \"atl\" "));
+        assertEquals("n* golo*", PlayerSearch.ftsQuery("N'Golo"));
+        assertNull(PlayerSearch.ftsQuery(" -*\" "));
+    }
+
+    @Test
+    public void sqlAndMemoryPathsAgree() throws Exception {
+        for (String q : QUERIES) {
+            assertEquals("consulta \"" + q + "\"", inMemory(q), inSql(q));
+        }
+        assertEquals(new TreeSet<>(Arrays.asList(1)), inSql("sorloth"));
+    }
+
+    private Set<Integer> inMemory(String query) {
+        Set<Integer> ids = new TreeSet<>();
+        for (int i = 0; i < PLAYERS.size(); i++) {
+            String[] row = PLAYERS.get(i);
+            if (PlayerSearch.matches(row[0] + " " + row[1], query)) ids.add(i + 1);
+        }
+        return ids;
+    }
+
+    /** Misma consulta que PlayerDao.pageSearch. */
+    private Set<Integer> inSql(String query) throws Exception {
+        Set<Integer> ids = new TreeSet<>();
+        try (PreparedStatement p = db.prepareStatement("SELECT p.playerId FROM players p " +
+                "JOIN players_fts ON players_fts.rowid = p.playerId WHERE players_fts MATCH ?")) {
+            p.setString(1, PlayerSearch.ftsQuery(query));
+            try (ResultSet rs = p.executeQuery()) {
+                while (rs.next()) ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+}